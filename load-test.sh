@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# Load Test Script: platform threads vs. virtual threads
+# Starts the application once per execution mode, runs the same read/write mix with `hey`
+# (https://github.com/rakyll/hey) and prints the summary of each run for comparison.
+#
+# Usage: ./load-test.sh [requests] [concurrency]
+
+set -e
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-500}
+BASE_URL="http://localhost:8080/api/products"
+
+if ! command -v hey &> /dev/null; then
+    echo "Error: hey is not installed. Install it with: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+./gradlew bootJar -q
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+run_mode() {
+    local mode=$1
+    local profiles=$2
+
+    echo "=========================================="
+    echo "Mode: $mode"
+    echo "=========================================="
+
+    java -jar "$JAR" --spring.profiles.active="$profiles" --spring.jpa.show-sql=false \
+        --logging.level.com.example.hexagonal=INFO > "build/load-test-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -s -o /dev/null "$BASE_URL/page?limit=1"; do sleep 0.5; done
+
+    local id
+    id=$(curl -s -X POST "$BASE_URL" -H "Content-Type: application/json" \
+        -d "{\"name\": \"Load\", \"description\": \"Load test\", \"price\": 9.99, \"stock\": 100000000}" \
+        | grep -o '"id":"[^"]*"' | cut -d'"' -f4)
+
+    echo "-- GET /api/products/{id}"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL/$id" | sed -n '/Summary/,/Latency distribution/p;/Status code/,$p'
+
+    echo "-- POST /api/products/{id}/decrease-stock"
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST "$BASE_URL/$id/decrease-stock?quantity=1" \
+        | sed -n '/Summary/,/Latency distribution/p;/Status code/,$p'
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode "platform-threads" "default"
+run_mode "virtual-threads" "virtual-threads"
@@ -0,0 +1,34 @@
+package com.example.hexagonal;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server for benchmarks that need real adapters and the in-memory H2 database.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.hexagonal=WARN",
+                // Each benchmark fork gets its own database
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + ProcessHandle.current().pid()));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        // Passed as arguments rather than default properties so they override application.properties
+        return new SpringApplicationBuilder(HexagonalArchitectureApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
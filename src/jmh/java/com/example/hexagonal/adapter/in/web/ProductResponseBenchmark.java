@@ -0,0 +1,72 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the web adapter's response path: mapping to the DTO and Jackson serialization of listings,
+ * against writing the pre-serialized bytes held by {@link ProductJsonCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductResponseBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private Product product;
+    private List<Product> products;
+    private List<ProductResponse> responses;
+    private ObjectWriter listWriter;
+    private ProductJsonCache jsonCache;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+        product = new Product("1", "Laptop", "High performance laptop", new BigDecimal("999.99"), 10);
+        products = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            products.add(new Product(String.format("%08d", i), "Product " + i, "Description " + i,
+                    BigDecimal.valueOf(i, 2), i % 100));
+        }
+        responses = products.stream().map(ProductController::toResponse).toList();
+        jsonCache = new ProductJsonCache(objectMapper, catalogSize);
+        jsonCache.array(products);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ProductResponse toResponse() {
+        return ProductController.toResponse(product);
+    }
+
+    @Benchmark
+    public List<ProductResponse> mapCatalog() {
+        return products.stream().map(ProductController::toResponse).toList();
+    }
+
+    @Benchmark
+    public void serializeCatalog() throws Exception {
+        listWriter.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void writeCachedCatalog() throws Exception {
+        OutputStream out = OutputStream.nullOutputStream();
+        for (byte[] fragment : jsonCache.array(products).fragments()) {
+            out.write(fragment);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single requests through the controller, the application service and the JPA adapter on H2: the request body is
+ * parsed, the product is stored or read, and the response body is rendered. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductRoundTripBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductController controller;
+    private ObjectReader requestReader;
+    private byte[] createBody;
+    private byte[][] updateBodies;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start();
+        controller = context.getBean(ProductController.class);
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        requestReader = mapper.readerFor(ProductRequest.class);
+        createBody = mapper.writeValueAsBytes(
+                new ProductRequest("Laptop", "High performance laptop", new BigDecimal("999.99"), 1_000));
+        // Alternating prices, so every update changes the row
+        updateBodies = new byte[][]{
+                mapper.writeValueAsBytes(new ProductRequest("Laptop", "Updated", new BigDecimal("899.99"), 1_000_000)),
+                mapper.writeValueAsBytes(new ProductRequest("Laptop", "Updated", new BigDecimal("949.50"), 1_000_000))};
+        ProductService productService = context.getBean(ProductService.class);
+        ids = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            ids.add(productService.createProduct(new Product("Product " + i, "Description " + i,
+                    BigDecimal.valueOf(100_000 + i, 2), 1_000_000_000)).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductJson> create() throws IOException {
+        return controller.createProduct(requestReader.readValue(createBody));
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductJson> get() {
+        return controller.getProduct(randomId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductJson> update() throws IOException {
+        byte[] body = updateBodies[ThreadLocalRandom.current().nextInt(updateBodies.length)];
+        return controller.updateProduct(randomId(), requestReader.readValue(body), null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductJson> decreaseStock() {
+        return controller.decreaseStock(randomId(), 1, null, null);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
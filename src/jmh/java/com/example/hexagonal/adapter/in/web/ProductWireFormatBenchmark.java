@@ -0,0 +1,79 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against the CBOR wire format with scaled-long prices: serializing a listing, serializing it through gzip as
+ * the compression policy does for large listings, and parsing a create request. Setup prints the payload sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductWireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int listingSize;
+
+    private List<ProductResponse> responses;
+    private ObjectWriter listWriter;
+    private ObjectReader requestReader;
+    private byte[] request;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = "cbor".equals(format) ? ProductCbor.newMapper() : Jackson2ObjectMapperBuilder.json().build();
+        listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ProductResponse.class));
+        requestReader = mapper.readerFor(ProductRequest.class);
+        request = mapper.writeValueAsBytes(
+                new ProductRequest("Laptop", "High performance laptop", new BigDecimal("999.99"), 10));
+        responses = new ArrayList<>(listingSize);
+        for (int i = 0; i < listingSize; i++) {
+            Product product = new Product(String.format("%08d", i), "Product " + i, "Description " + i,
+                    BigDecimal.valueOf(100_000 + i * 37L, 2), i % 100);
+            responses.add(ProductController.toResponse(product));
+        }
+
+        byte[] plain = listWriter.writeValueAsBytes(responses);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(plain);
+        }
+        System.out.printf("%n%s listing of %d products: %d bytes, %d gzipped; create request %d bytes%n",
+                format, listingSize, plain.length, gzipped.size(), request.length);
+    }
+
+    @Benchmark
+    public void serializeListing() throws IOException {
+        listWriter.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void serializeListingGzipped() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+            listWriter.writeValue(out, responses);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ProductRequest parseRequest() throws IOException {
+        return requestReader.readValue(request);
+    }
+}
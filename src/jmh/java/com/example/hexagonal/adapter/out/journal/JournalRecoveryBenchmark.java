@@ -0,0 +1,75 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.adapter.out.offheap.OffHeapProductStore;
+import com.example.hexagonal.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to restart the journal adapter: map the snapshot and replay a journal tail of 1% of the catalog into
+ * an empty off-heap store.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class JournalRecoveryBenchmark {
+
+    @Param({"1000000", "5000000"})
+    private int catalogSize;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        OffHeapProductStore store = new OffHeapProductStore(catalogSize);
+        ProductJournal journal = new ProductJournal(directory, FsyncPolicy.NONE, Long.MAX_VALUE, store::forEach);
+        JournalProductRepository repository = new JournalProductRepository(store, journal);
+        repository.recover();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            batch.add(new Product(String.format("product-%08d", i), "Product " + i, "Description " + (i % 1000),
+                    BigDecimal.valueOf(i, 2), 1000));
+            if (batch.size() == 10_000) {
+                repository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        repository.insertAll(batch);
+        journal.compact();
+        for (int i = 0; i < catalogSize / 100; i++) {
+            repository.decreaseStock(String.format("product-%08d", i), 1);
+        }
+        journal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recover() throws IOException {
+        OffHeapProductStore store = new OffHeapProductStore(catalogSize);
+        ProductJournal journal = new ProductJournal(directory, FsyncPolicy.NONE, Long.MAX_VALUE, store::forEach);
+        new JournalProductRepository(store, journal).recover();
+        journal.close();
+        return store.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA adapter on in-memory H2 with the off-heap store at the same catalog size.
+ * Setup prints the heap retained after a full collection; {@code fullGc} measures how long a full
+ * collection takes with the catalog live, which grows with the number of heap objects the collector must trace.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OffHeapFootprintBenchmark {
+
+    @Param({"jpa", "offheap"})
+    private String store;
+
+    @Param({"100000", "1000000", "5000000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("offheap".equals(store)) {
+            context = BenchmarkContext.start(
+                    "spring.profiles.active=offheap",
+                    "product.offheap.preload=false",
+                    "product.offheap.initial-capacity=" + catalogSize);
+            repository = context.getBean("offHeapProductRepository", ProductRepository.class);
+        } else {
+            context = BenchmarkContext.start("product.cache.enabled=false");
+            repository = context.getBean("productRepositoryAdapter", ProductRepository.class);
+        }
+        // The search index would otherwise hold a heap copy of every product in both configurations
+        ProductSearchIndex searchIndex = context.getBean(ProductSearchIndex.class);
+        ids = new ArrayList<>(catalogSize);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            // Few distinct descriptions, as in a real catalog where many products share boilerplate
+            Product product = new Product("Product " + i, "Description " + (i % 1000), BigDecimal.valueOf(i, 2), 1000);
+            ids.add(product.getId());
+            batch.add(product);
+            if (batch.size() == 10_000) {
+                repository.insertAll(batch);
+                searchIndex.rebuild(sink -> { });
+                batch.clear();
+            }
+        }
+        repository.insertAll(batch);
+        searchIndex.rebuild(sink -> { });
+
+        System.gc();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        String offHeap = "offheap".equals(store)
+                ? ", off-heap " + context.getBean(OffHeapProductStore.class).offHeapBytes() / (1024 * 1024) + " MB"
+                : "";
+        System.out.printf("%n%s with %d products: heap used after GC %d MB%s%n",
+                store, catalogSize, heap.getUsed() / (1024 * 1024), offHeap);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void fullGc() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of translating between the domain entity and the JPA entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ProductMapperBenchmark {
+
+    private Product product;
+    private ProductEntity entity;
+
+    @Setup
+    public void setUp() {
+        product = new Product("1", "Laptop", "High performance laptop", new BigDecimal("999.99"), 10);
+        entity = ProductMapper.toEntity(product);
+    }
+
+    @Benchmark
+    public ProductEntity toEntity() {
+        return ProductMapper.toEntity(product);
+    }
+
+    @Benchmark
+    public Product toDomain() {
+        return ProductMapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA adapter against in-memory H2, with the catalog seeded to each size before measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProductRepositoryAdapterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        repository = context.getBean("productRepositoryAdapter", ProductRepository.class);
+        ids = new ArrayList<>(catalogSize);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = new Product("Product " + i, "Description " + i, BigDecimal.valueOf(i, 2), 1000);
+            ids.add(product.getId());
+            batch.add(product);
+            if (batch.size() == 10_000) {
+                repository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        repository.insertAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Reads the product first: saves are conditional on the version, so a blind save of a fixed version would
+     * conflict after the first write of each id
+     */
+    @Benchmark
+    public Product save() {
+        Product product = repository.findById(randomId()).orElseThrow();
+        product.setName("Renamed");
+        return repository.save(product);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Product> findPage() {
+        return repository.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void streamCatalog(Blackhole blackhole) {
+        repository.forEach(blackhole::consume);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA adapter with and without the {@code l2cache} profile. Lookups and updates go to a working set that fits
+ * the cache region; read coalescing is off in both modes so every lookup reaches Hibernate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int WORKING_SET = 1_000;
+
+    @Param({"default", "l2cache"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository repository;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = mode.equals("l2cache")
+                ? BenchmarkContext.start("spring.profiles.active=l2cache", "product.read-coalescing.enabled=false")
+                : BenchmarkContext.start("product.read-coalescing.enabled=false");
+        repository = context.getBean("productRepositoryAdapter", ProductRepository.class);
+        ids = new ArrayList<>(WORKING_SET);
+        List<Product> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Product product = new Product("Product " + i, "Description " + i, BigDecimal.valueOf(i, 2), 1000);
+            catalog.add(product);
+            if (i < WORKING_SET) {
+                ids.add(product.getId());
+            }
+        }
+        repository.insertAll(catalog);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Product> firstPage() {
+        return repository.findPage(null, 100);
+    }
+
+    /**
+     * The save merges the product into a fresh persistence context, which loads the row before updating it
+     */
+    @Benchmark
+    public Product readModifyWrite() {
+        Product product = repository.findById(randomId()).orElseThrow();
+        product.setName(product.getName().startsWith("Renamed") ? "Product" : "Renamed");
+        return repository.save(product);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
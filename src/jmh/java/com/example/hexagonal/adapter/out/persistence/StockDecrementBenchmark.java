@@ -0,0 +1,52 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * decreaseStock through the service on a single SKU, uncontended and with eight threads hitting the same row,
+ * with and without the in-memory stock engine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class StockDecrementBenchmark {
+
+    @Param({"false", "true"})
+    private boolean stockEngine;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private String productId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("product.stock-engine.enabled=" + stockEngine);
+        productService = context.getBean(ProductService.class);
+        productId = productService.createProduct(
+                new Product("Hot SKU", "Description", new BigDecimal("9.99"), Integer.MAX_VALUE)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Product decreaseStockSingleThreaded() {
+        return productService.decreaseStock(productId, 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Product decreaseStockContended() {
+        return productService.decreaseStock(productId, 1);
+    }
+}
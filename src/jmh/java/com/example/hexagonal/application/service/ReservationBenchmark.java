@@ -0,0 +1,74 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.BenchmarkContext;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.port.in.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baskets of {@code basketSize} lines drawn from a small shared catalog, so concurrent baskets overlap,
+ * reserved in one all-or-nothing call versus one decreaseStock call per line.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ReservationBenchmark {
+
+    @Param({"1", "3", "5"})
+    private int basketSize;
+
+    @Param({"10"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private List<String> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productService = context.getBean(ProductService.class);
+        productIds = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            productIds.add(productService.createProduct(
+                    new Product("Shared " + i, "Description", new BigDecimal("9.99"), Integer.MAX_VALUE)).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> reserveBasket() {
+        return productService.reserveStock(basket());
+    }
+
+    @Benchmark
+    public Product decreaseEachLine() {
+        Product last = null;
+        for (ReservationLine line : basket()) {
+            last = productService.decreaseStock(line.getProductId(), line.getQuantity());
+        }
+        return last;
+    }
+
+    private List<ReservationLine> basket() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<ReservationLine> lines = new ArrayList<>(basketSize);
+        for (int i = 0; i < basketSize; i++) {
+            lines.add(new ReservationLine(productIds.get(random.nextInt(catalogSize)), 1));
+        }
+        return lines;
+    }
+}
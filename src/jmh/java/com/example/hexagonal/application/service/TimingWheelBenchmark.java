@@ -0,0 +1,40 @@
+package com.example.hexagonal.application.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one wheel tick that schedules and expires one hold, with {@code outstanding} holds spread over
+ * the next 15 minutes of 100 ms ticks. Should stay flat as {@code outstanding} grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TimingWheelBenchmark {
+
+    private static final int HORIZON_TICKS = 9_000;
+
+    @Param({"1000", "1000000"})
+    private int outstanding;
+
+    private TimingWheel<Integer> wheel;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wheel = new TimingWheel<>(0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < outstanding; i++) {
+            wheel.schedule(i, 1 + random.nextInt(HORIZON_TICKS));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> tick() {
+        wheel.schedule(0, tick + HORIZON_TICKS);
+        return wheel.advanceTo(++tick);
+    }
+}
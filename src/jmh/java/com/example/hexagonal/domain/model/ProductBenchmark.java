@@ -0,0 +1,44 @@
+package com.example.hexagonal.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and mutating the domain entity, including the validation on every constructor and setter call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ProductBenchmark {
+
+    private final Money price = Money.of("999.99");
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = new Product("1", "Laptop", "High performance laptop", price, 10);
+    }
+
+    @Benchmark
+    public Product constructWithGeneratedId() {
+        return new Product("Laptop", "High performance laptop", price, 10);
+    }
+
+    @Benchmark
+    public Product constructWithId() {
+        return new Product("1", "Laptop", "High performance laptop", price, 10);
+    }
+
+    @Benchmark
+    public Product setNameAndPrice() {
+        product.setName("Laptop");
+        product.setPrice(price);
+        return product;
+    }
+
+    @Benchmark
+    public boolean isAvailable() {
+        return product.isAvailable();
+    }
+}
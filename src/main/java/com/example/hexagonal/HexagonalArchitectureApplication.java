@@ -2,12 +2,14 @@ package com.example.hexagonal;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Application Class
  * Bootstraps the Spring Boot application with Hexagonal Architecture.
  */
 @SpringBootApplication
+@EnableScheduling
 public class HexagonalArchitectureApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,104 @@
+package com.example.hexagonal.adapter.in.reactive;
+
+import com.example.hexagonal.adapter.in.web.ProductRequest;
+import com.example.hexagonal.adapter.in.web.ProductResponse;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ReactiveProductService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Input Adapter (Primary Adapter / Driving Adapter)
+ * WebFlux counterpart of the REST ProductController, active with the {@code reactive} profile.
+ * Exposes the same endpoints and DTOs on top of the ReactiveProductService port.
+ * The listing streams with backpressure when requested as {@code application/x-ndjson}.
+ * Updates that lose a race with a concurrent write are answered with 409 Conflict.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/products")
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+
+    public ReactiveProductController(ReactiveProductService productService) {
+        this.productService = productService;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ProductResponse>> createProduct(@Valid @RequestBody ProductRequest request) {
+        return Mono.fromCallable(() -> new Product(
+                        request.getName(),
+                        request.getDescription(),
+                        request.getPrice(),
+                        request.getStock()))
+                .flatMap(productService::createProduct)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductResponse>> getProduct(@PathVariable String id) {
+        return productService.getProductById(id)
+                .map(product -> ResponseEntity.ok(toResponse(product)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductResponse> getAllProducts() {
+        return productService.getAllProducts()
+                .map(this::toResponse);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ProductResponse>> updateProduct(
+            @PathVariable String id,
+            @Valid @RequestBody ProductRequest request) {
+        return Mono.fromCallable(() -> new Product(
+                        id,
+                        request.getName(),
+                        request.getDescription(),
+                        request.getPrice(),
+                        request.getStock()))
+                .flatMap(product -> productService.updateProduct(id, product))
+                .map(updated -> ResponseEntity.ok(toResponse(updated)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.notFound().build()))
+                .onErrorResume(ProductVersionConflictException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable String id) {
+        return productService.deleteProduct(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+    @PostMapping("/{id}/decrease-stock")
+    public Mono<ResponseEntity<ProductResponse>> decreaseStock(
+            @PathVariable String id,
+            @RequestParam Integer quantity) {
+        return productService.decreaseStock(id, quantity)
+                .map(updated -> ResponseEntity.ok(toResponse(updated)))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    private ProductResponse toResponse(Product product) {
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice().toBigDecimal(),
+                product.getStock(),
+                product.isAvailable(),
+                product.getVersion()
+        );
+    }
+}
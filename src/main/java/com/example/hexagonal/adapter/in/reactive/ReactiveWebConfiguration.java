@@ -0,0 +1,20 @@
+package com.example.hexagonal.adapter.in.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the reactive profile on Reactor Netty's event loops.
+ * Tomcat is also on the classpath for the blocking adapters, and Spring Boot would otherwise prefer it.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
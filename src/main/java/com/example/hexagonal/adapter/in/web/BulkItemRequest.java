@@ -0,0 +1,77 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one operation in a bulk request.
+ * {@code action} is one of {@code create}, {@code update} or {@code delete};
+ * {@code id} is required for update and delete, and the product fields are ignored for delete.
+ */
+public class BulkItemRequest {
+    private String action;
+    private String id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+
+    public BulkItemRequest() {
+    }
+
+    public BulkItemRequest(String action, String id, String name, String description, BigDecimal price, Integer stock) {
+        this.action = action;
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.stock = stock;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hexagonal.adapter.in.web;
+
+/**
+ * DTO for the outcome of one operation in a bulk request, in request order.
+ * {@code status} is the HTTP status the operation would have had as a single request.
+ */
+public class BulkItemResult {
+    private int index;
+    private String action;
+    private String id;
+    private int status;
+    private String error;
+
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(int index, String action, String id, int status, String error) {
+        this.index = index;
+        this.action = action;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
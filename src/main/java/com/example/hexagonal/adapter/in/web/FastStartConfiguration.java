@@ -0,0 +1,21 @@
+package com.example.hexagonal.adapter.in.web;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The fast-start profile creates beans on first use. The product endpoints are exempt: creating the controller
+ * during startup also creates the service, repository and JPA beans behind it, so the first request after a
+ * scale-out does not wait for them.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter productEndpointsExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ProductController.class);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * The compact binary wire format of the product endpoints: {@code application/cbor} for single documents and
+ * {@code application/cbor-seq} (RFC 8742) for streams, where each product is one self-delimiting CBOR item.
+ * Field names match the JSON documents. Prices travel as the integer number of 10^-4 units of their {@link Money}
+ * instead of a decimal, so neither side formats or parses a number string; a price with more decimal places is
+ * rejected.
+ */
+final class ProductCbor {
+
+    static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE);
+
+    static final int PRICE_SCALE = Money.SCALE;
+
+    /**
+     * Initial byte of an indefinite-length array, and the break byte that closes it or an indefinite-length map
+     */
+    static final byte[] ARRAY_START = {(byte) 0x9f};
+    static final byte[] BREAK = {(byte) 0xff};
+    private static final byte MAP_START = (byte) 0xbf;
+
+    private ProductCbor() {
+    }
+
+    /**
+     * A CBOR mapper with Spring's Jackson defaults that encodes {@link ProductRequest} and {@link ProductResponse}
+     * prices as scaled longs
+     */
+    static ObjectMapper newMapper() {
+        return Jackson2ObjectMapperBuilder.cbor()
+                .mixIn(ProductRequest.class, ScaledPriceMixin.class)
+                .mixIn(ProductResponse.class, ScaledPriceMixin.class)
+                .build();
+    }
+
+    /**
+     * The opening bytes of an indefinite-length map whose first entry is an indefinite-length array under
+     * {@code field}; the array and map are both closed by a {@link #BREAK}
+     */
+    static byte[] mapWithArray(ObjectMapper mapper, String field) {
+        byte[] name = encode(mapper, field);
+        byte[] start = new byte[name.length + 2];
+        start[0] = MAP_START;
+        System.arraycopy(name, 0, start, 1, name.length);
+        start[start.length - 1] = ARRAY_START[0];
+        return start;
+    }
+
+    static byte[] encode(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static long toScaledPrice(BigDecimal price) {
+        return Money.of(price).scaledAmount();
+    }
+
+    /**
+     * The shortest decimal for the scaled price, so 9999900 reads back as 999.99 rather than 999.9900
+     */
+    static BigDecimal fromScaledPrice(long scaledPrice) {
+        BigDecimal price = BigDecimal.valueOf(scaledPrice, PRICE_SCALE).stripTrailingZeros();
+        return price.scale() < 0 ? price.setScale(0) : price;
+    }
+
+    abstract static class ScaledPriceMixin {
+        @JsonSerialize(using = ScaledPriceSerializer.class)
+        @JsonDeserialize(using = ScaledPriceDeserializer.class)
+        abstract BigDecimal getPrice();
+    }
+
+    static final class ScaledPriceSerializer extends JsonSerializer<BigDecimal> {
+        @Override
+        public void serialize(BigDecimal price, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(toScaledPrice(price));
+        }
+    }
+
+    static final class ScaledPriceDeserializer extends JsonDeserializer<BigDecimal> {
+        @Override
+        public BigDecimal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return (BigDecimal) context.handleUnexpectedToken(BigDecimal.class, parser);
+            }
+            return fromScaledPrice(parser.getLongValue());
+        }
+    }
+}
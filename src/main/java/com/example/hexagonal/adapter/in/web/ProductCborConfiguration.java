@@ -0,0 +1,21 @@
+package com.example.hexagonal.adapter.in.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Negotiates {@code application/cbor} on the REST endpoints alongside JSON.
+ * Declared with the same type as Spring MVC's default CBOR converter so that Spring Boot puts it in that
+ * converter's place, after the JSON converter, and clients that accept anything keep getting JSON.
+ */
+@Configuration
+@Profile("!reactive")
+public class ProductCborConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter productCborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(ProductCbor.newMapper());
+    }
+}
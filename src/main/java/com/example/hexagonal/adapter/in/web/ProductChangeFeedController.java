@@ -0,0 +1,56 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.in.ProductChangeFeed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Input Adapter exposing the product change feed.
+ * Clients poll with the {@code nextOffset} of the previous response; an empty slice returns the offset unchanged.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/products")
+public class ProductChangeFeedController {
+
+    static final int DEFAULT_CHANGES_LIMIT = 100;
+    static final int MAX_CHANGES_LIMIT = 1000;
+
+    private final ProductChangeFeed productChangeFeed;
+
+    public ProductChangeFeedController(ProductChangeFeed productChangeFeed) {
+        this.productChangeFeed = productChangeFeed;
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesResponse> changes(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + DEFAULT_CHANGES_LIMIT) int limit) {
+        if (after < 0 || limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ProductEvent> events = productChangeFeed.changesAfter(after, limit);
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getOffset();
+        return ResponseEntity.ok(new ProductChangesResponse(
+                events.stream().map(ProductChangeFeedController::toResponse).toList(), nextOffset));
+    }
+
+    private static ProductEventResponse toResponse(ProductEvent event) {
+        return new ProductEventResponse(event.getOffset(), event.getType().name(), event.getProductId(),
+                event.getName(), toDecimal(event.getPrice()), toDecimal(event.getPreviousPrice()), event.getStock(), event.getQuantity(),
+                event.getOccurredAt());
+    }
+
+    private static BigDecimal toDecimal(Money price) {
+        return price == null ? null : price.toBigDecimal();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.util.List;
+
+/**
+ * DTO for returning a slice of the change feed with the offset to resume from
+ */
+public class ProductChangesResponse {
+    private List<ProductEventResponse> events;
+    private long nextOffset;
+
+    public ProductChangesResponse() {
+    }
+
+    public ProductChangesResponse(List<ProductEventResponse> events, long nextOffset) {
+        this.events = events;
+        this.nextOffset = nextOffset;
+    }
+
+    public List<ProductEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ProductEventResponse> events) {
+        this.events = events;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+}
@@ -1,72 +1,234 @@
 package com.example.hexagonal.adapter.in.web;
 
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
 import com.example.hexagonal.domain.port.in.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Input Adapter (Primary Adapter / Driving Adapter)
  * REST API Controller that exposes HTTP endpoints.
  * Translates HTTP requests into domain operations using the ProductService port.
+ * Single-product writes honour {@code If-Match} with the ETag of a previous read: a stale ETag gets
+ * 412 Precondition Failed, and an unconditional write that still loses a version race gets 409 Conflict.
+ * Every endpoint also speaks {@code application/cbor} when the client asks for it, see {@link ProductCbor}.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/products")
 public class ProductController {
 
+    static final int DEFAULT_PAGE_LIMIT = 100;
+    static final int MAX_PAGE_LIMIT = ProductPage.MAX_LIMIT;
+
     private final ProductService productService;
+    private final ProductJsonCache jsonCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
+    private final ObjectMapper cborMapper;
+    private final ObjectWriter cborExportWriter;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductJsonCache jsonCache, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.jsonCache = jsonCache;
+        this.objectMapper = objectMapper;
+        // Let the generator buffer rows instead of flushing the socket after every product
+        this.exportWriter = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cborMapper = ProductCbor.newMapper();
+        this.cborExportWriter = cborMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
-    public ResponseEntity<ProductResponse> createProduct(@RequestBody ProductRequest request) {
-        Product product = new Product(
-                request.getName(),
-                request.getDescription(),
-                request.getPrice(),
-                request.getStock()
-        );
+    public ResponseEntity<ProductJson> createProduct(@Valid @RequestBody ProductRequest request) {
+        Product product;
+        try {
+            product = new Product(
+                    request.getName(),
+                    request.getDescription(),
+                    request.getPrice(),
+                    request.getStock()
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         Product created = productService.createProduct(product);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created));
+        return ResponseEntity.status(HttpStatus.CREATED).body(jsonCache.single(created));
+    }
+
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BulkItemResult>> bulk(@RequestBody List<BulkItemRequest> items) {
+        return ResponseEntity.ok(applyBulk(items));
+    }
+
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkItemResult>> bulkNdjson(InputStream body) throws IOException {
+        List<BulkItemRequest> items;
+        try (MappingIterator<BulkItemRequest> iterator = objectMapper.readerFor(BulkItemRequest.class).readValues(body)) {
+            items = iterator.readAll();
+        }
+        return ResponseEntity.ok(applyBulk(items));
     }
 
+    /**
+     * Read endpoints answer with pre-serialized JSON and an ETag; a matching If-None-Match gets a 304 without a body
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProduct(@PathVariable String id) {
+    public ResponseEntity<ProductJson> getProduct(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         return productService.getProductById(id)
-                .map(product -> ResponseEntity.ok(toResponse(product)))
+                .map(product -> withETag(jsonCache.single(product), accept))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ProductJson> getAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return withETag(jsonCache.array(productService.getAllProducts()), accept);
+    }
+
+    /**
+     * Keyset-paginated listing with optional filters. {@code sort} is one of id, name, price or stock and
+     * {@code order} is asc or desc; the cursor is only valid with the filters and sort it was issued for.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ProductJson> getProductPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean available,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (limit <= 0 || limit > MAX_PAGE_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductPage page;
+        try {
+            ProductQuery query = new ProductQuery(namePrefix, Money.of(minPrice), Money.of(maxPrice), available,
+                    ProductSort.valueOf(sort.toUpperCase(Locale.ROOT)), parseDescending(order));
+            page = productService.searchProducts(query, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withETag(jsonCache.page(page.getProducts(), page.getNextCursor()), accept);
+    }
+
+    /**
+     * Streams the whole catalog as newline-delimited JSON, one product per line,
+     * writing each row as it is read so memory use does not depend on catalog size.
+     * Clients that prefer {@code application/cbor-seq} get a CBOR sequence instead, one CBOR item per product.
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, ProductCbor.APPLICATION_CBOR_SEQ_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (prefersCborSeq(accept)) {
+            return exportCborSeq();
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Lines are terminated explicitly below; drop Jackson's default space between root values
+                generator.setRootValueSeparator(null);
+                productService.streamAllProducts(product -> {
+                    try {
+                        exportWriter.writeValue(generator, toResponse(product));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * CBOR items are self-delimiting, so the products are written back to back
+     */
+    private ResponseEntity<StreamingResponseBody> exportCborSeq() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = cborMapper.getFactory().createGenerator(outputStream)) {
+                productService.streamAllProducts(product -> {
+                    try {
+                        cborExportWriter.writeValue(generator, toResponse(product));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ProductCbor.APPLICATION_CBOR_SEQ)
+                .body(body);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProductResponse> updateProduct(
+    public ResponseEntity<ProductJson> updateProduct(
             @PathVariable String id,
-            @RequestBody ProductRequest request) {
+            @Valid @RequestBody ProductRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Long expectedVersion;
         try {
-            Product product = new Product(
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        Product product;
+        try {
+            product = new Product(
                     id,
                     request.getName(),
                     request.getDescription(),
                     request.getPrice(),
                     request.getStock()
             );
-            Product updated = productService.updateProduct(id, product);
-            return ResponseEntity.ok(toResponse(updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Product updated = expectedVersion == null
+                    ? productService.updateProduct(id, product)
+                    : productService.updateProduct(id, product, expectedVersion);
+            return withETag(jsonCache.single(updated), accept);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (ProductVersionConflictException e) {
+            return conflict(expectedVersion);
         }
     }
 
@@ -74,6 +236,7 @@ public class ProductController {
     public ResponseEntity<Void> deleteProduct(@PathVariable String id) {
         try {
             productService.deleteProduct(id);
+            jsonCache.evict(List.of(id));
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -81,25 +244,216 @@ public class ProductController {
     }
 
     @PostMapping("/{id}/decrease-stock")
-    public ResponseEntity<ProductResponse> decreaseStock(
+    public ResponseEntity<ProductJson> decreaseStock(
             @PathVariable String id,
-            @RequestParam Integer quantity) {
+            @RequestParam Integer quantity,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Long expectedVersion;
+        try {
+            expectedVersion = parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         try {
-            Product updated = productService.decreaseStock(id, quantity);
-            return ResponseEntity.ok(toResponse(updated));
+            Product updated = expectedVersion == null
+                    ? productService.decreaseStock(id, quantity)
+                    : productService.decreaseStock(id, quantity, expectedVersion);
+            return withETag(jsonCache.single(updated), accept);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ProductVersionConflictException e) {
+            return conflict(expectedVersion);
+        }
+    }
+
+    /**
+     * Validates every item on its own, then applies all creates, updates and deletes as three batches.
+     * Items are reported in request order with the status each would have had as a single request.
+     */
+    private List<BulkItemResult> applyBulk(List<BulkItemRequest> items) {
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Product> creates = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        List<Integer> deleteIndexes = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkItemRequest item = items.get(i);
+            String action = item.getAction() == null ? "" : item.getAction().toLowerCase(Locale.ROOT);
+            try {
+                switch (action) {
+                    case "create" -> {
+                        requireStock(item);
+                        creates.add(new Product(item.getName(), item.getDescription(), item.getPrice(), item.getStock()));
+                        createIndexes.add(i);
+                    }
+                    case "update" -> {
+                        requireId(item);
+                        requireStock(item);
+                        updates.add(new Product(item.getId(), item.getName(), item.getDescription(), item.getPrice(), item.getStock()));
+                        updateIndexes.add(i);
+                    }
+                    case "delete" -> {
+                        requireId(item);
+                        deletes.add(item.getId());
+                        deleteIndexes.add(i);
+                    }
+                    default -> throw new IllegalArgumentException("Unknown bulk action: " + item.getAction());
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = new BulkItemResult(i, item.getAction(), item.getId(), HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            }
+        }
+
+        if (!creates.isEmpty()) {
+            productService.createProducts(creates);
+            for (int k = 0; k < creates.size(); k++) {
+                int index = createIndexes.get(k);
+                results[index] = new BulkItemResult(index, "create", creates.get(k).getId(), HttpStatus.CREATED.value(), null);
+            }
+        }
+        if (!updates.isEmpty()) {
+            Set<String> updated = productService.updateProducts(updates).stream()
+                    .map(Product::getId)
+                    .collect(Collectors.toSet());
+            for (int k = 0; k < updates.size(); k++) {
+                int index = updateIndexes.get(k);
+                String id = updates.get(k).getId();
+                results[index] = updated.contains(id)
+                        ? new BulkItemResult(index, "update", id, HttpStatus.OK.value(), null)
+                        : new BulkItemResult(index, "update", id, HttpStatus.NOT_FOUND.value(), "Product not found with id: " + id);
+            }
+        }
+        if (!deletes.isEmpty()) {
+            Set<String> deleted = productService.deleteProducts(deletes);
+            jsonCache.evict(deleted);
+            for (int k = 0; k < deletes.size(); k++) {
+                int index = deleteIndexes.get(k);
+                String id = deletes.get(k);
+                results[index] = deleted.contains(id)
+                        ? new BulkItemResult(index, "delete", id, HttpStatus.NO_CONTENT.value(), null)
+                        : new BulkItemResult(index, "delete", id, HttpStatus.NOT_FOUND.value(), "Product not found with id: " + id);
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * True when the most preferred acceptable type names {@code application/cbor-seq} rather than NDJSON;
+     * wildcards keep the NDJSON default
+     */
+    static boolean prefersCborSeq(String accept) {
+        return prefers(accept, ProductCbor.APPLICATION_CBOR_SEQ, MediaType.APPLICATION_NDJSON);
+    }
+
+    /**
+     * True when content negotiation will pick {@code application/cbor} rather than JSON for a {@link ProductJson}
+     * body; wildcards keep the JSON default, as in {@link ProductJsonHttpMessageConverter}
+     */
+    static boolean prefersCbor(String accept) {
+        return prefers(accept, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON);
+    }
+
+    private static boolean prefers(String accept, MediaType alternative, MediaType standard) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            // Content negotiation rejects the header itself
+            return false;
         }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(standard)) {
+                return false;
+            }
+            if (type.includes(alternative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parseDescending(String order) {
+        return switch (order.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("Unknown sort order: " + order);
+        };
+    }
+
+    /**
+     * Returns the version named by an {@code If-Match} ETag of the form {@code "<version>-<hash>"}, or
+     * {@code "<version>-<hash>-cbor"} for one read as CBOR, or null for an absent header or {@code *}. Weak, malformed and multi-valued tags are rejected, since they cannot name one
+     * version of a product.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.indexOf('"', 1) != tag.length() - 1) {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch);
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        if (opaque.endsWith(ProductJson.CBOR_ETAG_SUFFIX)) {
+            opaque = opaque.substring(0, opaque.length() - ProductJson.CBOR_ETAG_SUFFIX.length());
+        }
+        int dash = opaque.indexOf('-');
+        if (dash < 0 || dash != opaque.lastIndexOf('-')) {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(opaque.substring(0, dash));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch, e);
+        }
+    }
+
+    private static ResponseEntity<ProductJson> conflict(Long expectedVersion) {
+        return ResponseEntity.status(expectedVersion == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED)
+                .build();
+    }
+
+    private static void requireId(BulkItemRequest item) {
+        if (item.getId() == null || item.getId().isBlank()) {
+            throw new IllegalArgumentException("Product id is required for " + item.getAction());
+        }
+    }
+
+    private static void requireStock(BulkItemRequest item) {
+        if (item.getStock() == null) {
+            throw new IllegalArgumentException("Product stock is required for " + item.getAction());
+        }
+    }
+
+    /**
+     * The body is negotiated, so shared caches must key it by {@code Accept} as well. The ETag is chosen here rather
+     * than when the body is written, because {@code If-None-Match} is checked against it before negotiation.
+     */
+    private static ResponseEntity<ProductJson> withETag(ProductJson json, String accept) {
+        String eTag = prefersCbor(accept) ? json.cborETag() : json.eTag();
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(json);
     }
 
-    private ProductResponse toResponse(Product product) {
+    static ProductResponse toResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
                 product.getName(),
                 product.getDescription(),
-                product.getPrice(),
+                product.getPrice().toBigDecimal(),
                 product.getStock(),
-                product.isAvailable()
+                product.isAvailable(),
+                product.getVersion()
         );
     }
 }
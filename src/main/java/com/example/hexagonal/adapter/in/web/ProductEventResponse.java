@@ -0,0 +1,110 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for returning a product event from the change feed; fields that do not apply to the event type are omitted
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductEventResponse {
+    private Long offset;
+    private String type;
+    private String productId;
+    private String name;
+    private BigDecimal price;
+    private BigDecimal previousPrice;
+    private Integer stock;
+    private Integer quantity;
+    private Instant occurredAt;
+
+    public ProductEventResponse() {
+    }
+
+    public ProductEventResponse(Long offset, String type, String productId, String name, BigDecimal price,
+                                BigDecimal previousPrice, Integer stock, Integer quantity, Instant occurredAt) {
+        this.offset = offset;
+        this.type = type;
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.previousPrice = previousPrice;
+        this.stock = stock;
+        this.quantity = quantity;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getPreviousPrice() {
+        return previousPrice;
+    }
+
+    public void setPreviousPrice(BigDecimal previousPrice) {
+        this.previousPrice = previousPrice;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A JSON response body assembled from pre-serialized UTF-8 fragments.
+ * {@link ProductJsonHttpMessageConverter} writes the fragments to the response in order without copying them
+ * into one array. The ETag is derived from the fragments' hashes, so it changes whenever any byte would.
+ * Listing ETags are weak: the server gzips large listings, and Tomcat only compresses responses whose ETag
+ * does not promise byte-identical bodies.
+ * A single product's ETag is prefixed with its version, {@code "<version>-<hash>"}, so clients can send it back
+ * in {@code If-Match} to make a write conditional.
+ * The same document is also available as CBOR fragments, assembled only when a client negotiates CBOR.
+ * The CBOR representation has its own ETag, the JSON one with a {@code -cbor} suffix inside the quotes, so a
+ * validator never matches bytes of the other media type.
+ */
+public final class ProductJson {
+
+    static final String CBOR_ETAG_SUFFIX = "-cbor";
+
+    private final List<byte[]> fragments;
+    private final Supplier<List<byte[]>> cborAssembler;
+    private final String eTag;
+    private final String cborETag;
+    private List<byte[]> cborFragments;
+
+    ProductJson(List<byte[]> fragments, Supplier<List<byte[]>> cborFragments, long hash) {
+        this.fragments = fragments;
+        this.cborAssembler = cborFragments;
+        this.eTag = "W/\"" + Long.toHexString(hash) + "\"";
+        this.cborETag = "W/\"" + Long.toHexString(hash) + CBOR_ETAG_SUFFIX + "\"";
+    }
+
+    ProductJson(List<byte[]> fragments, Supplier<List<byte[]>> cborFragments, long version, long hash) {
+        this.fragments = fragments;
+        this.cborAssembler = cborFragments;
+        this.eTag = "\"" + version + "-" + Long.toHexString(hash) + "\"";
+        this.cborETag = "\"" + version + "-" + Long.toHexString(hash) + CBOR_ETAG_SUFFIX + "\"";
+    }
+
+    List<byte[]> fragments() {
+        return fragments;
+    }
+
+    /**
+     * Assembled on first use; a body is written by one request thread
+     */
+    List<byte[]> cborFragments() {
+        if (cborFragments == null) {
+            cborFragments = cborAssembler.get();
+        }
+        return cborFragments;
+    }
+
+    long length() {
+        return length(fragments);
+    }
+
+    static long length(List<byte[]> fragments) {
+        long length = 0;
+        for (byte[] fragment : fragments) {
+            length += fragment.length;
+        }
+        return length;
+    }
+
+    public String eTag() {
+        return eTag;
+    }
+
+    public String cborETag() {
+        return cborETag;
+    }
+}
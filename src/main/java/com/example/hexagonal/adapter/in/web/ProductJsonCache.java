@@ -0,0 +1,217 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Serialized {@link ProductResponse} JSON per product, kept as UTF-8 bytes so that repeated reads skip the DTO
+ * and Jackson entirely. An entry remembers the field values it was rendered from and is only reused while the
+ * product being returned still has exactly those values, so any update or stock change through any path
+ * re-renders it on the next read; the controller also evicts deleted products and refreshes entries on writes.
+ * The CBOR encoding of an entry is rendered the first time a client asks for it and kept alongside the JSON.
+ */
+@Component
+@Profile("!reactive")
+public class ProductJsonCache implements MeterBinder {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+    private static final byte[] SEPARATOR = {','};
+    private static final byte[] PAGE_START = "{\"products\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_END = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final ObjectMapper cborMapper;
+    private final ObjectWriter cborWriter;
+    private final byte[] cborPageStart;
+    private final byte[] cborNextCursorField;
+    private final Cache<String, Rendered> cache;
+
+    public ProductJsonCache(
+            ObjectMapper objectMapper,
+            @Value("${product.web.json-cache.max-size:100000}") long maxSize) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(ProductResponse.class);
+        this.cborMapper = ProductCbor.newMapper();
+        this.cborWriter = cborMapper.writerFor(ProductResponse.class);
+        this.cborPageStart = ProductCbor.mapWithArray(cborMapper, "products");
+        this.cborNextCursorField = ProductCbor.encode(cborMapper, "nextCursor");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Publishes hit and miss counters as {@code cache.*} meters tagged {@code cache=product-json}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "product-json");
+    }
+
+    public ProductJson single(Product product) {
+        Rendered rendered = render(product);
+        return new ProductJson(List.of(rendered.json), () -> List.of(rendered.cbor()),
+                rendered.response.getVersion(), rendered.hash);
+    }
+
+    public ProductJson array(List<Product> products) {
+        List<byte[]> fragments = new ArrayList<>(2 * products.size() + 1);
+        List<Rendered> items = new ArrayList<>(products.size());
+        fragments.add(ARRAY_START);
+        long hash = appendAll(fragments, items, products);
+        fragments.add(ARRAY_END);
+        return new ProductJson(fragments, () -> cbor(ProductCbor.ARRAY_START, items, ProductCbor.BREAK), hash);
+    }
+
+    /**
+     * Renders the same document as {@link ProductPageResponse}
+     */
+    public ProductJson page(List<Product> products, String nextCursor) {
+        List<byte[]> fragments = new ArrayList<>(2 * products.size() + 2);
+        List<Rendered> items = new ArrayList<>(products.size());
+        fragments.add(PAGE_START);
+        long hash = appendAll(fragments, items, products);
+        byte[] tail;
+        try {
+            tail = ("],\"nextCursor\":" + objectMapper.writeValueAsString(nextCursor)).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        fragments.add(tail);
+        fragments.add(PAGE_END);
+        return new ProductJson(fragments, () -> cbor(cborPageStart, items, cborPageEnd(nextCursor)), 31 * hash + hash(tail));
+    }
+
+    public void evict(Collection<String> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    private long appendAll(List<byte[]> fragments, List<Rendered> items, List<Product> products) {
+        long hash = 1;
+        for (int i = 0; i < products.size(); i++) {
+            if (i > 0) {
+                fragments.add(SEPARATOR);
+            }
+            Rendered rendered = render(products.get(i));
+            fragments.add(rendered.json);
+            items.add(rendered);
+            hash = 31 * hash + rendered.hash;
+        }
+        return hash;
+    }
+
+    /**
+     * CBOR items are self-delimiting, so an indefinite-length array needs no separators between them
+     */
+    private static List<byte[]> cbor(byte[] start, List<Rendered> items, byte[] end) {
+        List<byte[]> fragments = new ArrayList<>(items.size() + 2);
+        fragments.add(start);
+        for (Rendered rendered : items) {
+            fragments.add(rendered.cbor());
+        }
+        fragments.add(end);
+        return fragments;
+    }
+
+    /**
+     * Closes the products array, adds {@code nextCursor} and closes the page map
+     */
+    private byte[] cborPageEnd(String nextCursor) {
+        byte[] cursor = ProductCbor.encode(cborMapper, nextCursor);
+        byte[] end = new byte[cborNextCursorField.length + cursor.length + 2];
+        end[0] = ProductCbor.BREAK[0];
+        System.arraycopy(cborNextCursorField, 0, end, 1, cborNextCursorField.length);
+        System.arraycopy(cursor, 0, end, 1 + cborNextCursorField.length, cursor.length);
+        end[end.length - 1] = ProductCbor.BREAK[0];
+        return end;
+    }
+
+    private Rendered render(Product product) {
+        Rendered rendered = cache.getIfPresent(product.getId());
+        if (rendered != null && rendered.matches(product)) {
+            return rendered;
+        }
+        ProductResponse response = ProductController.toResponse(product);
+        try {
+            rendered = new Rendered(product.getPrice(), response, writer.writeValueAsBytes(response), cborWriter);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.put(product.getId(), rendered);
+        return rendered;
+    }
+
+    /**
+     * 64-bit FNV-1a
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Rendered {
+        private final Money price;
+        private final ProductResponse response;
+        private final byte[] json;
+        private final long hash;
+        private final ObjectWriter cborWriter;
+        private volatile byte[] cbor;
+
+        Rendered(Money price, ProductResponse response, byte[] json, ObjectWriter cborWriter) {
+            this.price = price;
+            this.response = response;
+            this.json = json;
+            this.hash = hash(json);
+            this.cborWriter = cborWriter;
+        }
+
+        boolean matches(Product product) {
+            return response.getVersion() == product.getVersion()
+                    && response.getStock() == product.getStock()
+                    && price.equals(product.getPrice())
+                    && response.getName().equals(product.getName())
+                    && Objects.equals(response.getDescription(), product.getDescription());
+        }
+
+        /**
+         * Rendering twice under a race is harmless: both threads produce the same bytes
+         */
+        byte[] cbor() {
+            byte[] rendered = cbor;
+            if (rendered == null) {
+                try {
+                    rendered = cborWriter.writeValueAsBytes(response);
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+                cbor = rendered;
+            }
+            return rendered;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hexagonal.adapter.in.web;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes {@link ProductJson} bodies by copying their fragments straight to the servlet output stream.
+ * Picked up by Spring Boot ahead of the Jackson converter because it is a bean.
+ * JSON is listed first, so it stays the default; {@code application/cbor} gets the CBOR fragments.
+ */
+@Component
+public class ProductJsonHttpMessageConverter extends AbstractHttpMessageConverter<ProductJson> {
+
+    public ProductJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ProductJson.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ProductJson readInternal(Class<? extends ProductJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ProductJson is a response body only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ProductJson json, MediaType contentType) {
+        return isCbor(contentType) ? ProductJson.length(json.cborFragments()) : json.length();
+    }
+
+    @Override
+    protected void writeInternal(ProductJson json, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        List<byte[]> fragments = isCbor(outputMessage.getHeaders().getContentType())
+                ? json.cborFragments()
+                : json.fragments();
+        for (byte[] fragment : fragments) {
+            body.write(fragment);
+        }
+    }
+
+    private static boolean isCbor(MediaType contentType) {
+        return contentType != null && MediaType.APPLICATION_CBOR.isCompatibleWith(contentType);
+    }
+}
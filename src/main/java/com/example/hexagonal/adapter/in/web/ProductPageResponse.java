@@ -0,0 +1,35 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.util.List;
+
+/**
+ * DTO for returning a page of products with the cursor for the next page
+ */
+public class ProductPageResponse {
+    private List<ProductResponse> products;
+    private String nextCursor;
+
+    public ProductPageResponse() {
+    }
+
+    public ProductPageResponse(List<ProductResponse> products, String nextCursor) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ProductResponse> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductResponse> products) {
+        this.products = products;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.hexagonal.adapter.in.web;
 
+import jakarta.validation.constraints.NotNull;
+
 import java.math.BigDecimal;
 
 /**
- * DTO for creating/updating products
+ * DTO for creating/updating products.
+ * Price and stock are required; the domain model holds the stock as a primitive, so a missing one must be
+ * rejected here as a bad request rather than fail on unboxing.
  */
 public class ProductRequest {
     private String name;
     private String description;
+    @NotNull
     private BigDecimal price;
+    @NotNull
     private Integer stock;
 
     public ProductRequest() {
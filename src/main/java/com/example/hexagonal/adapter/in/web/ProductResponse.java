@@ -12,17 +12,20 @@ public class ProductResponse {
     private BigDecimal price;
     private Integer stock;
     private boolean available;
+    private long version;
 
     public ProductResponse() {
     }
 
-    public ProductResponse(String id, String name, String description, BigDecimal price, Integer stock, boolean available) {
+    public ProductResponse(String id, String name, String description, BigDecimal price, Integer stock, boolean available,
+                           long version) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.price = price;
         this.stock = stock;
         this.available = available;
+        this.version = version;
     }
 
     public String getId() {
@@ -72,4 +75,12 @@ public class ProductResponse {
     public void setAvailable(boolean available) {
         this.available = available;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.port.in.ProductSearchService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Input Adapter exposing full-text search over product names and descriptions
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/products")
+public class ProductSearchController {
+
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+
+    private final ProductSearchService productSearchService;
+
+    public ProductSearchController(ProductSearchService productSearchService) {
+        this.productSearchService = productSearchService;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT || q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ProductResponse> products = productSearchService.search(q, limit).stream()
+                .map(ProductController::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(products);
+    }
+}
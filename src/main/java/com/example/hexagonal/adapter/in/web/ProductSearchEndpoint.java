@@ -0,0 +1,34 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.port.in.ProductSearchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint at {@code /actuator/productsearch}: GET reports the index size,
+ * POST rebuilds the index by streaming the products table.
+ */
+@Component
+@Endpoint(id = "productsearch")
+public class ProductSearchEndpoint {
+
+    private final ProductSearchService productSearchService;
+
+    public ProductSearchEndpoint(ProductSearchService productSearchService) {
+        this.productSearchService = productSearchService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of("documents", productSearchService.indexedProductCount());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("indexed", productSearchService.rebuildIndex());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.ProductUpdate;
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Input Adapter streaming live product updates as Server-Sent Events.
+ * Each event is named {@code product}, carries the update's offset as its id, and holds the latest known state
+ * of one product. Subscribe first and then read the products, so no change falls between the read and the stream.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/products")
+public class ProductStreamController {
+
+    static final int MAX_STREAM_IDS = 1000;
+
+    private final ProductUpdateStream productUpdateStream;
+    private final long timeoutMillis;
+
+    public ProductStreamController(
+            ProductUpdateStream productUpdateStream,
+            @Value("${product.stream.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.productUpdateStream = productUpdateStream;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Set<String> ids) {
+        Set<String> productIds = ids == null ? Set.of() : ids;
+        if (productIds.size() > MAX_STREAM_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ProductUpdateStream.Subscription subscription;
+        try {
+            subscription = productUpdateStream.subscribe(productIds, new ProductUpdateStream.Listener() {
+                @Override
+                public void onUpdates(List<ProductUpdate> updates) throws Exception {
+                    if (updates.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    for (ProductUpdate update : updates) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(update.getOffset()))
+                                .name("product")
+                                .data(toResponse(update), MediaType.APPLICATION_JSON));
+                    }
+                }
+
+                @Override
+                public void onClose() {
+                    emitter.complete();
+                }
+            });
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
+    static ProductUpdateResponse toResponse(ProductUpdate update) {
+        return new ProductUpdateResponse(update.getOffset(), update.getProductId(), update.getName(),
+                update.getPrice() == null ? null : update.getPrice().toBigDecimal(), update.getStock(), update.isDeleted());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registers the WebSocket variant of the product update stream at {@code /ws/products}
+ */
+@Configuration
+@EnableWebSocket
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "product.stream.websocket", name = "enabled", havingValue = "true")
+public class ProductStreamWebSocketConfiguration implements WebSocketConfigurer {
+
+    private final ProductUpdateStream productUpdateStream;
+    private final ObjectMapper objectMapper;
+
+    public ProductStreamWebSocketConfiguration(ProductUpdateStream productUpdateStream, ObjectMapper objectMapper) {
+        this.productUpdateStream = productUpdateStream;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new ProductStreamWebSocketHandler(productUpdateStream, objectMapper), "/ws/products");
+    }
+}
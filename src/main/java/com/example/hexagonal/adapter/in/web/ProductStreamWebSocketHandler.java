@@ -0,0 +1,94 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.ProductUpdate;
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Input Adapter streaming live product updates over a WebSocket.
+ * Clients connect to {@code /ws/products?ids=a,b} (or without ids for all products) and receive each coalesced
+ * batch as one text message holding a JSON array of updates.
+ */
+public class ProductStreamWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIPTION = ProductStreamWebSocketHandler.class.getName() + ".subscription";
+
+    private final ProductUpdateStream productUpdateStream;
+    private final ObjectMapper objectMapper;
+
+    public ProductStreamWebSocketHandler(ProductUpdateStream productUpdateStream, ObjectMapper objectMapper) {
+        this.productUpdateStream = productUpdateStream;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        Set<String> productIds = productIds(session);
+        if (productIds.size() > ProductStreamController.MAX_STREAM_IDS) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        try {
+            session.getAttributes().put(SUBSCRIPTION, productUpdateStream.subscribe(productIds,
+                    new ProductUpdateStream.Listener() {
+                        @Override
+                        public void onUpdates(List<ProductUpdate> updates) throws IOException {
+                            if (updates.isEmpty()) {
+                                session.sendMessage(new PingMessage());
+                                return;
+                            }
+                            List<ProductUpdateResponse> responses = updates.stream()
+                                    .map(ProductStreamController::toResponse)
+                                    .toList();
+                            session.sendMessage(new TextMessage(objectMapper.writeValueAsBytes(responses)));
+                        }
+
+                        @Override
+                        public void onClose() {
+                            try {
+                                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                            } catch (IOException ignored) {
+                                // The connection is being dropped anyway
+                            }
+                        }
+                    }));
+        } catch (IllegalStateException e) {
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object subscription = session.getAttributes().remove(SUBSCRIPTION);
+        if (subscription instanceof ProductUpdateStream.Subscription active) {
+            active.cancel();
+        }
+    }
+
+    private static Set<String> productIds(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return Set.of();
+        }
+        List<String> ids = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().get("ids");
+        if (ids == null) {
+            return Set.of();
+        }
+        return ids.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for pushing the latest state of a product to live subscribers; fields not reported yet are omitted
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductUpdateResponse {
+    private long offset;
+    private String productId;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    private boolean deleted;
+
+    public ProductUpdateResponse() {
+    }
+
+    public ProductUpdateResponse(long offset, String productId, String name, BigDecimal price, Integer stock,
+                                 boolean deleted) {
+        this.offset = offset;
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.deleted = deleted;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
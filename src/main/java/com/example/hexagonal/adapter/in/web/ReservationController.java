@@ -0,0 +1,67 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.port.in.ProductService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input Adapter reserving stock for a whole basket in one call.
+ * Either every line is reserved (200) or none is (409, with the reason for each line that failed).
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    static final int MAX_RESERVATION_LINES = 100;
+
+    private final ProductService productService;
+
+    public ReservationController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@RequestBody ReservationRequest request) {
+        if (request.getLines() == null || request.getLines().isEmpty()
+                || request.getLines().size() > MAX_RESERVATION_LINES) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ReservationLine> lines;
+        try {
+            lines = request.getLines().stream()
+                    .map(line -> new ReservationLine(line.getProductId(), line.getQuantity()))
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<Product> reserved = productService.reserveStock(lines);
+            Map<String, Integer> quantities = new HashMap<>();
+            lines.forEach(line -> quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+            return ResponseEntity.ok(new ReservationResponse(true, reserved.stream()
+                    .map(product -> new ReservationLineResult(product.getId(), quantities.get(product.getId()),
+                            product.getStock(), null, null))
+                    .toList()));
+        } catch (ReservationRejectedException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ReservationResponse(false, e.getRejections().stream()
+                    .map(rejection -> new ReservationLineResult(rejection.getProductId(), rejection.getQuantity(),
+                            null, rejection.getReason().name(), rejection.getAvailable()))
+                    .toList()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonal.adapter.in.web;
+
+/**
+ * DTO for one line of a stock reservation
+ */
+public class ReservationLineRequest {
+    private String productId;
+    private Integer quantity;
+
+    public ReservationLineRequest() {
+    }
+
+    public ReservationLineRequest(String productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO for the outcome of one reservation line: the remaining stock when it was reserved,
+ * or the reason and the stock available when it was rejected
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationLineResult {
+    private String productId;
+    private int quantity;
+    private Integer stock;
+    private String reason;
+    private Integer available;
+
+    public ReservationLineResult() {
+    }
+
+    public ReservationLineResult(String productId, int quantity, Integer stock, String reason, Integer available) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.stock = stock;
+        this.reason = reason;
+        this.available = available;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+}
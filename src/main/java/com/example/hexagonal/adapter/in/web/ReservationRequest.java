@@ -0,0 +1,25 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.util.List;
+
+/**
+ * DTO for reserving stock on several products at once
+ */
+public class ReservationRequest {
+    private List<ReservationLineRequest> lines;
+
+    public ReservationRequest() {
+    }
+
+    public ReservationRequest(List<ReservationLineRequest> lines) {
+        this.lines = lines;
+    }
+
+    public List<ReservationLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<ReservationLineRequest> lines) {
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.util.List;
+
+/**
+ * DTO for returning the result of a stock reservation, one entry per product
+ */
+public class ReservationResponse {
+    private boolean reserved;
+    private List<ReservationLineResult> lines;
+
+    public ReservationResponse() {
+    }
+
+    public ReservationResponse(boolean reserved, List<ReservationLineResult> lines) {
+        this.reserved = reserved;
+        this.lines = lines;
+    }
+
+    public boolean isReserved() {
+        return reserved;
+    }
+
+    public void setReserved(boolean reserved) {
+        this.reserved = reserved;
+    }
+
+    public List<ReservationLineResult> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<ReservationLineResult> lines) {
+        this.lines = lines;
+    }
+}
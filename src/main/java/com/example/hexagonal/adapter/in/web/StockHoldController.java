@@ -0,0 +1,68 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.StockHold;
+import com.example.hexagonal.domain.port.in.StockHoldService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Input Adapter for time-bounded stock holds.
+ * A hold takes its quantity out of the product's stock straight away, so product reads already show the
+ * stock left for other buyers; confirm the hold at checkout, or release it when the cart is abandoned.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/holds")
+public class StockHoldController {
+
+    private final StockHoldService stockHoldService;
+
+    public StockHoldController(StockHoldService stockHoldService) {
+        this.stockHoldService = stockHoldService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StockHoldResponse> hold(@RequestBody StockHoldRequest request) {
+        try {
+            Duration ttl = request.getTtlSeconds() == null ? null : Duration.ofSeconds(request.getTtlSeconds());
+            StockHold hold = stockHoldService.hold(request.getProductId(), request.getQuantity(), ttl);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(hold));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StockHoldResponse> getHold(@PathVariable String id) {
+        return stockHoldService.getHold(id)
+                .map(hold -> ResponseEntity.ok(toResponse(hold)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<StockHoldResponse> confirm(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(toResponse(stockHoldService.confirm(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable String id) {
+        try {
+            stockHoldService.release(id);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static StockHoldResponse toResponse(StockHold hold) {
+        return new StockHoldResponse(hold.getId(), hold.getProductId(), hold.getQuantity(), hold.getExpiresAt());
+    }
+}
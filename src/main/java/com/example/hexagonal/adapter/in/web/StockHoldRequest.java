@@ -0,0 +1,43 @@
+package com.example.hexagonal.adapter.in.web;
+
+/**
+ * DTO for placing a stock hold; the hold lasts the configured default time when ttlSeconds is absent
+ */
+public class StockHoldRequest {
+    private String productId;
+    private Integer quantity;
+    private Long ttlSeconds;
+
+    public StockHoldRequest() {
+    }
+
+    public StockHoldRequest(String productId, Integer quantity, Long ttlSeconds) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hexagonal.adapter.in.web;
+
+import java.time.Instant;
+
+/**
+ * DTO for returning a stock hold
+ */
+public class StockHoldResponse {
+    private String id;
+    private String productId;
+    private int quantity;
+    private Instant expiresAt;
+
+    public StockHoldResponse() {
+    }
+
+    public StockHoldResponse(String id, String productId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.hexagonal.adapter.out.cache;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Read-through caching decorator for any ProductRepository.
+ * Caches product snapshots by ID, including misses, and keeps entries current on every write that goes through it.
+ * Products are mutable, so snapshots are copied on the way in and on the way out.
+ * Deletions are cached as misses rather than evicted, so a load that raced the deletion cannot bring the product back.
+ * Inside a transaction, written entries are dropped at once and only cached again after the commit, so other
+ * threads never read an uncommitted snapshot; until then the writing transaction reads them from the delegate.
+ * Listing and streaming queries are passed through untouched so they do not flush hot entries.
+ */
+public class CachingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final Cache<String, Optional<Product>> cache;
+
+    public CachingProductRepository(ProductRepository delegate, Cache<String, Optional<Product>> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * A version conflict means the cached copy may be the stale one the caller started from, so it is dropped
+     * and the caller's retry reads the current version.
+     */
+    @Override
+    public Product save(Product product) {
+        Product saved;
+        try {
+            saved = delegate.save(product);
+        } catch (ProductVersionConflictException e) {
+            cache.invalidate(product.getId());
+            throw e;
+        }
+        cacheWritten(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        cacheWritten(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Product> insertAll(List<Product> products) {
+        List<Product> inserted = delegate.insertAll(products);
+        cacheWritten(inserted);
+        return inserted;
+    }
+
+    /**
+     * Loads misses outside the cache's compute lock: a database call inside {@code Cache.get(key, loader)}
+     * would hold a hash-bin monitor and pin the carrier thread when running on virtual threads.
+     * The loaded snapshot is merged rather than put, so it never replaces a newer one written meanwhile.
+     */
+    @Override
+    public Optional<Product> findById(String id) {
+        if (writtenInTransaction(id)) {
+            return delegate.findById(id);
+        }
+        Optional<Product> cached = cache.getIfPresent(id);
+        if (cached == null) {
+            cached = cacheLoaded(id, delegate.findById(id).map(CachingProductRepository::copy));
+        }
+        return cached.map(CachingProductRepository::copy);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        Map<String, Optional<Product>> found = new HashMap<>(cache.getAllPresent(ids));
+        found.keySet().removeIf(this::writtenInTransaction);
+        List<String> missing = ids.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            Map<String, Product> loaded = delegate.findAllById(missing).stream()
+                    .collect(Collectors.toMap(Product::getId, CachingProductRepository::copy));
+            for (String id : missing) {
+                Optional<Product> product = Optional.ofNullable(loaded.get(id));
+                found.put(id, writtenInTransaction(id) ? product : cacheLoaded(id, product));
+            }
+        }
+        return found.values().stream()
+                .flatMap(Optional::stream)
+                .map(CachingProductRepository::copy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        return delegate.search(query, after, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Product> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        Optional<Product> updated = delegate.decreaseStock(id, quantity);
+        if (updated.isPresent()) {
+            cacheWritten(List.of(updated.get()));
+        } else {
+            // Either missing or short of stock; the cached stock may be stale, so reload on next read
+            cache.invalidate(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        Optional<Product> updated = delegate.decreaseStock(id, quantity, expectedVersion);
+        if (updated.isPresent()) {
+            cacheWritten(List.of(updated.get()));
+        } else {
+            cache.invalidate(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Product> increaseStock(String id, int quantity) {
+        Optional<Product> updated = delegate.increaseStock(id, quantity);
+        if (updated.isPresent()) {
+            cacheWritten(List.of(updated.get()));
+        } else {
+            cache.invalidate(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        try {
+            delegate.deleteById(id);
+        } catch (RuntimeException e) {
+            cache.invalidate(id);
+            throw e;
+        }
+        cacheDeleted(List.of(id));
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        try {
+            delegate.deleteAllById(ids);
+        } catch (RuntimeException e) {
+            cache.invalidateAll(ids);
+            throw e;
+        }
+        cacheDeleted(ids);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        if (writtenInTransaction(id)) {
+            return delegate.existsById(id);
+        }
+        Optional<Product> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached.isPresent();
+        }
+        boolean exists = delegate.existsById(id);
+        if (!exists) {
+            // Only if nothing was cached meanwhile: a product saved since the check must not be hidden
+            cache.asMap().putIfAbsent(id, Optional.empty());
+        }
+        return exists;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Caches a snapshot loaded from the delegate and returns what the cache then holds. An entry written since the
+     * load started wins, unless both are products and the loaded one has the higher version.
+     */
+    private Optional<Product> cacheLoaded(String id, Optional<Product> loaded) {
+        return cache.asMap().merge(id, loaded, (current, candidate) ->
+                current.isPresent() && candidate.isPresent()
+                        && candidate.get().getVersion() > current.get().getVersion() ? candidate : current);
+    }
+
+    /**
+     * Commit callbacks of concurrent transactions can run in either order, so a written snapshot is merged rather
+     * than put: it does not replace a product with a higher version, and it does not replace a cached miss, which
+     * may be the tombstone of a later deletion; the entry is dropped instead and the next read loads the committed row.
+     */
+    private void cacheWritten(List<Product> products) {
+        Map<String, Optional<Product>> snapshots = new HashMap<>();
+        products.forEach(product -> snapshots.put(product.getId(), Optional.of(copy(product))));
+        afterCommit(snapshots.keySet(), () -> snapshots.forEach((id, snapshot) ->
+                cache.asMap().merge(id, snapshot, (current, candidate) -> {
+                    if (current.isEmpty()) {
+                        return null;
+                    }
+                    return current.get().getVersion() > candidate.get().getVersion() ? current : candidate;
+                })));
+    }
+
+    /**
+     * A deletion always leaves a tombstone, whatever was cached, so no write that committed before it can bring
+     * the product back
+     */
+    private void cacheDeleted(Collection<String> ids) {
+        Map<String, Optional<Product>> misses = new HashMap<>();
+        ids.forEach(id -> misses.put(id, Optional.empty()));
+        afterCommit(misses.keySet(), () -> cache.putAll(misses));
+    }
+
+    /**
+     * Applies a cache update for written products now, or, inside a transaction, drops their entries now and
+     * applies the update once the transaction has committed. After a rollback the entries are dropped again, in
+     * case a concurrent load cached the state the transaction was replacing.
+     */
+    private void afterCommit(Set<String> ids, Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        if (writes == null) {
+            writes = new TransactionWrites();
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(writes);
+        }
+        writes.ids.addAll(ids);
+        writes.updates.add(update);
+        cache.invalidateAll(ids);
+    }
+
+    private boolean writtenInTransaction(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        return writes != null && writes.ids.contains(id);
+    }
+
+    /**
+     * Products written by the current transaction and the cache updates to apply when it commits
+     */
+    private final class TransactionWrites implements TransactionSynchronization {
+        private final Set<String> ids = new HashSet<>();
+        private final List<Runnable> updates = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CachingProductRepository.this);
+            if (status == STATUS_COMMITTED) {
+                updates.forEach(Runnable::run);
+            } else {
+                cache.invalidateAll(ids);
+            }
+        }
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getVersion());
+    }
+}
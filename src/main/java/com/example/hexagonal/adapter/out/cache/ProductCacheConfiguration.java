@@ -0,0 +1,61 @@
+package com.example.hexagonal.adapter.out.cache;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Wires the caching decorator in front of the persistence adapter.
+ * The cache is a bounded Caffeine (W-TinyLFU) cache with a write TTL; set {@code product.cache.enabled=false}
+ * to talk to the persistence adapter directly.
+ * The cache itself is a separate bean so the actuator endpoint and the Micrometer binder can read it
+ * without depending on the repository bean, which may be wrapped by the metrics decorator.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductCacheConfiguration {
+
+    @Bean
+    public Cache<String, Optional<Product>> productCache(
+            @Value("${product.cache.max-size:10000}") long maxSize,
+            @Value("${product.cache.ttl:30s}") Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    @Primary
+    public CachingProductRepository cachingProductRepository(
+            @Qualifier("productRepositoryAdapter") ProductRepository delegate,
+            Cache<String, Optional<Product>> productCache) {
+        return new CachingProductRepository(delegate, productCache);
+    }
+
+    @Bean
+    public ProductCacheEndpoint productCacheEndpoint(Cache<String, Optional<Product>> productCache) {
+        return new ProductCacheEndpoint(productCache);
+    }
+
+    /**
+     * Publishes size, hit, miss, load and eviction counters as {@code cache.*} meters tagged {@code cache=product}
+     */
+    @Bean
+    public MeterBinder productCacheMetrics(Cache<String, Optional<Product>> productCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, productCache, "product");
+    }
+}
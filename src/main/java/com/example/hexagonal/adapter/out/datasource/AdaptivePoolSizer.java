@@ -0,0 +1,203 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes every Hikari pool in the context, the primary and the replica alike, from what it observes.
+ * Each {@code sample-interval-ms} it records how much of each pool is in use and how many threads are waiting;
+ * after {@code window} samples it also takes the average acquire time from Hikari's
+ * {@code hikaricp.connections.acquire} timer and lets {@link PoolSizingPolicy} pick the next maximum size
+ * between {@code min-size} and {@code max-size}. Shrinking also lowers the minimum idle count when it is above
+ * the new maximum; Hikari then closes surplus connections as they go idle.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.datasource.adaptive-sizing", name = "enabled", havingValue = "true")
+public class AdaptivePoolSizer implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final ObjectProvider<DataSource> dataSources;
+    private final PoolSizingPolicy policy;
+    private final int window;
+
+    private List<ManagedPool> pools;
+    private MeterRegistry registry;
+
+    public AdaptivePoolSizer(
+            ObjectProvider<DataSource> dataSources,
+            @Value("${product.datasource.adaptive-sizing.min-size:4}") int minSize,
+            @Value("${product.datasource.adaptive-sizing.max-size:40}") int maxSize,
+            @Value("${product.datasource.adaptive-sizing.target-wait:5ms}") Duration targetWait,
+            @Value("${product.datasource.adaptive-sizing.low-utilization:0.5}") double lowUtilization,
+            @Value("${product.datasource.adaptive-sizing.window:10}") int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("product.datasource.adaptive-sizing.window must be at least 1");
+        }
+        this.dataSources = dataSources;
+        this.policy = new PoolSizingPolicy(minSize, maxSize, targetWait.toNanos(), lowUtilization);
+        this.window = window;
+    }
+
+    @Scheduled(fixedDelayString = "${product.datasource.adaptive-sizing.sample-interval-ms:1000}")
+    public synchronized void sample() {
+        for (ManagedPool pool : pools()) {
+            pool.sample();
+        }
+    }
+
+    /**
+     * Meters for a pool are registered at its first sample after it started, once Hikari has named it
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Names of the pools being sized; a pool reachable through several data source beans appears once
+     */
+    synchronized List<String> managedPools() {
+        return pools().stream().map(pool -> pool.dataSource.getPoolName()).toList();
+    }
+
+    /**
+     * Found on the first sample rather than at construction, so the data sources are not created early
+     */
+    private List<ManagedPool> pools() {
+        if (pools == null) {
+            pools = new ArrayList<>();
+            dataSources.orderedStream()
+                    .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class,
+                            HikariDataSource.class))
+                    .filter(hikari -> hikari != null
+                            && pools.stream().noneMatch(pool -> pool.dataSource == hikari))
+                    .forEach(hikari -> pools.add(new ManagedPool(hikari)));
+        }
+        return pools;
+    }
+
+    private final class ManagedPool {
+
+        private final HikariDataSource dataSource;
+
+        private boolean registered;
+        private int samples;
+        private double utilizationSum;
+        private int peakActive;
+        private int peakWaiting;
+        private long acquireCount;
+        private double acquireNanos;
+
+        private volatile double lastUtilization;
+        private volatile long lastWaitNanos = -1;
+        private volatile long grown;
+        private volatile long shrunk;
+
+        ManagedPool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void sample() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return; // not started yet
+            }
+            if (!registered && registry != null) {
+                register(registry);
+                registered = true;
+            }
+            int active = pool.getActiveConnections();
+            utilizationSum += (double) active / dataSource.getMaximumPoolSize();
+            peakActive = Math.max(peakActive, active);
+            peakWaiting = Math.max(peakWaiting, pool.getThreadsAwaitingConnection());
+            if (++samples >= window) {
+                resize();
+                samples = 0;
+                utilizationSum = 0;
+                peakActive = 0;
+                peakWaiting = 0;
+            }
+        }
+
+        private void resize() {
+            lastUtilization = utilizationSum / samples;
+            lastWaitNanos = meanWaitNanosSinceLastWindow();
+            int current = dataSource.getMaximumPoolSize();
+            int next = policy.nextSize(current, lastUtilization, peakActive, peakWaiting, lastWaitNanos);
+            if (next == current) {
+                return;
+            }
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            config.setMaximumPoolSize(next);
+            if (next > current) {
+                grown++;
+            } else {
+                shrunk++;
+                if (config.getMinimumIdle() > next) {
+                    config.setMinimumIdle(next);
+                }
+            }
+            log.debug("Resized connection pool {} from {} to {} (utilization {}%, {} waiting, acquire {} us)",
+                    dataSource.getPoolName(), current, next, Math.round(lastUtilization * 100), peakWaiting,
+                    lastWaitNanos < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMicros(lastWaitNanos));
+        }
+
+        private long meanWaitNanosSinceLastWindow() {
+            Timer acquire = registry == null ? null
+                    : registry.find("hikaricp.connections.acquire").tag("pool", dataSource.getPoolName()).timer();
+            if (acquire == null) {
+                return -1;
+            }
+            long count = acquire.count();
+            double nanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+            long acquired = count - acquireCount;
+            double waited = nanos - acquireNanos;
+            acquireCount = count;
+            acquireNanos = nanos;
+            return acquired > 0 ? (long) (waited / acquired) : 0;
+        }
+
+        private void register(MeterRegistry registry) {
+            String name = dataSource.getPoolName();
+            Gauge.builder("product.datasource.pool.utilization", this, pool -> pool.lastUtilization)
+                    .description("Average share of the connection pool in use over the last sizing window")
+                    .tag("pool", name)
+                    .register(registry);
+            Gauge.builder("product.datasource.pool.acquire.wait", this,
+                            pool -> pool.lastWaitNanos < 0 ? Double.NaN : pool.lastWaitNanos / 1e9)
+                    .description("Average time to acquire a connection over the last sizing window")
+                    .baseUnit("seconds")
+                    .tag("pool", name)
+                    .register(registry);
+            FunctionCounter.builder("product.datasource.pool.resizes", this, pool -> pool.grown)
+                    .description("Connection pool resizes made by the adaptive sizer")
+                    .tags("pool", name, "direction", "grow")
+                    .register(registry);
+            FunctionCounter.builder("product.datasource.pool.resizes", this, pool -> pool.shrunk)
+                    .description("Connection pool resizes made by the adaptive sizer")
+                    .tags("pool", name, "direction", "shrink")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+/**
+ * Decides the next maximum size of a connection pool from what was observed over one sampling window.
+ * The pool grows by a quarter, at least one connection, when callers had to wait for a connection while the
+ * pool was in full use: waiting with idle connections in the pool is slow connection setup, which more
+ * connections would not fix. It shrinks by one connection when nobody waited and on average less than
+ * {@code lowUtilization} of it was in use, but never below the busiest moment of the window plus one.
+ */
+record PoolSizingPolicy(int minSize, int maxSize, long targetWaitNanos, double lowUtilization) {
+
+    PoolSizingPolicy {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool size bounds must satisfy 1 <= min-size <= max-size");
+        }
+    }
+
+    /**
+     * The window is summarized by the average share of the pool in use, the most connections in use and the most
+     * threads waiting at any sample, and the average time to acquire a connection (-1 if it was not measured)
+     */
+    int nextSize(int current, double meanUtilization, int peakActive, int peakWaiting, long meanWaitNanos) {
+        boolean starved = peakWaiting > 0 || meanWaitNanos > targetWaitNanos;
+        if (starved && peakActive >= current) {
+            return clamp(current + Math.max(1, current / 4));
+        }
+        if (!starved && meanUtilization < lowUtilization) {
+            return clamp(Math.min(current, Math.max(current - 1, peakActive + 1)));
+        }
+        return clamp(current);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
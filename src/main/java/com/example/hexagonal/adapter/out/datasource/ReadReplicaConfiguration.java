@@ -0,0 +1,76 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the connection pool in two when {@code product.datasource.read-replica.enabled=true}: the primary pool,
+ * configured by {@code spring.datasource.*} as before, and a read-only pool for the replica, configured by
+ * {@code product.datasource.read-replica.*}. The replica defaults to the primary's URL and credentials, so the
+ * split also works against a single database. The data source seen by JPA and JDBC routes each transaction by
+ * its read-only flag (see {@link ReadWriteRoutingDataSource}), which sends the {@code @Transactional(readOnly = true)}
+ * lookups, listings and searches behind the ProductService read operations to the replica.
+ * Hibernate is made to release its connection at the end of every transaction: otherwise a session kept open
+ * across transactions, as open-in-view does for a request, would keep the pool its first transaction was routed to.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.datasource.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    static final String PRIMARY_POOL = "primary";
+    static final String REPLICA_POOL = "replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("product.datasource.read-replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${product.datasource.read-replica.url:}") String url,
+            @Value("${product.datasource.read-replica.username:}") String username,
+            @Value("${product.datasource.read-replica.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+        }
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setPoolName(REPLICA_POOL);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return ReadWriteRoutingDataSource.lazy(primary, replica);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
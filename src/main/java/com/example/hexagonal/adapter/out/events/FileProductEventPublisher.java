@@ -0,0 +1,75 @@
+package com.example.hexagonal.adapter.out.events;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.out.ProductEventPublisher;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Implements the ProductEventPublisher port by appending each event as one JSON line to a local file,
+ * standing in for a message broker when running locally. A batch is written with a single append.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.events.file", name = "enabled", havingValue = "true")
+public class FileProductEventPublisher implements ProductEventPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final FileChannel channel;
+
+    public FileProductEventPublisher(
+            ObjectMapper objectMapper,
+            @Value("${product.events.file.path:data/product-events.ndjson}") String path) {
+        this.objectMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.path = Paths.get(path);
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            this.channel = FileChannel.open(this.path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open product event file " + this.path, e);
+        }
+    }
+
+    @Override
+    public void publish(List<ProductEvent> events) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 192);
+        try {
+            for (ProductEvent event : events) {
+                objectMapper.writeValue(lines, event);
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            synchronized (channel) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to product event file " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
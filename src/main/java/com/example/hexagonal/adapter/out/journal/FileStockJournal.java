@@ -0,0 +1,263 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.domain.port.out.StockJournal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Implements the StockJournal port with an append-only local file.
+ * Each line is {@code R <productId> <quantity>} for a reservation, {@code F <productId> <quantity>} for a flush
+ * or {@code O <productId> <quantity>} for a reservation the repository could not take.
+ * The outstanding and oversold quantities per product are tracked alongside the file, and the file is compacted
+ * down to them once it grows past a threshold.
+ * <p>
+ * Appends are group-committed: concurrent appenders queue their lines and wait, and one of them writes the whole
+ * queue and syncs it with a single {@code force} while the next batch queues up behind it. Every appender still
+ * returns only once its own line is durable. A failed write fails its batch and every append after it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.stock-engine", name = "enabled", havingValue = "true")
+public class FileStockJournal implements StockJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStockJournal.class);
+
+    private final Path path;
+    private final boolean fsync;
+    private final long compactThresholdBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+    private final Map<String, Integer> outstanding = new HashMap<>();
+    private final Map<String, Integer> oversold = new HashMap<>();
+    private FileChannel channel;
+
+    private List<Entry> queued = new ArrayList<>();
+    private long queuedSequence;
+    private long durableSequence;
+    private boolean writing;
+    private IOException failure;
+
+    public FileStockJournal(
+            @Value("${product.stock-engine.journal-path:data/stock-journal.log}") String path,
+            @Value("${product.stock-engine.journal-fsync:true}") boolean fsync,
+            @Value("${product.stock-engine.journal-compact-threshold-bytes:67108864}") long compactThresholdBytes) {
+        this.path = Paths.get(path);
+        this.fsync = fsync;
+        this.compactThresholdBytes = compactThresholdBytes;
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            replay();
+            this.channel = openForAppend(this.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stock journal " + this.path, e);
+        }
+    }
+
+    @Override
+    public void recordReservation(String productId, int quantity) {
+        append('R', productId, quantity);
+    }
+
+    @Override
+    public void recordFlush(String productId, int quantity) {
+        append('F', productId, quantity);
+    }
+
+    @Override
+    public void recordOversell(String productId, int quantity) {
+        append('O', productId, quantity);
+    }
+
+    @Override
+    public Map<String, Integer> outstandingReservations() {
+        lock.lock();
+        try {
+            return Map.copyOf(outstanding);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Integer> oversoldReservations() {
+        lock.lock();
+        try {
+            return Map.copyOf(oversold);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            while (writing) {
+                written.awaitUninterruptibly();
+            }
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the line and waits until a batch containing it has been written, writing the batch itself when no
+     * other appender is.
+     */
+    private void append(char type, String productId, int quantity) {
+        lock.lock();
+        try {
+            queued.add(new Entry(type, productId, quantity));
+            long sequence = ++queuedSequence;
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Cannot append to stock journal " + path, failure);
+                }
+                if (writing) {
+                    written.awaitUninterruptibly();
+                } else {
+                    writeQueued();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called with the lock held. The write and sync run without it, so appenders keep queueing the next batch.
+     */
+    private void writeQueued() {
+        List<Entry> batch = queued;
+        long sequence = queuedSequence;
+        queued = new ArrayList<>();
+        writing = true;
+        StringBuilder lines = new StringBuilder(batch.size() * 32);
+        batch.forEach(entry -> lines.append(entry.type()).append(' ').append(entry.productId()).append(' ')
+                .append(entry.quantity()).append('\n'));
+        IOException error = null;
+        lock.unlock();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lock.lock();
+        }
+        writing = false;
+        try {
+            if (error != null) {
+                failure = error;
+            } else {
+                batch.forEach(entry -> apply(entry.type(), entry.productId(), entry.quantity()));
+                durableSequence = sequence;
+                if (batch.stream().anyMatch(entry -> entry.type() != 'R') && channel.size() > compactThresholdBytes) {
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            written.signalAll();
+        }
+    }
+
+    private void apply(char type, String productId, int quantity) {
+        add(outstanding, productId, type == 'R' ? quantity : -quantity);
+        if (type == 'O') {
+            add(oversold, productId, quantity);
+        }
+    }
+
+    private static void add(Map<String, Integer> quantities, String productId, int delta) {
+        quantities.merge(productId, delta, (current, change) -> {
+            int next = current + change;
+            return next == 0 ? null : next;
+        });
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length != 3 || !parts[0].matches("[RFO]")) {
+                    // A torn last line from a crash mid-write was never acknowledged, so it is safe to skip
+                    log.warn("Skipping malformed stock journal line: {}", line);
+                    continue;
+                }
+                apply(parts[0].charAt(0), parts[1], Integer.parseInt(parts[2]));
+            }
+        }
+        if (!outstanding.isEmpty()) {
+            log.info("Stock journal {} has outstanding reservations for {} products", path, outstanding.size());
+        }
+    }
+
+    /**
+     * Rewrites the journal as one reservation line per product with an outstanding quantity, followed by a
+     * reservation and an oversell line per product with an oversold quantity.
+     * The new file is fully synced before it atomically replaces the old one.
+     */
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        StringBuilder content = new StringBuilder();
+        outstanding.forEach((productId, quantity) ->
+                content.append("R ").append(productId).append(' ').append(quantity).append('\n'));
+        oversold.forEach((productId, quantity) -> content
+                .append("R ").append(productId).append(' ').append(quantity).append('\n')
+                .append("O ").append(productId).append(' ').append(quantity).append('\n'));
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = openForAppend(path);
+    }
+
+    private static FileChannel openForAppend(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private record Entry(char type, String productId, int quantity) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hexagonal.adapter.out.journal;
+
+/**
+ * When appends to the product journal are forced to the storage device
+ */
+public enum FsyncPolicy {
+    /**
+     * Before every write is acknowledged; nothing acknowledged is lost on power failure
+     */
+    ALWAYS,
+    /**
+     * Periodically, every {@code product.journal.fsync-interval-ms}; a power failure loses at most that window
+     */
+    BATCHED,
+    /**
+     * Left to the operating system; survives a process crash but not a power failure
+     */
+    NONE
+}
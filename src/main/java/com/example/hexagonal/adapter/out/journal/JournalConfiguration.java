@@ -0,0 +1,44 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.adapter.out.offheap.OffHeapProductStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Paths;
+
+/**
+ * Serves the ProductRepository port from the local journal when the {@code journal} profile is active.
+ * The catalog lives in an off-heap store that is rebuilt from disk before the repository is handed out.
+ */
+@Configuration
+@Profile("journal")
+public class JournalConfiguration {
+
+    @Bean
+    public OffHeapProductStore journalProductStore(
+            @Value("${product.journal.initial-capacity:100000}") int initialCapacity) {
+        return new OffHeapProductStore(initialCapacity);
+    }
+
+    @Bean
+    public ProductJournal productJournal(
+            OffHeapProductStore journalProductStore,
+            @Value("${product.journal.directory:data/products}") String directory,
+            @Value("${product.journal.fsync:BATCHED}") FsyncPolicy fsyncPolicy,
+            @Value("${product.journal.compact-threshold-bytes:268435456}") long compactThresholdBytes) {
+        return new ProductJournal(Paths.get(directory), fsyncPolicy, compactThresholdBytes, journalProductStore::forEach);
+    }
+
+    @Bean
+    @Primary
+    public JournalProductRepository journalProductRepository(
+            OffHeapProductStore journalProductStore,
+            ProductJournal productJournal) {
+        JournalProductRepository repository = new JournalProductRepository(journalProductStore, productJournal);
+        repository.recover();
+        return repository;
+    }
+}
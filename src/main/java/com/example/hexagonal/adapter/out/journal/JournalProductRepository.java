@@ -0,0 +1,213 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.adapter.out.offheap.OffHeapProductStore;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Output Adapter implementing the ProductRepository port with a local journal instead of a database.
+ * Every write is appended to the {@link ProductJournal} before it is applied to an in-memory
+ * {@link OffHeapProductStore}, which serves all reads. On startup the store is rebuilt from the newest snapshot
+ * and the journal tail, so the catalog survives restarts without a database.
+ */
+public class JournalProductRepository implements ProductRepository {
+
+    private static final int RECOVERY_BATCH = 10_000;
+
+    private final OffHeapProductStore store;
+    private final ProductJournal journal;
+    public JournalProductRepository(OffHeapProductStore store, ProductJournal journal) {
+        this.store = store;
+        this.journal = journal;
+    }
+
+    /**
+     * Rebuilds the store from disk. Products are applied in batches; a pending batch is applied before any
+     * delete or stock record so that records still take effect in log order.
+     */
+    public long recover() {
+        List<Product> batch = new ArrayList<>(RECOVERY_BATCH);
+        long records = journal.recover(new ProductRecords.Handler() {
+            @Override
+            public void put(Product product) {
+                batch.add(product);
+                if (batch.size() == RECOVERY_BATCH) {
+                    applyBatch();
+                }
+            }
+
+            @Override
+            public void delete(String id) {
+                applyBatch();
+                store.removeAll(List.of(id));
+            }
+
+            @Override
+            public void stock(String id, int stock, long version) {
+                applyBatch();
+                store.find(id).ifPresent(product -> store.putAll(List.of(withStock(product, stock,
+                        version == ProductRecords.NO_VERSION ? product.getVersion() : version))));
+            }
+
+            private void applyBatch() {
+                store.putAll(batch);
+                batch.clear();
+            }
+        });
+        store.putAll(batch);
+        return records;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return write(List.of(product), true).get(0);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return write(products, false);
+    }
+
+    @Override
+    public List<Product> insertAll(List<Product> products) {
+        return saveAll(products);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return store.find(id);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return store.findAll(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return store.search(ProductQuery.all(), null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return store.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        return store.search(query, after, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Product> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * Journals the resulting stock level and version rather than the decrement, so the record stays idempotent on replay
+     */
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        return journal.atomically(() -> {
+            Optional<Product> current = store.find(id);
+            if (current.isEmpty() || current.get().getStock() < quantity) {
+                return Optional.empty();
+            }
+            int stock = current.get().getStock() - quantity;
+            long version = current.get().getVersion() + 1;
+            journal.append(ProductRecords.maxSizeOf(id), buffer -> ProductRecords.stock(buffer, id, stock, version));
+            return store.decreaseStock(id, quantity);
+        });
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        return journal.atomically(() -> {
+            Optional<Product> current = store.find(id);
+            if (current.isEmpty() || current.get().getVersion() != expectedVersion) {
+                return Optional.empty();
+            }
+            return decreaseStock(id, quantity);
+        });
+    }
+
+    @Override
+    public Optional<Product> increaseStock(String id, int quantity) {
+        return journal.atomically(() -> {
+            Optional<Product> current = store.find(id);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            int stock = Math.addExact(current.get().getStock(), quantity);
+            long version = current.get().getVersion() + 1;
+            journal.append(ProductRecords.maxSizeOf(id), buffer -> ProductRecords.stock(buffer, id, stock, version));
+            return store.increaseStock(id, quantity);
+        });
+    }
+
+    @Override
+    public void deleteById(String id) {
+        deleteAllById(List.of(id));
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        int size = ids.stream().mapToInt(ProductRecords::maxSizeOf).sum();
+        journal.atomically(() -> {
+            journal.append(size, buffer -> ids.forEach(id -> ProductRecords.delete(buffer, id)));
+            store.removeAll(ids);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.contains(id);
+    }
+
+    /**
+     * Assigns the new versions under the journal lock and journals the products with them, so replay restores
+     * the same versions. Stored products advance by one; new ones keep the version they carry.
+     */
+    private List<Product> write(List<Product> products, boolean checkVersions) {
+        products.forEach(OffHeapProductStore::checkStorable);
+        int size = products.stream().mapToInt(ProductRecords::maxSizeOf).sum();
+        return journal.atomically(() -> {
+            Map<String, Product> current = store.findAll(products.stream().map(Product::getId).toList()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            List<Product> versioned = new ArrayList<>(products.size());
+            for (Product product : products) {
+                Product stored = current.get(product.getId());
+                if (stored != null && checkVersions && stored.getVersion() != product.getVersion()) {
+                    throw new ProductVersionConflictException(product.getId(), product.getVersion());
+                }
+                versioned.add(withVersion(product, stored == null ? product.getVersion() : stored.getVersion() + 1));
+            }
+            journal.append(size, buffer -> versioned.forEach(product -> ProductRecords.put(buffer, product)));
+            store.putAll(versioned);
+            return versioned;
+        });
+    }
+
+    private static Product withStock(Product product, int stock, long version) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(), stock,
+                version);
+    }
+
+    private static Product withVersion(Product product, long version) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), version);
+    }
+}
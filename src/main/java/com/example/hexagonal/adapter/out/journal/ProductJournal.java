@@ -0,0 +1,273 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.domain.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durable log of product mutations: numbered journal segments plus periodic snapshots.
+ * {@code snapshot-N.bin} holds the catalog as of the start of {@code journal-N.log}, so recovery maps the newest
+ * snapshot and replays only the segments from N on. Compaction starts a new segment and snapshots the live catalog
+ * while writes continue; the snapshot may already include some of the new segment's records, which is fine because
+ * every record is idempotent. Older segments and snapshots are deleted once the new snapshot is in place.
+ */
+public class ProductJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductJournal.class);
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long compactThresholdBytes;
+    private final Consumer<Consumer<Product>> snapshotSource;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private FileChannel channel;
+    private long generation;
+    private boolean unsynced;
+
+    public ProductJournal(Path directory, FsyncPolicy fsyncPolicy, long compactThresholdBytes,
+                          Consumer<Consumer<Product>> snapshotSource) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.compactThresholdBytes = compactThresholdBytes;
+        this.snapshotSource = snapshotSource;
+    }
+
+    /**
+     * Loads the newest snapshot, replays the journal segments written after it and opens the last segment for
+     * appending. A torn record at the end of the last segment, from a crash mid-write, was never acknowledged and is
+     * truncated. Returns the number of records applied.
+     */
+    long recover(ProductRecords.Handler handler) {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            long start = System.nanoTime();
+            long snapshotGeneration = latest(SNAPSHOT);
+            long records = 0;
+            if (snapshotGeneration > 0) {
+                records += ProductSnapshot.read(snapshot(snapshotGeneration), handler);
+            }
+            long snapshotMillis = (System.nanoTime() - start) / 1_000_000;
+            List<Long> segments = generations(SEGMENT).stream().filter(g -> g >= snapshotGeneration).toList();
+            long[] replayed = new long[1];
+            ProductRecords.Handler counting = ProductRecords.counting(handler, replayed);
+            for (Long segment : segments) {
+                try (FileChannel in = FileChannel.open(segment(segment), StandardOpenOption.READ)) {
+                    long end = ProductRecords.readAll(in, 0, counting);
+                    if (end < in.size()) {
+                        if (!segment.equals(segments.get(segments.size() - 1))) {
+                            throw new IOException("Journal segment " + segment(segment) + " is corrupt at offset " + end);
+                        }
+                        log.warn("Truncating torn record at offset {} of {}", end, segment(segment));
+                        try (FileChannel truncate = FileChannel.open(segment(segment), StandardOpenOption.WRITE)) {
+                            truncate.truncate(end);
+                        }
+                    }
+                }
+            }
+            records += replayed[0];
+            generation = segments.isEmpty() ? Math.max(1, snapshotGeneration) : segments.get(segments.size() - 1);
+            channel = openForAppend(segment(generation));
+            log.info("Recovered {} product records from {} ({} ms snapshot, {} ms for {} journal records)",
+                    records, directory, snapshotMillis, (System.nanoTime() - start) / 1_000_000 - snapshotMillis, replayed[0]);
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover product journal in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a check-append-apply sequence under the journal lock, so the order of records in the journal is the order
+     * in which they were applied, and no compaction can start between the append and the apply
+     */
+    public <T> T atomically(Supplier<T> operation) {
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the records written by the encoder, which must fit in {@code maxSize} bytes.
+     * Only valid inside {@link #atomically}. Returns once the records are durable under the fsync policy.
+     */
+    public void append(int maxSize, Consumer<ByteBuffer> encoder) {
+        if (!lock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Journal appends must run inside atomically()");
+        }
+        if (buffer.capacity() < maxSize) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(maxSize - 1) << 1);
+        }
+        buffer.clear();
+        encoder.accept(buffer);
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                channel.force(false);
+            } else {
+                unsynced = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to product journal " + segment(generation), e);
+        }
+    }
+
+    /**
+     * Group fsync for the BATCHED policy. The force runs outside the lock so writers are not blocked by the device.
+     */
+    @Scheduled(fixedDelayString = "${product.journal.fsync-interval-ms:50}")
+    public void sync() {
+        if (fsyncPolicy != FsyncPolicy.BATCHED) {
+            return;
+        }
+        FileChannel current;
+        lock.lock();
+        try {
+            if (!unsynced || channel == null) {
+                return;
+            }
+            current = channel;
+            unsynced = false;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            current.force(false);
+        } catch (ClosedChannelException e) {
+            // The segment was rolled, which forces it before closing
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync product journal", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.journal.compact-check-interval-ms:10000}")
+    public void compactIfNeeded() {
+        if (size() > compactThresholdBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Starts a new segment, snapshots the catalog as of that point and drops everything the snapshot supersedes
+     */
+    public void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long snapshotGeneration;
+            lock.lock();
+            try {
+                channel.force(false);
+                channel.close();
+                snapshotGeneration = ++generation;
+                channel = openForAppend(segment(generation));
+                unsynced = false;
+            } finally {
+                lock.unlock();
+            }
+            long count = ProductSnapshot.write(snapshot(snapshotGeneration), snapshotSource);
+            for (Long old : generations(SNAPSHOT)) {
+                if (old < snapshotGeneration) {
+                    Files.deleteIfExists(snapshot(old));
+                }
+            }
+            for (Long old : generations(SEGMENT)) {
+                if (old < snapshotGeneration) {
+                    Files.deleteIfExists(segment(old));
+                }
+            }
+            log.info("Compacted product journal into a snapshot of {} products in {} ms",
+                    count, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact product journal in " + directory, e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Bytes in the segment currently being appended to
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return channel == null ? 0 : channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path segment(long generation) {
+        return directory.resolve(String.format("journal-%016d.log", generation));
+    }
+
+    private Path snapshot(long generation) {
+        return directory.resolve(String.format("snapshot-%016d.bin", generation));
+    }
+
+    private long latest(Pattern pattern) throws IOException {
+        List<Long> generations = generations(pattern);
+        return generations.isEmpty() ? 0 : generations.get(generations.size() - 1);
+    }
+
+    private List<Long> generations(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static FileChannel openForAppend(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
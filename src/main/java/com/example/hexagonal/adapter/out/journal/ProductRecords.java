@@ -0,0 +1,270 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary encoding shared by the journal and the snapshot.
+ * Every record is framed as {@code [int bodyLength][int crc32c][body]}, and the body starts with a type byte:
+ * a full product ({@code PUT}), a deletion ({@code DELETE}) or a new absolute stock level ({@code STOCK}).
+ * All records are idempotent, so replaying a record that a snapshot already contains is harmless.
+ * Product and stock records end with the product's absolute version; records written before versions existed
+ * lack it and decode as version 0 ({@code PUT}) or as {@link #NO_VERSION} ({@code STOCK}).
+ */
+final class ProductRecords {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte STOCK = 3;
+
+    static final int FRAME_HEADER = 2 * Integer.BYTES;
+
+    /**
+     * Version of a stock record that did not carry one; the product keeps its current version
+     */
+    static final long NO_VERSION = -1;
+
+    private static final long MAX_WINDOW = 1L << 30;
+
+    /**
+     * Receives decoded records in log order
+     */
+    interface Handler {
+        void put(Product product);
+
+        void delete(String id);
+
+        void stock(String id, int stock, long version);
+    }
+
+    private ProductRecords() {
+    }
+
+    /**
+     * Wraps a handler so that every record it receives is added to {@code count[0]}
+     */
+    static Handler counting(Handler handler, long[] count) {
+        return new Handler() {
+            @Override
+            public void put(Product product) {
+                handler.put(product);
+                count[0]++;
+            }
+
+            @Override
+            public void delete(String id) {
+                handler.delete(id);
+                count[0]++;
+            }
+
+            @Override
+            public void stock(String id, int stock, long version) {
+                handler.stock(id, stock, version);
+                count[0]++;
+            }
+        };
+    }
+
+    static ByteBuffer put(ByteBuffer target, Product product) {
+        byte[] id = utf8(product.getId());
+        byte[] name = utf8(product.getName());
+        byte[] description = product.getDescription() == null ? null : utf8(product.getDescription());
+        byte[] unscaledPrice = unscaledBytes(product.getPrice().scaledAmount());
+        int bodyLength = 1 + sizeOf(id) + sizeOf(name) + sizeOf(description)
+                + Integer.BYTES + sizeOf(unscaledPrice) + Integer.BYTES + Long.BYTES;
+        ByteBuffer body = begin(target, bodyLength).put(PUT);
+        putBytes(body, id);
+        putBytes(body, name);
+        putBytes(body, description);
+        body.putInt(Money.SCALE);
+        putBytes(body, unscaledPrice);
+        body.putInt(product.getStock());
+        body.putLong(product.getVersion());
+        return end(target, body);
+    }
+
+    static ByteBuffer delete(ByteBuffer target, String id) {
+        byte[] bytes = utf8(id);
+        ByteBuffer body = begin(target, 1 + sizeOf(bytes)).put(DELETE);
+        putBytes(body, bytes);
+        return end(target, body);
+    }
+
+    static ByteBuffer stock(ByteBuffer target, String id, int stock, long version) {
+        byte[] bytes = utf8(id);
+        ByteBuffer body = begin(target, 1 + sizeOf(bytes) + Integer.BYTES + Long.BYTES).put(STOCK);
+        putBytes(body, bytes);
+        body.putInt(stock);
+        body.putLong(version);
+        return end(target, body);
+    }
+
+    /**
+     * Upper bound of the encoded size of a product record, frame included; a UTF-16 char takes at most 3 UTF-8 bytes
+     */
+    static int maxSizeOf(Product product) {
+        int chars = product.getId().length() + product.getName().length()
+                + (product.getDescription() == null ? 0 : product.getDescription().length());
+        return FRAME_HEADER + 1 + 6 * Integer.BYTES + Long.BYTES + 3 * chars + Long.BYTES;
+    }
+
+    /**
+     * Upper bound of the encoded size of a delete or stock record, frame included
+     */
+    static int maxSizeOf(String id) {
+        return FRAME_HEADER + 1 + 2 * Integer.BYTES + Long.BYTES + 3 * id.length();
+    }
+
+    /**
+     * Decodes the record at the buffer's position and advances past it.
+     * Returns false, leaving the position unchanged, if the remaining bytes do not hold a complete record with a
+     * valid checksum, which is what a write torn by a crash looks like.
+     */
+    static boolean read(ByteBuffer source, Handler handler) {
+        int start = source.position();
+        if (source.remaining() < FRAME_HEADER) {
+            return false;
+        }
+        int bodyLength = source.getInt(start);
+        int checksum = source.getInt(start + Integer.BYTES);
+        if (bodyLength <= 0 || bodyLength > source.remaining() - FRAME_HEADER) {
+            return false;
+        }
+        ByteBuffer body = source.slice(start + FRAME_HEADER, bodyLength);
+        if (crc(body) != checksum) {
+            return false;
+        }
+        try {
+            byte type = body.get();
+            String id = getString(body);
+            switch (type) {
+                case PUT -> {
+                    String name = getString(body);
+                    String description = getString(body);
+                    int scale = body.getInt();
+                    Money price = price(getBytes(body), scale);
+                    int stock = body.getInt();
+                    handler.put(new Product(id, name, description, price, stock,
+                            body.remaining() >= Long.BYTES ? body.getLong() : 0));
+                }
+                case DELETE -> handler.delete(id);
+                case STOCK -> {
+                    int stock = body.getInt();
+                    handler.stock(id, stock, body.remaining() >= Long.BYTES ? body.getLong() : NO_VERSION);
+                }
+                default -> {
+                    return false;
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+        source.position(start + FRAME_HEADER + bodyLength);
+        return true;
+    }
+
+    /**
+     * Memory-maps the file from {@code position} and decodes records until the end or the first incomplete record.
+     * Files larger than a mapping window are read through consecutive windows. Returns the offset just past the
+     * last complete record.
+     */
+    static long readAll(FileChannel channel, long position, Handler handler) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            long length = Math.min(size - position, MAX_WINDOW);
+            boolean last = position + length == size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            while (read(window, handler)) {
+                // decoded into the handler
+            }
+            position += window.position();
+            if (window.hasRemaining() && (last || window.position() == 0)) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private static ByteBuffer begin(ByteBuffer target, int bodyLength) {
+        target.putInt(bodyLength).putInt(0);
+        return target.slice(target.position(), bodyLength);
+    }
+
+    private static ByteBuffer end(ByteBuffer target, ByteBuffer body) {
+        body.flip();
+        target.putInt(target.position() - Integer.BYTES, crc(body));
+        target.position(target.position() + body.limit());
+        return target;
+    }
+
+    private static int crc(ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static void putBytes(ByteBuffer body, byte[] bytes) {
+        if (bytes == null) {
+            body.putInt(-1);
+        } else {
+            body.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return bytes;
+    }
+
+    private static String getString(ByteBuffer body) {
+        byte[] bytes = getBytes(body);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The scaled amount as the big-endian two's-complement bytes of {@link BigInteger#toByteArray()}, so prices
+     * keep the record layout of journals written when they were decimals
+     */
+    private static byte[] unscaledBytes(long value) {
+        byte[] bytes = new byte[(Long.SIZE - Long.numberOfLeadingZeros(value < 0 ? ~value : value)) / 8 + 1];
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>= 8;
+        }
+        return bytes;
+    }
+
+    private static Money price(byte[] unscaled, int scale) {
+        if (scale == Money.SCALE && unscaled.length <= Long.BYTES) {
+            long value = unscaled[0] < 0 ? -1 : 0;
+            for (byte b : unscaled) {
+                value = (value << 8) | (b & 0xff);
+            }
+            return new Money(value, Money.DEFAULT_CURRENCY);
+        }
+        return Money.of(new BigDecimal(new BigInteger(unscaled), scale));
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.domain.model.Product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Binary catalog snapshot: a {@code [int magic][int version][long count]} header followed by one PUT record per
+ * product in the {@link ProductRecords} encoding. A snapshot is written to a temporary file, synced and then
+ * atomically renamed, so a file under its final name is always complete. Loading memory-maps the file.
+ */
+final class ProductSnapshot {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER = 2 * Integer.BYTES + Long.BYTES;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private ProductSnapshot() {
+    }
+
+    /**
+     * Writes every product the source supplies and returns how many were written
+     */
+    static long write(Path path, Consumer<Consumer<Product>> source) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        long count;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SnapshotWriter writer = new SnapshotWriter(channel);
+            source.accept(writer);
+            writer.flush();
+            count = writer.count;
+            ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            writeFully(channel, header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Feeds every product in the snapshot to the handler and returns how many were read
+     */
+    static long read(Path path, ProductRecords.Handler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // read the fixed-size header
+            }
+            header.flip();
+            if (header.remaining() < HEADER || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a product snapshot: " + path);
+            }
+            long count = header.getLong();
+            long[] read = new long[1];
+            long end = ProductRecords.readAll(channel, HEADER, ProductRecords.counting(handler, read));
+            if (end != channel.size() || read[0] != count) {
+                throw new IOException("Product snapshot " + path + " is corrupt after " + read[0] + " of " + count + " products");
+            }
+            return count;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static final class SnapshotWriter implements Consumer<Product> {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+        private long position = HEADER;
+        private long count;
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void accept(Product product) {
+            int size = ProductRecords.maxSizeOf(product);
+            if (buffer.remaining() < size) {
+                flush();
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocateDirect(size);
+                }
+            }
+            ProductRecords.put(buffer, product);
+            count++;
+        }
+
+        void flush() {
+            buffer.flip();
+            try {
+                int length = buffer.remaining();
+                writeFully(channel, buffer, position);
+                position += length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hexagonal.adapter.out.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Shared timer definition for the port decorators
+ */
+final class ProductMetrics {
+
+    private ProductMetrics() {
+    }
+
+    /**
+     * Registers a timer publishing client-side p50/p95/p99 (HdrHistogram-backed, decaying over a sliding window)
+     * and a percentile histogram so percentiles can also be aggregated across instances in Prometheus.
+     */
+    static Timer timer(MeterRegistry registry, String name, String method, String... tags) {
+        return Timer.builder(name)
+                .tag("method", method)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
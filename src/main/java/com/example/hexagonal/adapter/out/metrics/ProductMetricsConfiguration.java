@@ -0,0 +1,70 @@
+package com.example.hexagonal.adapter.out.metrics;
+
+import com.example.hexagonal.application.service.StockReservationEngine;
+import com.example.hexagonal.domain.port.in.ProductService;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instruments every ProductService and ProductRepository bean with the timing decorators.
+ * Each repository bean is wrapped separately, so with the cache enabled both the cache layer and the
+ * persistence adapter behind it report their own latencies. Connection-pool (hikaricp.*), JVM and
+ * HTTP server meters come from Spring Boot's auto-configuration; everything is scraped at
+ * {@code /actuator/prometheus}. Set {@code product.metrics.enabled=false} to leave the ports unwrapped.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductMetricsConfiguration {
+
+    /**
+     * Static so that registering the post-processor does not instantiate this configuration early;
+     * the registry is resolved lazily for the same reason.
+     */
+    @Bean
+    public static BeanPostProcessor productPortMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ProductService service) {
+                    return new TimedProductService(service, registry.getObject());
+                }
+                if (bean instanceof ProductRepository repository) {
+                    return new TimedProductRepository(repository, registry.getObject(), beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Stock decrement conflicts in the in-memory engine: lost compare-and-set races on a hot counter and
+     * write-behinds the database rejected, and the units those rejections left oversold.
+     */
+    @Bean
+    public MeterBinder stockEngineMetrics(ObjectProvider<StockReservationEngine> stockEngine) {
+        return registry -> stockEngine.ifAvailable(engine -> {
+            FunctionCounter.builder("product.stock.conflicts", engine, StockReservationEngine::contendedReservations)
+                    .description("Hot-product reservations that lost a compare-and-set race and retried")
+                    .tag("type", "cas-retry")
+                    .register(registry);
+            FunctionCounter.builder("product.stock.conflicts", engine, StockReservationEngine::rejectedWriteBehinds)
+                    .description("Write-behind flushes rejected by the repository")
+                    .tag("type", "write-behind-rejected")
+                    .register(registry);
+            Gauge.builder("product.stock.hot.products", engine, StockReservationEngine::hotProductCount)
+                    .description("Products currently served from in-memory stock")
+                    .register(registry);
+            Gauge.builder("product.stock.oversold", engine, StockReservationEngine::oversoldUnits)
+                    .description("Acknowledged units the repository could not take, awaiting reconciliation")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.hexagonal.adapter.out.metrics;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Decorator timing every ProductRepository operation as {@code product.repository{method, repository}}.
+ * Timers are registered once up front and recorded with raw {@link System#nanoTime()} deltas,
+ * so a call allocates nothing beyond what the delegate does.
+ */
+public class TimedProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final Timer save;
+    private final Timer saveAll;
+    private final Timer insertAll;
+    private final Timer findById;
+    private final Timer findAllById;
+    private final Timer findAll;
+    private final Timer findPage;
+    private final Timer search;
+    private final Timer forEach;
+    private final Timer decreaseStock;
+    private final Timer increaseStock;
+    private final Timer deleteById;
+    private final Timer deleteAllById;
+    private final Timer existsById;
+
+    public TimedProductRepository(ProductRepository delegate, MeterRegistry registry, String repositoryName) {
+        this.delegate = delegate;
+        this.save = ProductMetrics.timer(registry, "product.repository", "save", "repository", repositoryName);
+        this.saveAll = ProductMetrics.timer(registry, "product.repository", "saveAll", "repository", repositoryName);
+        this.insertAll = ProductMetrics.timer(registry, "product.repository", "insertAll", "repository", repositoryName);
+        this.findById = ProductMetrics.timer(registry, "product.repository", "findById", "repository", repositoryName);
+        this.findAllById = ProductMetrics.timer(registry, "product.repository", "findAllById", "repository", repositoryName);
+        this.findAll = ProductMetrics.timer(registry, "product.repository", "findAll", "repository", repositoryName);
+        this.findPage = ProductMetrics.timer(registry, "product.repository", "findPage", "repository", repositoryName);
+        this.search = ProductMetrics.timer(registry, "product.repository", "search", "repository", repositoryName);
+        this.forEach = ProductMetrics.timer(registry, "product.repository", "forEach", "repository", repositoryName);
+        this.decreaseStock = ProductMetrics.timer(registry, "product.repository", "decreaseStock", "repository", repositoryName);
+        this.increaseStock = ProductMetrics.timer(registry, "product.repository", "increaseStock", "repository", repositoryName);
+        this.deleteById = ProductMetrics.timer(registry, "product.repository", "deleteById", "repository", repositoryName);
+        this.deleteAllById = ProductMetrics.timer(registry, "product.repository", "deleteAllById", "repository", repositoryName);
+        this.existsById = ProductMetrics.timer(registry, "product.repository", "existsById", "repository", repositoryName);
+    }
+
+    @Override
+    public Product save(Product product) {
+        long start = System.nanoTime();
+        try {
+            return delegate.save(product);
+        } finally {
+            save.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveAll(products);
+        } finally {
+            saveAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> insertAll(List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return delegate.insertAll(products);
+        } finally {
+            insertAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            findById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllById(ids);
+        } finally {
+            findAllById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAll();
+        } finally {
+            findAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPage(afterId, limit);
+        } finally {
+            findPage.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.search(query, after, limit);
+        } finally {
+            search.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<Product> action) {
+        long start = System.nanoTime();
+        try {
+            delegate.forEach(action);
+        } finally {
+            forEach.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.decreaseStock(id, quantity);
+        } finally {
+            decreaseStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.decreaseStock(id, quantity, expectedVersion);
+        } finally {
+            decreaseStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> increaseStock(String id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.increaseStock(id, quantity);
+        } finally {
+            increaseStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            deleteById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteAllById(ids);
+        } finally {
+            deleteAllById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.existsById(id);
+        } finally {
+            existsById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.hexagonal.adapter.out.metrics;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.model.ReservationRejection;
+import com.example.hexagonal.domain.port.in.ProductService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Decorator timing every ProductService use case as {@code product.service{method}} and counting
+ * stock decrements rejected for insufficient stock as {@code product.stock.rejections{reason=insufficient}}.
+ */
+public class TimedProductService implements ProductService {
+
+    private final ProductService delegate;
+    private final Timer createProduct;
+    private final Timer createProducts;
+    private final Timer getProductById;
+    private final Timer getAllProducts;
+    private final Timer getProductPage;
+    private final Timer searchProducts;
+    private final Timer streamAllProducts;
+    private final Timer updateProduct;
+    private final Timer updateProducts;
+    private final Timer deleteProduct;
+    private final Timer deleteProducts;
+    private final Timer decreaseStock;
+    private final Timer reserveStock;
+    private final Counter insufficientStock;
+
+    public TimedProductService(ProductService delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.createProduct = ProductMetrics.timer(registry, "product.service", "createProduct");
+        this.createProducts = ProductMetrics.timer(registry, "product.service", "createProducts");
+        this.getProductById = ProductMetrics.timer(registry, "product.service", "getProductById");
+        this.getAllProducts = ProductMetrics.timer(registry, "product.service", "getAllProducts");
+        this.getProductPage = ProductMetrics.timer(registry, "product.service", "getProductPage");
+        this.searchProducts = ProductMetrics.timer(registry, "product.service", "searchProducts");
+        this.streamAllProducts = ProductMetrics.timer(registry, "product.service", "streamAllProducts");
+        this.updateProduct = ProductMetrics.timer(registry, "product.service", "updateProduct");
+        this.updateProducts = ProductMetrics.timer(registry, "product.service", "updateProducts");
+        this.deleteProduct = ProductMetrics.timer(registry, "product.service", "deleteProduct");
+        this.deleteProducts = ProductMetrics.timer(registry, "product.service", "deleteProducts");
+        this.decreaseStock = ProductMetrics.timer(registry, "product.service", "decreaseStock");
+        this.reserveStock = ProductMetrics.timer(registry, "product.service", "reserveStock");
+        this.insufficientStock = Counter.builder("product.stock.rejections")
+                .description("Stock decrements rejected because the product had less stock than requested")
+                .tag("reason", "insufficient")
+                .register(registry);
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createProduct(product);
+        } finally {
+            createProduct.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> createProducts(List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createProducts(products);
+        } finally {
+            createProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Product> getProductById(String id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductById(id);
+        } finally {
+            getProductById.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllProducts();
+        } finally {
+            getAllProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public ProductPage getProductPage(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductPage(cursor, limit);
+        } finally {
+            getProductPage.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public ProductPage searchProducts(ProductQuery query, String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchProducts(query, cursor, limit);
+        } finally {
+            searchProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void streamAllProducts(Consumer<Product> consumer) {
+        long start = System.nanoTime();
+        try {
+            delegate.streamAllProducts(consumer);
+        } finally {
+            streamAllProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Product updateProduct(String id, Product product) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProduct(id, product);
+        } finally {
+            updateProduct.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Product updateProduct(String id, Product product, long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProduct(id, product, expectedVersion);
+        } finally {
+            updateProduct.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> updateProducts(List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProducts(products);
+        } finally {
+            updateProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void deleteProduct(String id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteProduct(id);
+        } finally {
+            deleteProduct.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Set<String> deleteProducts(Collection<String> ids) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteProducts(ids);
+        } finally {
+            deleteProducts.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Product decreaseStock(String id, Integer quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.decreaseStock(id, quantity);
+        } catch (InsufficientStockException e) {
+            insufficientStock.increment();
+            throw e;
+        } finally {
+            decreaseStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Product decreaseStock(String id, Integer quantity, long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.decreaseStock(id, quantity, expectedVersion);
+        } catch (InsufficientStockException e) {
+            insufficientStock.increment();
+            throw e;
+        } finally {
+            decreaseStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> reserveStock(List<ReservationLine> lines) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reserveStock(lines);
+        } catch (ReservationRejectedException e) {
+            if (e.getRejections().stream()
+                    .anyMatch(rejection -> rejection.getReason() == ReservationRejection.Reason.INSUFFICIENT_STOCK)) {
+                insufficientStock.increment();
+            }
+            throw e;
+        } finally {
+            reserveStock.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
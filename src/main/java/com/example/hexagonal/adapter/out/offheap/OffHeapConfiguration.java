@@ -0,0 +1,78 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the ProductRepository port from the off-heap store when the {@code offheap} profile is active.
+ * On startup the store is seeded from the persistence adapter; afterwards it is the primary repository and
+ * the persistence adapter is no longer written to, so this profile is meant for read replicas.
+ */
+@Configuration
+@Profile("offheap")
+public class OffHeapConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapConfiguration.class);
+    private static final int PRELOAD_BATCH = 1000;
+
+    /**
+     * Seeded directly rather than through the repository, so preloading publishes no change events
+     */
+    @Bean
+    public OffHeapProductStore offHeapProductStore(
+            @Qualifier("productRepositoryAdapter") ProductRepository source,
+            @Value("${product.offheap.initial-capacity:100000}") int initialCapacity,
+            @Value("${product.offheap.preload:true}") boolean preload) {
+        OffHeapProductStore store = new OffHeapProductStore(initialCapacity);
+        if (preload) {
+            long start = System.nanoTime();
+            List<Product> batch = new ArrayList<>(PRELOAD_BATCH);
+            source.forEach(product -> {
+                batch.add(product);
+                if (batch.size() == PRELOAD_BATCH) {
+                    store.putAll(batch);
+                    batch.clear();
+                }
+            });
+            store.putAll(batch);
+            log.info("Loaded {} products off-heap ({} bytes) in {} ms",
+                    store.size(), store.offHeapBytes(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return store;
+    }
+
+    @Bean
+    @Primary
+    public OffHeapProductRepository offHeapProductRepository(OffHeapProductStore store) {
+        return new OffHeapProductRepository(store);
+    }
+
+    /**
+     * Direct memory is invisible to the JVM heap gauges, so the store reports its own footprint
+     */
+    @Bean
+    public MeterBinder offHeapProductMetrics(OffHeapProductStore store) {
+        return registry -> {
+            Gauge.builder("product.offheap.bytes", store, OffHeapProductStore::offHeapBytes)
+                    .description("Direct memory held by the off-heap product store")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("product.offheap.products", store, OffHeapProductStore::size)
+                    .description("Products held by the off-heap product store")
+                    .register(registry);
+        };
+    }
+}
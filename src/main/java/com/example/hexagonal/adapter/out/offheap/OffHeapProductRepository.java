@@ -0,0 +1,97 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Output Adapter implementing the ProductRepository port on top of the {@link OffHeapProductStore}.
+ */
+public class OffHeapProductRepository implements ProductRepository {
+
+    private final OffHeapProductStore store;
+    public OffHeapProductRepository(OffHeapProductStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return store.update(List.of(product), true).get(0);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return store.update(products, false);
+    }
+
+    @Override
+    public List<Product> insertAll(List<Product> products) {
+        return saveAll(products);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return store.find(id);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return store.findAll(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return store.search(ProductQuery.all(), null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        return store.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        return store.search(query, after, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Product> action) {
+        store.forEach(action);
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        return store.decreaseStock(id, quantity);
+    }
+
+    @Override
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        return store.decreaseStock(id, quantity, expectedVersion);
+    }
+
+    @Override
+    public Optional<Product> increaseStock(String id, int quantity) {
+        return store.increaseStock(id, quantity);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        deleteAllById(List.of(id));
+    }
+
+    @Override
+    public void deleteAllById(Collection<String> ids) {
+        store.removeAll(ids);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.contains(id);
+    }
+}
@@ -0,0 +1,669 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Columnar product storage in direct memory. Each product occupies one slot across primitive columns: string references, the price as its
+ * {@link Money} scaled amount, the stock as an int and the version as a long. Names, descriptions and ids live in a
+ * deduplicated {@link StringArena}; an open-addressing table maps ids to slots. The heap holds only a
+ * handful of buffers and primitive arrays regardless of catalog size, and {@link Product} objects are
+ * created on read. Thread-safe behind a read-write lock; the data is not durable.
+ */
+public class OffHeapProductStore {
+
+    private static final int FOREACH_BATCH = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringArena strings = new StringArena();
+
+    private int capacity;
+    private int slotCount;
+    private int size;
+    private LongBuffer idRefs;
+    private LongBuffer nameRefs;
+    private LongBuffer descriptionRefs;
+    private LongBuffer prices;
+    private IntBuffer stocks;
+    private LongBuffer versions;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    /**
+     * Open-addressing id -> (slot + 1) table with linear probing; 0 marks an empty bucket
+     */
+    private IntBuffer idTable;
+    private int idTableMask;
+
+    /**
+     * Live slots ordered by id, rebuilt lazily after inserts and deletes
+     */
+    private int[] slotsById = new int[0];
+    private boolean slotsByIdStale;
+
+    public OffHeapProductStore(int initialCapacity) {
+        this.capacity = Math.max(16, initialCapacity);
+        this.idRefs = longColumn(capacity);
+        this.nameRefs = longColumn(capacity);
+        this.descriptionRefs = longColumn(capacity);
+        this.prices = longColumn(capacity);
+        this.stocks = intColumn(capacity);
+        this.versions = longColumn(capacity);
+        this.idTable = intColumn(tableCapacityFor(capacity));
+        this.idTableMask = idTable.capacity() - 1;
+    }
+
+    /**
+     * Inserts or replaces the products with the versions they carry; all of them are validated before any is written
+     */
+    public void putAll(List<Product> products) {
+        products.forEach(OffHeapProductStore::checkStorable);
+        lock.writeLock().lock();
+        try {
+            products.forEach(product -> put(product, product.getVersion()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts new products with the versions they carry and replaces stored ones, advancing their version.
+     * With {@code checkVersions}, throws ProductVersionConflictException without writing anything if a stored
+     * product is not at the version the given one carries. Returns the products as stored.
+     */
+    public List<Product> update(List<Product> products, boolean checkVersions) {
+        products.forEach(OffHeapProductStore::checkStorable);
+        lock.writeLock().lock();
+        try {
+            if (checkVersions) {
+                for (Product product : products) {
+                    int slot = slotOf(product.getId());
+                    if (slot >= 0 && versions.get(slot) != product.getVersion()) {
+                        throw new ProductVersionConflictException(product.getId(), product.getVersion());
+                    }
+                }
+            }
+            List<Product> stored = new ArrayList<>(products.size());
+            for (Product product : products) {
+                int slot = slotOf(product.getId());
+                stored.add(read(put(product, slot < 0 ? product.getVersion() : versions.get(slot) + 1)));
+            }
+            return stored;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Throws IllegalArgumentException if the product's price is not in the catalog currency, which the price
+     * column assumes
+     */
+    public static void checkStorable(Product product) {
+        scale(product.getPrice());
+    }
+
+    public Optional<Product> find(String id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> findAll(Collection<String> ids) {
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                int slot = slotOf(id);
+                if (slot >= 0) {
+                    products.add(read(slot));
+                }
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> findPage(String afterId, int limit) {
+        return search(ProductQuery.all(), afterId == null ? null : new ProductCursor(null, afterId), limit);
+    }
+
+    /**
+     * Id-ordered queries walk the sorted slot permutation; other orders scan the columns once and keep the
+     * best {@code limit} slots in a bounded heap, so no product outside the page is ever materialized.
+     */
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        Filter filter = new Filter(query);
+        lock.readLock().lock();
+        try {
+            if (query.getSort() == ProductSort.ID) {
+                return searchById(filter, after, query.isDescending(), limit);
+            }
+            return searchByKey(filter, query.getSort(), after, query.isDescending(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits the catalog in id order one batch at a time, releasing the lock between batches so that a slow
+     * consumer does not block writers
+     */
+    public void forEach(Consumer<Product> action) {
+        String afterId = null;
+        List<Product> batch;
+        do {
+            batch = findPage(afterId, FOREACH_BATCH);
+            batch.forEach(action);
+            afterId = batch.isEmpty() ? null : batch.get(batch.size() - 1).getId();
+        } while (batch.size() == FOREACH_BATCH);
+    }
+
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 ? Optional.empty() : decrement(slot, quantity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot < 0 || versions.get(slot) != expectedVersion ? Optional.empty() : decrement(slot, quantity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Product> increaseStock(String id, int quantity) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            stocks.put(slot, Math.addExact(stocks.get(slot), quantity));
+            versions.put(slot, versions.get(slot) + 1);
+            return Optional.of(read(slot));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return slotOf(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Direct memory held by the columns, the id table and the string arena
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) capacity * (5 * Long.BYTES + Integer.BYTES);
+            return columns + (long) idTable.capacity() * Integer.BYTES + strings.bytesUsed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- writes, called with the write lock held ---
+
+    private int put(Product product, long version) {
+        long scaledPrice = scale(product.getPrice());
+        int slot = slotOf(product.getId());
+        if (slot < 0) {
+            slot = allocateSlot();
+            idRefs.put(slot, strings.intern(product.getId()));
+            insertIntoIdTable(slot);
+            size++;
+            slotsByIdStale = true;
+        }
+        nameRefs.put(slot, strings.intern(product.getName()));
+        descriptionRefs.put(slot, strings.intern(product.getDescription()));
+        prices.put(slot, scaledPrice);
+        stocks.put(slot, product.getStock());
+        versions.put(slot, version);
+        return slot;
+    }
+
+    private Optional<Product> decrement(int slot, int quantity) {
+        if (stocks.get(slot) < quantity) {
+            return Optional.empty();
+        }
+        stocks.put(slot, stocks.get(slot) - quantity);
+        versions.put(slot, versions.get(slot) + 1);
+        return Optional.of(read(slot));
+    }
+
+    private void remove(String id) {
+        int bucket = bucketOf(id);
+        if (bucket < 0) {
+            return;
+        }
+        int slot = idTable.get(bucket) - 1;
+        deleteFromIdTable(bucket);
+        idRefs.put(slot, StringArena.NULL);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        size--;
+        slotsByIdStale = true;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == capacity) {
+            grow();
+        }
+        return slotCount++;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        idRefs = copy(idRefs, longColumn(newCapacity), slotCount);
+        nameRefs = copy(nameRefs, longColumn(newCapacity), slotCount);
+        descriptionRefs = copy(descriptionRefs, longColumn(newCapacity), slotCount);
+        prices = copy(prices, longColumn(newCapacity), slotCount);
+        stocks = intColumn(newCapacity).put(0, stocks, 0, slotCount);
+        versions = copy(versions, longColumn(newCapacity), slotCount);
+        capacity = newCapacity;
+        if (tableCapacityFor(capacity) > idTable.capacity()) {
+            idTable = intColumn(tableCapacityFor(capacity));
+            idTableMask = idTable.capacity() - 1;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (idRefs.get(slot) != StringArena.NULL) {
+                    insertIntoIdTable(slot);
+                }
+            }
+        }
+    }
+
+    private void insertIntoIdTable(int slot) {
+        int bucket = hash(strings.get(idRefs.get(slot))) & idTableMask;
+        while (idTable.get(bucket) != 0) {
+            bucket = (bucket + 1) & idTableMask;
+        }
+        idTable.put(bucket, slot + 1);
+    }
+
+    /**
+     * Backward-shift deletion: moves later entries of the probe run into the gap so lookups never need tombstones
+     */
+    private void deleteFromIdTable(int bucket) {
+        int gap = bucket;
+        int next = (gap + 1) & idTableMask;
+        while (idTable.get(next) != 0) {
+            int home = hash(strings.get(idRefs.get(idTable.get(next) - 1))) & idTableMask;
+            if (((next - home) & idTableMask) >= ((next - gap) & idTableMask)) {
+                idTable.put(gap, idTable.get(next));
+                gap = next;
+            }
+            next = (next + 1) & idTableMask;
+        }
+        idTable.put(gap, 0);
+    }
+
+    // --- reads, called with at least the read lock held ---
+
+    private int slotOf(String id) {
+        int bucket = bucketOf(id);
+        return bucket < 0 ? -1 : idTable.get(bucket) - 1;
+    }
+
+    private int bucketOf(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int bucket = hash(id) & idTableMask;
+        while (true) {
+            int entry = idTable.get(bucket);
+            if (entry == 0) {
+                return -1;
+            }
+            if (strings.equalsBytes(idRefs.get(entry - 1), bytes)) {
+                return bucket;
+            }
+            bucket = (bucket + 1) & idTableMask;
+        }
+    }
+
+    private Product read(int slot) {
+        return new Product(
+                strings.get(idRefs.get(slot)),
+                strings.get(nameRefs.get(slot)),
+                strings.get(descriptionRefs.get(slot)),
+                new Money(prices.get(slot), Money.DEFAULT_CURRENCY),
+                stocks.get(slot),
+                versions.get(slot));
+    }
+
+    private List<Product> searchById(Filter filter, ProductCursor after, boolean descending, int limit) {
+        int[] order = slotsById();
+        int position;
+        if (after == null) {
+            position = descending ? order.length - 1 : 0;
+        } else {
+            int insertion = lowerBound(order, after.getId().getBytes(StandardCharsets.UTF_8));
+            boolean found = insertion < order.length && strings.equalsBytes(idRefs.get(order[insertion]), after.getId().getBytes(StandardCharsets.UTF_8));
+            position = descending ? insertion - 1 : (found ? insertion + 1 : insertion);
+        }
+        List<Product> products = new ArrayList<>(Math.min(limit, 1024));
+        int step = descending ? -1 : 1;
+        for (; position >= 0 && position < order.length && products.size() < limit; position += step) {
+            int slot = order[position];
+            if (filter.matches(slot)) {
+                products.add(read(slot));
+            }
+        }
+        return products;
+    }
+
+    private List<Product> searchByKey(Filter filter, ProductSort sort, ProductCursor after, boolean descending, int limit) {
+        SlotComparator ascending = comparatorFor(sort);
+        SlotComparator order = descending ? (a, b) -> ascending.compare(b, a) : ascending;
+        KeyCursor cursor = after == null ? null : new KeyCursor(sort, after);
+        // Max-heap on the query order: the root is the worst of the best `limit` slots seen so far
+        int[] heap = new int[(int) Math.min(limit, (long) size) + 1];
+        int heapSize = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (idRefs.get(slot) == StringArena.NULL || !filter.matches(slot)) {
+                continue;
+            }
+            if (cursor != null && cursor.compare(slot, descending) <= 0) {
+                continue;
+            }
+            if (heapSize < heap.length - 1) {
+                heap[heapSize++] = slot;
+                siftUp(heap, heapSize - 1, order);
+            } else if (heapSize > 0 && order.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(heap, heapSize, order);
+            }
+        }
+        Integer[] sorted = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            sorted[i] = heap[i];
+        }
+        Arrays.sort(sorted, order::compare);
+        List<Product> products = new ArrayList<>(heapSize);
+        for (Integer slot : sorted) {
+            products.add(read(slot));
+        }
+        return products;
+    }
+
+    private SlotComparator comparatorFor(ProductSort sort) {
+        SlotComparator byKey = switch (sort) {
+            case NAME -> (a, b) -> strings.compare(nameRefs.get(a), nameRefs.get(b));
+            case PRICE -> (a, b) -> Long.compare(prices.get(a), prices.get(b));
+            case STOCK -> (a, b) -> Integer.compare(stocks.get(a), stocks.get(b));
+            case ID -> (a, b) -> 0;
+        };
+        return (a, b) -> {
+            int result = byKey.compare(a, b);
+            return result != 0 ? result : strings.compare(idRefs.get(a), idRefs.get(b));
+        };
+    }
+
+    /**
+     * The id permutation is re-sorted on the first ordered read after inserts or deletes. The caller holds
+     * the read lock, which cannot be upgraded, so the sort runs under a short-lived write lock and downgrades.
+     */
+    private int[] slotsById() {
+        if (!slotsByIdStale) {
+            return slotsById;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (slotsByIdStale) {
+                int[] order = new int[size];
+                int count = 0;
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (idRefs.get(slot) != StringArena.NULL) {
+                        order[count++] = slot;
+                    }
+                }
+                sortSlots(order, 0, count - 1, (a, b) -> strings.compare(idRefs.get(a), idRefs.get(b)));
+                slotsById = order;
+                slotsByIdStale = false;
+            }
+        } finally {
+            lock.readLock().lock();
+            lock.writeLock().unlock();
+        }
+        return slotsById;
+    }
+
+    private int lowerBound(int[] order, byte[] id) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (strings.compare(idRefs.get(order[middle]), id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Quicksort on primitive slots, so ordering millions of ids creates no boxed integers
+     */
+    private static void sortSlots(int[] slots, int low, int high, SlotComparator comparator) {
+        while (high - low > 16) {
+            int pivot = slots[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (comparator.compare(slots[i], pivot) < 0) {
+                    i++;
+                }
+                while (comparator.compare(slots[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = slots[i];
+                    slots[i++] = slots[j];
+                    slots[j--] = swap;
+                }
+            }
+            // Recurse into the smaller side to bound the stack depth
+            if (j - low < high - i) {
+                sortSlots(slots, low, j, comparator);
+                low = i;
+            } else {
+                sortSlots(slots, i, high, comparator);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int slot = slots[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(slots[j], slot) > 0) {
+                slots[j + 1] = slots[j];
+                j--;
+            }
+            slots[j + 1] = slot;
+        }
+    }
+
+    private static void siftUp(int[] heap, int index, SlotComparator order) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(heap[index], heap[parent]) <= 0) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[parent];
+            heap[parent] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, SlotComparator order) {
+        int index = 0;
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && order.compare(heap[left], heap[largest]) > 0) {
+                largest = left;
+            }
+            if (right < size && order.compare(heap[right], heap[largest]) > 0) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[largest];
+            heap[largest] = swap;
+            index = largest;
+        }
+    }
+
+    private static long scale(Money price) {
+        if (!price.currency().equals(Money.DEFAULT_CURRENCY)) {
+            throw new IllegalArgumentException("Prices must be in " + Money.DEFAULT_CURRENCY);
+        }
+        return price.scaledAmount();
+    }
+
+    private static int hash(String id) {
+        int hash = id.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableCapacityFor(int slots) {
+        return Integer.highestOneBit(Math.max(16, slots) - 1) << 2;
+    }
+
+    private static LongBuffer longColumn(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    private static IntBuffer intColumn(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static LongBuffer copy(LongBuffer from, LongBuffer to, int count) {
+        return to.put(0, from, 0, count);
+    }
+
+    @FunctionalInterface
+    private interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * The query's filters translated once into the stored representations
+     */
+    private final class Filter {
+        private final byte[] namePrefix;
+        private final long minPrice;
+        private final long maxPrice;
+        private final boolean availableOnly;
+
+        Filter(ProductQuery query) {
+            this.namePrefix = query.getNamePrefix() == null ? null : query.getNamePrefix().getBytes(StandardCharsets.UTF_8);
+            this.minPrice = query.getMinPrice() == null ? Long.MIN_VALUE : scale(query.getMinPrice());
+            this.maxPrice = query.getMaxPrice() == null ? Long.MAX_VALUE : scale(query.getMaxPrice());
+            this.availableOnly = query.isAvailableOnly();
+        }
+
+        boolean matches(int slot) {
+            long price = prices.get(slot);
+            return price >= minPrice && price <= maxPrice
+                    && (!availableOnly || stocks.get(slot) > 0)
+                    && (namePrefix == null || strings.startsWith(nameRefs.get(slot), namePrefix));
+        }
+    }
+
+    /**
+     * A keyset cursor translated into the stored representation of its sort key
+     */
+    private final class KeyCursor {
+        private final ProductSort sort;
+        private final long numericKey;
+        private final byte[] nameKey;
+        private final byte[] id;
+
+        KeyCursor(ProductSort sort, ProductCursor cursor) {
+            this.sort = sort;
+            this.id = cursor.getId().getBytes(StandardCharsets.UTF_8);
+            this.nameKey = sort == ProductSort.NAME ? ((String) cursor.getKey()).getBytes(StandardCharsets.UTF_8) : null;
+            this.numericKey = switch (sort) {
+                case PRICE -> scale((Money) cursor.getKey());
+                case STOCK -> (Integer) cursor.getKey();
+                default -> 0;
+            };
+        }
+
+        /**
+         * Position of the slot relative to the cursor in the query order: positive when it comes after
+         */
+        int compare(int slot, boolean descending) {
+            int byKey = switch (sort) {
+                case NAME -> strings.compare(nameRefs.get(slot), nameKey);
+                case PRICE -> Long.compare(prices.get(slot), numericKey);
+                case STOCK -> Integer.compare(stocks.get(slot), (int) numericKey);
+                case ID -> 0;
+            };
+            int result = byKey != 0 ? byKey : strings.compare(idRefs.get(slot), id);
+            return descending ? -result : result;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, deduplicated UTF-8 string storage in direct memory.
+ * Each string is stored once as {@code [int hash][int length][bytes]} and referred to by its offset;
+ * interning the same text again returns the existing offset. Space of strings that are no longer referenced
+ * is not reclaimed, which suits a read-mostly catalog where names and descriptions rarely change.
+ * Not thread-safe; guarded by the owning repository's lock.
+ */
+class StringArena {
+
+    static final long NULL = -1;
+
+    private static final int CHUNK_BITS = 26;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int HEADER = 2 * Integer.BYTES;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private long end;
+    /**
+     * Open-addressing dedup table of (offset + 1); 0 marks an empty bucket
+     */
+    private LongBuffer table;
+    private int tableMask;
+    private int count;
+
+    StringArena() {
+        table = allocateTable(1 << 16);
+        tableMask = (1 << 16) - 1;
+    }
+
+    long intern(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytes);
+        int bucket = hash & tableMask;
+        while (true) {
+            long entry = table.get(bucket);
+            if (entry == 0) {
+                break;
+            }
+            long offset = entry - 1;
+            if (readInt(offset) == hash && equalsBytes(offset, bytes)) {
+                return offset;
+            }
+            bucket = (bucket + 1) & tableMask;
+        }
+        long offset = append(hash, bytes);
+        table.put(bucket, offset + 1);
+        if (++count * 2 > table.capacity()) {
+            resize();
+        }
+        return offset;
+    }
+
+    String get(long offset) {
+        if (offset == NULL) {
+            return null;
+        }
+        int length = readInt(offset + Integer.BYTES);
+        byte[] bytes = new byte[length];
+        chunk(offset).get(position(offset) + HEADER, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    boolean equalsBytes(long offset, byte[] bytes) {
+        return readInt(offset + Integer.BYTES) == bytes.length && slice(offset).mismatch(ByteBuffer.wrap(bytes)) < 0;
+    }
+
+    boolean startsWith(long offset, byte[] prefix) {
+        if (readInt(offset + Integer.BYTES) < prefix.length) {
+            return false;
+        }
+        return slice(offset).limit(prefix.length).mismatch(ByteBuffer.wrap(prefix)) < 0;
+    }
+
+    /**
+     * Compares two stored strings by their UTF-8 bytes, i.e. in code point order
+     */
+    int compare(long a, long b) {
+        return a == b ? 0 : compareUnsigned(slice(a), slice(b));
+    }
+
+    int compare(long offset, byte[] bytes) {
+        return compareUnsigned(slice(offset), ByteBuffer.wrap(bytes));
+    }
+
+    long bytesUsed() {
+        return end + (long) table.capacity() * Long.BYTES;
+    }
+
+    private ByteBuffer slice(long offset) {
+        int length = readInt(offset + Integer.BYTES);
+        return chunk(offset).slice(position(offset) + HEADER, length);
+    }
+
+    /**
+     * ByteBuffer.compareTo compares signed bytes, which would sort non-ASCII text before ASCII
+     */
+    private static int compareUnsigned(ByteBuffer a, ByteBuffer b) {
+        int mismatch = a.mismatch(b);
+        if (mismatch < 0) {
+            return 0;
+        }
+        if (mismatch == a.remaining() || mismatch == b.remaining()) {
+            return Integer.compare(a.remaining(), b.remaining());
+        }
+        return Integer.compare(Byte.toUnsignedInt(a.get(mismatch)), Byte.toUnsignedInt(b.get(mismatch)));
+    }
+
+    private long append(int hash, byte[] bytes) {
+        int size = HEADER + bytes.length;
+        if (size > CHUNK_SIZE) {
+            throw new IllegalArgumentException("String too large for the off-heap store");
+        }
+        if (chunks.isEmpty() || position(end) + size > CHUNK_SIZE) {
+            end = (long) chunks.size() << CHUNK_BITS;
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.nativeOrder()));
+        }
+        long offset = end;
+        ByteBuffer chunk = chunk(offset);
+        int position = position(offset);
+        chunk.putInt(position, hash);
+        chunk.putInt(position + Integer.BYTES, bytes.length);
+        chunk.put(position + HEADER, bytes);
+        end += size;
+        return offset;
+    }
+
+    private void resize() {
+        LongBuffer old = table;
+        table = allocateTable(old.capacity() * 2);
+        tableMask = table.capacity() - 1;
+        for (int i = 0; i < old.capacity(); i++) {
+            long entry = old.get(i);
+            if (entry != 0) {
+                int bucket = readInt(entry - 1) & tableMask;
+                while (table.get(bucket) != 0) {
+                    bucket = (bucket + 1) & tableMask;
+                }
+                table.put(bucket, entry);
+            }
+        }
+    }
+
+    private int readInt(long offset) {
+        return chunk(offset).getInt(position(offset));
+    }
+
+    private ByteBuffer chunk(long offset) {
+        return chunks.get((int) (offset >>> CHUNK_BITS));
+    }
+
+    private static int position(long offset) {
+        return (int) (offset & (CHUNK_SIZE - 1));
+    }
+
+    private static LongBuffer allocateTable(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    static int hash(byte[] bytes) {
+        int hash = 0x811c9dc5;
+        for (byte b : bytes) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
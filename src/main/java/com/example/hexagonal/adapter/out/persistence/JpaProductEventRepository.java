@@ -0,0 +1,29 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository for the product event outbox
+ */
+@Repository
+public interface JpaProductEventRepository extends JpaRepository<ProductEventEntity, Long> {
+
+    List<ProductEventEntity> findByFeedOffsetIsNullOrderByIdAsc(Limit limit);
+
+    List<ProductEventEntity> findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(Long feedOffset, Limit limit);
+
+    @Query("SELECT MAX(e.feedOffset) FROM ProductEventEntity e")
+    Long findMaxFeedOffset();
+
+    @Modifying
+    @Query("DELETE FROM ProductEventEntity e WHERE e.feedOffset IS NOT NULL AND e.occurredAt < :cutoff")
+    int deleteSequencedBefore(@Param("cutoff") Instant cutoff);
+}
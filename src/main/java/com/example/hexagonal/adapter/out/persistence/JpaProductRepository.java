@@ -1,11 +1,89 @@
 package com.example.hexagonal.adapter.out.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Spring Data JPA Repository
+ * The listing queries are marked cacheable in the {@value #LISTING_CACHE_REGION} region; the hint only takes
+ * effect when the query cache is enabled.
  */
 @Repository
 public interface JpaProductRepository extends JpaRepository<ProductEntity, String> {
+
+    String LISTING_CACHE_REGION = "product-listings";
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LISTING_CACHE_REGION)
+    })
+    List<ProductEntity> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LISTING_CACHE_REGION)
+    })
+    List<ProductEntity> findAllByOrderByIdAsc(Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LISTING_CACHE_REGION)
+    })
+    List<ProductEntity> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    /**
+     * Batch lookup by ID. Unlike the inherited {@code findAllById}, which builds a fresh criteria query on every
+     * call, the JPQL is parsed once and its plan reused.
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.id IN :ids")
+    List<ProductEntity> findByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Forward-only, read-only cursor over the whole table.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.id")
+    Stream<ProductEntity> streamAllOrderById();
+
+    /**
+     * Conditional in-place decrement; the row lock taken by the UPDATE serializes concurrent writers.
+     * Returns the number of rows updated (0 when the product is missing or short of stock).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStock(@Param("id") String id, @Param("quantity") int quantity);
+
+    /**
+     * Conditional decrement that also requires the row to still be at the given version.
+     * Returns the number of rows updated (0 when the product is missing, short of stock or at another version).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stock >= :quantity AND p.version = :version")
+    int decrementStockAtVersion(@Param("id") String id, @Param("quantity") int quantity, @Param("version") long version);
+
+    /**
+     * Atomically add to a product's stock.
+     * Returns the number of rows updated (0 when the product is missing).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock + :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int incrementStock(@Param("id") String id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,33 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Spring Data JPA Repository for stock holds
+ */
+@Repository
+public interface JpaStockHoldRepository extends JpaRepository<StockHoldEntity, String> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM StockHoldEntity h")
+    Stream<StockHoldEntity> streamAll();
+
+    /**
+     * Returns the number of rows deleted, so concurrent callers can tell which one removed the hold
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StockHoldEntity h WHERE h.id = :id")
+    int deleteHold(@Param("id") String id);
+}
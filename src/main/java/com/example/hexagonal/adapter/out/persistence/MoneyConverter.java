@@ -0,0 +1,31 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores a {@link Money} in the decimal price columns, which are declared with {@link Money#SCALE} decimal places
+ * so every amount Money accepts is stored without rounding. The currency is not stored: every price in the catalog
+ * is in {@link Money#DEFAULT_CURRENCY}.
+ * Money is immutable, which lets Hibernate keep the loaded instance as its dirty-checking snapshot instead of
+ * copying it through a decimal.
+ */
+@Converter
+@Mutability(Immutability.class)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return Money.of(amount);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Money;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.java.ImmutableMutabilityPlan;
+
+import java.math.BigDecimal;
+
+/**
+ * Tells Hibernate that {@link Money} is immutable. Without it Money, being Serializable, would be treated as a
+ * mutable value and deep-copied through Java serialization each time an entity holding one is merged.
+ * Registered on {@link ProductEntity}; the columns themselves are mapped by {@link MoneyConverter}.
+ */
+public class MoneyJavaType extends AbstractClassJavaType<Money> {
+
+    public MoneyJavaType() {
+        super(Money.class, ImmutableMutabilityPlan.instance());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(Money value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (Money.class.isAssignableFrom(type)) {
+            return (X) value;
+        }
+        if (BigDecimal.class.isAssignableFrom(type)) {
+            return (X) value.toBigDecimal();
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> Money wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Money money) {
+            return money;
+        }
+        if (value instanceof BigDecimal amount) {
+            return Money.of(amount);
+        }
+        throw unknownWrap(value.getClass());
+    }
+}
@@ -1,37 +1,74 @@
 package com.example.hexagonal.adapter.out.persistence;
 
+import com.example.hexagonal.domain.model.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
-
-import java.math.BigDecimal;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaTypeRegistration;
+import org.springframework.data.domain.Persistable;
 
 /**
  * JPA Entity for Product
  * This is part of the persistence adapter and should not be exposed to the domain.
+ * Implements Persistable so that entities known to be new are persisted directly instead of being merged,
+ * which would otherwise cost a SELECT per row because the ID is assigned by the domain.
+ * Each sortable column is indexed together with the id, matching the (key, id) order of keyset pagination,
+ * so filtered and sorted listings are answered by an index range scan without a sort step.
+ * The price is kept as the domain {@link Money} and converted only when it is written to or read from its column;
+ * MoneyJavaType, registered here for every entity, marks it immutable so merges share the instance.
+ * The version column makes every entity update conditional on the version that was read; the bulk stock
+ * updates in JpaProductRepository advance it explicitly.
+ * Rows are cached in the {@value #CACHE_REGION} second-level cache region when the {@code l2cache} profile turns
+ * the cache on; otherwise the annotation has no effect.
  */
 @Entity
-@Table(name = "products")
-public class ProductEntity {
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_name", columnList = "name, id"),
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_stock", columnList = "stock, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductEntity.CACHE_REGION)
+@JavaTypeRegistration(javaType = Money.class, descriptorClass = MoneyJavaType.class)
+public class ProductEntity implements Persistable<String> {
+
+    public static final String CACHE_REGION = "products";
 
     @Id
     private String id;
     private String name;
     private String description;
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 38, scale = Money.SCALE)
+    private Money price;
     private Integer stock;
+    @Version
+    private long version;
+
+    @Transient
+    private boolean isNew;
 
     public ProductEntity() {
     }
 
-    public ProductEntity(String id, String name, String description, BigDecimal price, Integer stock) {
+    public ProductEntity(String id, String name, String description, Money price, Integer stock, long version) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.price = price;
         this.stock = stock;
+        this.version = version;
     }
 
+    @Override
     public String getId() {
         return id;
     }
@@ -56,11 +93,11 @@ public class ProductEntity {
         this.description = description;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
@@ -71,4 +108,23 @@ public class ProductEntity {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public void markNew() {
+        this.isNew = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
@@ -0,0 +1,111 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.ProductEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity for the product event outbox.
+ * The id only orders events by insertion; the change-feed offset is assigned later by the dispatcher, because
+ * ids of concurrent transactions can become visible out of order and a reader resuming after an id could skip
+ * an event that commits late. Ids come from a pooled sequence so that outbox inserts join the JDBC batch.
+ */
+@Entity
+@Table(name = "product_events", indexes = {
+        @Index(name = "idx_product_events_offset", columnList = "feedOffset", unique = true)
+})
+public class ProductEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_events_seq")
+    @SequenceGenerator(name = "product_events_seq", sequenceName = "product_events_seq", allocationSize = 50)
+    private Long id;
+    private Long feedOffset;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductEventType type;
+    @Column(nullable = false)
+    private String productId;
+    private String name;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 38, scale = Money.SCALE)
+    private Money price;
+    @Convert(converter = MoneyConverter.class)
+    @Column(precision = 38, scale = Money.SCALE)
+    private Money previousPrice;
+    private Integer stock;
+    private Integer quantity;
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public ProductEventEntity() {
+    }
+
+    public ProductEventEntity(ProductEventType type, String productId, String name, Money price,
+                              Money previousPrice, Integer stock, Integer quantity, Instant occurredAt) {
+        this.type = type;
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.previousPrice = previousPrice;
+        this.stock = stock;
+        this.quantity = quantity;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getFeedOffset() {
+        return feedOffset;
+    }
+
+    public void setFeedOffset(Long feedOffset) {
+        this.feedOffset = feedOffset;
+    }
+
+    public ProductEventType getType() {
+        return type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public Money getPreviousPrice() {
+        return previousPrice;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
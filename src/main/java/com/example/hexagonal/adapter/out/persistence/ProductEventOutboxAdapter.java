@@ -0,0 +1,77 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Implements the ProductEventOutbox port with a table in the product database, so appends join the
+ * transaction of the ProductRepository write they describe.
+ */
+@Component
+public class ProductEventOutboxAdapter implements ProductEventOutbox {
+
+    private final JpaProductEventRepository jpaProductEventRepository;
+
+    public ProductEventOutboxAdapter(JpaProductEventRepository jpaProductEventRepository) {
+        this.jpaProductEventRepository = jpaProductEventRepository;
+    }
+
+    @Override
+    @Transactional
+    public void append(List<ProductEvent> events) {
+        jpaProductEventRepository.saveAll(events.stream().map(ProductEventOutboxAdapter::toEntity).toList());
+    }
+
+    /**
+     * Only one dispatcher may sequence at a time; offsets continue from the highest one assigned so far.
+     * The offset index is unique, so a second dispatcher that read the same maximum fails instead of reusing offsets.
+     */
+    @Override
+    @Transactional
+    public List<ProductEvent> sequencePending(int limit) {
+        List<ProductEventEntity> pending = jpaProductEventRepository.findByFeedOffsetIsNullOrderByIdAsc(Limit.of(limit));
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        Long maxOffset = jpaProductEventRepository.findMaxFeedOffset();
+        long next = maxOffset == null ? 1 : maxOffset + 1;
+        List<ProductEvent> sequenced = new ArrayList<>(pending.size());
+        for (ProductEventEntity entity : pending) {
+            entity.setFeedOffset(next++);
+            sequenced.add(toDomain(entity));
+        }
+        return sequenced;
+    }
+
+    @Override
+    public List<ProductEvent> findAfter(long offset, int limit) {
+        return jpaProductEventRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(offset, Limit.of(limit)).stream()
+                .map(ProductEventOutboxAdapter::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int deleteSequencedBefore(Instant cutoff) {
+        return jpaProductEventRepository.deleteSequencedBefore(cutoff);
+    }
+
+    private static ProductEventEntity toEntity(ProductEvent event) {
+        return new ProductEventEntity(event.getType(), event.getProductId(), event.getName(), event.getPrice(),
+                event.getPreviousPrice(), event.getStock(), event.getQuantity(), event.getOccurredAt());
+    }
+
+    private static ProductEvent toDomain(ProductEventEntity entity) {
+        return new ProductEvent(entity.getFeedOffset(), entity.getType(), entity.getProductId(), entity.getName(),
+                entity.getPrice(), entity.getPreviousPrice(), entity.getStock(), entity.getQuantity(),
+                entity.getOccurredAt());
+    }
+}
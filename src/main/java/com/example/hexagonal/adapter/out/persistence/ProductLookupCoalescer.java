@@ -0,0 +1,208 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Product;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent product lookups by ID into as few database queries as possible.
+ * Callers asking for an ID that is already being loaded wait for that load instead of starting their own
+ * (single flight). Lookups for different IDs that arrive while another query is running are collected for up to
+ * {@code window-us} and loaded together with one {@code WHERE id IN (...)} query of at most
+ * {@code max-batch-size} IDs. When no query is running the lookup is sent straight away, so an idle
+ * application pays no batching delay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.read-coalescing", name = "enabled", havingValue = "true")
+public class ProductLookupCoalescer implements MeterBinder {
+
+    private final Function<List<String>, List<Product>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<Product>>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private List<String> pending = new ArrayList<>();
+    private final AtomicInteger runningQueries = new AtomicInteger();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    @Autowired
+    public ProductLookupCoalescer(
+            JpaProductRepository jpaProductRepository,
+            @Value("${product.read-coalescing.window-us:200}") long windowMicros,
+            @Value("${product.read-coalescing.max-batch-size:100}") int maxBatchSize) {
+        this(ids -> load(jpaProductRepository, ids), windowMicros, maxBatchSize);
+    }
+
+    ProductLookupCoalescer(Function<List<String>, List<Product>> loader, long windowMicros, int maxBatchSize) {
+        this.loader = loader;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the product with the given ID, sharing the query with concurrent lookups.
+     * The result is a fresh copy for every caller, since products are mutable.
+     */
+    public Optional<Product> findById(String id) {
+        lookups.increment();
+        CompletableFuture<Optional<Product>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<Product>> existing = inFlight.putIfAbsent(id, flight);
+        if (existing != null) {
+            joined.increment();
+            return await(existing);
+        }
+
+        List<String> batch = null;
+        boolean leader;
+        synchronized (lock) {
+            pending.add(id);
+            // The first ID of a batch dispatches it once the window has passed, unless it fills up first
+            leader = pending.size() == 1;
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            }
+        }
+        if (batch != null) {
+            load(batch);
+        } else if (leader) {
+            if (runningQueries.get() > 0) {
+                LockSupport.parkNanos(windowNanos);
+            }
+            synchronized (lock) {
+                batch = takePending();
+            }
+            if (!batch.isEmpty()) {
+                load(batch);
+            }
+        }
+        return await(flight);
+    }
+
+    /**
+     * Lookups requested, including those that joined a load already in flight
+     */
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * Lookups answered by a load another caller had already started for the same ID
+     */
+    public long joinedLookups() {
+        return joined.sum();
+    }
+
+    /**
+     * Database queries actually issued
+     */
+    public long queries() {
+        return queries.sum();
+    }
+
+    /**
+     * Lookups served per database query; 1 means nothing was coalesced
+     */
+    public double coalescingRatio() {
+        long issued = queries.sum();
+        return issued == 0 ? 1.0 : (double) lookups.sum() / issued;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.read.coalescing.lookups", this, ProductLookupCoalescer::lookups)
+                .description("Product lookups by ID sent through the coalescer")
+                .register(registry);
+        FunctionCounter.builder("product.read.coalescing.joined", this, ProductLookupCoalescer::joinedLookups)
+                .description("Product lookups that shared a query already in flight for the same ID")
+                .register(registry);
+        FunctionCounter.builder("product.read.coalescing.queries", this, ProductLookupCoalescer::queries)
+                .description("Database queries issued for product lookups by ID")
+                .register(registry);
+        Gauge.builder("product.read.coalescing.ratio", this, ProductLookupCoalescer::coalescingRatio)
+                .description("Product lookups served per database query")
+                .register(registry);
+    }
+
+    private List<String> takePending() {
+        List<String> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    /**
+     * Each ID leaves the in-flight map before its future completes, so a lookup arriving after the query
+     * returned starts a new one instead of reading a result that may predate a later write.
+     */
+    private void load(List<String> ids) {
+        queries.increment();
+        runningQueries.incrementAndGet();
+        try {
+            Map<String, Product> found = loader.apply(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            for (String id : ids) {
+                inFlight.remove(id).complete(Optional.ofNullable(found.get(id)));
+            }
+        } catch (RuntimeException e) {
+            for (String id : ids) {
+                CompletableFuture<Optional<Product>> flight = inFlight.remove(id);
+                if (flight != null) {
+                    flight.completeExceptionally(e);
+                }
+            }
+        } finally {
+            runningQueries.decrementAndGet();
+        }
+    }
+
+    /**
+     * A batch of one, the usual case when lookups do not overlap, is loaded by primary key rather than with an
+     * IN query, which costs several times as much for a single row.
+     */
+    private static List<Product> load(JpaProductRepository jpaProductRepository, List<String> ids) {
+        if (ids.size() == 1) {
+            return jpaProductRepository.findById(ids.get(0)).map(ProductMapper::toDomain).stream().toList();
+        }
+        return jpaProductRepository.findByIdIn(ids).stream()
+                .map(ProductMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    private static Optional<Product> await(CompletableFuture<Optional<Product>> flight) {
+        try {
+            return flight.join().map(ProductLookupCoalescer::copy);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getVersion());
+    }
+}
@@ -13,17 +13,35 @@ public class ProductMapper {
                 product.getName(),
                 product.getDescription(),
                 product.getPrice(),
-                product.getStock()
+                product.getStock(),
+                product.getVersion()
         );
     }
 
+    public static ProductEntity toNewEntity(Product product) {
+        ProductEntity entity = toEntity(product);
+        entity.markNew();
+        return entity;
+    }
+
+    /**
+     * Copies the product's fields but not its version, which the persistence context keeps for the managed entity
+     */
+    public static void copyToEntity(Product product, ProductEntity entity) {
+        entity.setName(product.getName());
+        entity.setDescription(product.getDescription());
+        entity.setPrice(product.getPrice());
+        entity.setStock(product.getStock());
+    }
+
     public static Product toDomain(ProductEntity entity) {
         return new Product(
                 entity.getId(),
                 entity.getName(),
                 entity.getDescription(),
                 entity.getPrice(),
-                entity.getStock()
+                entity.getStock(),
+                entity.getVersion()
         );
     }
 }
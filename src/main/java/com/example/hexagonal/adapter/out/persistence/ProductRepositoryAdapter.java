@@ -1,54 +1,322 @@
 package com.example.hexagonal.adapter.out.persistence;
 
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
 import com.example.hexagonal.domain.port.out.ProductRepository;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Output Adapter (Secondary Adapter / Driven Adapter)
  * Implements the ProductRepository port using JPA.
  * Translates domain operations into database operations.
+ * Lookups by ID outside a read-write transaction go through the ProductLookupCoalescer when it is enabled.
+ * Listings run in read-only transactions: entities are loaded without dirty-checking snapshots and the
+ * session is never flushed.
  */
 @Component
 public class ProductRepositoryAdapter implements ProductRepository {
 
     private final JpaProductRepository jpaProductRepository;
+    private final EntityManager entityManager;
+    private final ProductLookupCoalescer lookupCoalescer;
+    private final int batchSize;
 
-    public ProductRepositoryAdapter(JpaProductRepository jpaProductRepository) {
+    public ProductRepositoryAdapter(
+            JpaProductRepository jpaProductRepository,
+            EntityManager entityManager,
+            @Nullable ProductLookupCoalescer lookupCoalescer,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.jpaProductRepository = jpaProductRepository;
+        this.entityManager = entityManager;
+        this.lookupCoalescer = lookupCoalescer;
+        this.batchSize = batchSize;
     }
 
+    /**
+     * Flushes right away so that a stale version surfaces here, inside the caller's attempt, rather than when
+     * the surrounding transaction commits.
+     */
     @Override
     public Product save(Product product) {
         ProductEntity entity = ProductMapper.toEntity(product);
-        ProductEntity saved = jpaProductRepository.save(entity);
-        return ProductMapper.toDomain(saved);
+        Product saved;
+        try {
+            saved = ProductMapper.toDomain(jpaProductRepository.saveAndFlush(entity));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ProductVersionConflictException(product.getId(), product.getVersion());
+        }
+        return saved;
     }
 
+    /**
+     * Loads the existing rows of each chunk with one IN query, updates them in place (dirty checking),
+     * persists the rest, then flushes the chunk as one JDBC batch and clears the persistence context.
+     */
+    @Override
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        for (List<Product> chunk : chunks(products)) {
+            Map<String, ProductEntity> existing = jpaProductRepository.findByIdIn(ids(chunk)).stream()
+                    .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+            List<ProductEntity> entities = new ArrayList<>(chunk.size());
+            for (Product product : chunk) {
+                ProductEntity entity = existing.get(product.getId());
+                if (entity != null) {
+                    ProductMapper.copyToEntity(product, entity);
+                } else {
+                    entity = ProductMapper.toNewEntity(product);
+                    entityManager.persist(entity);
+                }
+                entities.add(entity);
+            }
+            entityManager.flush();
+            // Read back after the flush, which has advanced the versions of the updated rows
+            entities.forEach(entity -> saved.add(ProductMapper.toDomain(entity)));
+            entityManager.clear();
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Product> insertAll(List<Product> products) {
+        for (List<Product> chunk : chunks(products)) {
+            for (Product product : chunk) {
+                entityManager.persist(ProductMapper.toNewEntity(product));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return List.copyOf(products);
+    }
+
+    /**
+     * Inside a read-write transaction the lookup stays on the transaction's connection, so it sees the
+     * transaction's own writes; the coalescer loads on whichever caller's thread dispatches the batch.
+     */
     @Override
     public Optional<Product> findById(String id) {
+        if (lookupCoalescer != null && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return lookupCoalescer.findById(id);
+        }
         return jpaProductRepository.findById(id)
                 .map(ProductMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllById(Collection<String> ids) {
+        return jpaProductRepository.findByIdIn(ids).stream()
+                .map(ProductMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Product> findAll() {
         return jpaProductRepository.findAll().stream()
                 .map(ProductMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findPage(String afterId, int limit) {
+        List<ProductEntity> entities = afterId == null
+                ? jpaProductRepository.findAllByOrderByIdAsc(Limit.of(limit))
+                : jpaProductRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+        return entities.stream()
+                .map(ProductMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the query with the Criteria API so that only the requested filters appear in the SQL.
+     * The keyset condition {@code (key, id) > (:key, :id)} is written as {@code key >= :key AND (key > :key OR id > :id)}:
+     * the redundant leading range lets the database seek into the (key, id) index instead of scanning it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> search(ProductQuery query, ProductCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductEntity> criteria = cb.createQuery(ProductEntity.class);
+        Root<ProductEntity> root = criteria.from(ProductEntity.class);
+        Path<String> id = root.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (query.getNamePrefix() != null) {
+            predicates.add(cb.like(root.get("name"), escapeLike(query.getNamePrefix()) + "%", '\\'));
+        }
+        if (query.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.getMinPrice()));
+        }
+        if (query.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.getMaxPrice()));
+        }
+        if (query.isAvailableOnly()) {
+            predicates.add(cb.greaterThan(root.get("stock"), 0));
+        }
+
+        boolean descending = query.isDescending();
+        List<Order> orders = new ArrayList<>();
+        switch (query.getSort()) {
+            case ID -> {
+                if (after != null) {
+                    predicates.add(descending ? cb.lessThan(id, after.getId()) : cb.greaterThan(id, after.getId()));
+                }
+            }
+            case NAME -> keyset(cb, root.get("name"), id, (String) key(after), after, descending, predicates, orders);
+            case PRICE -> keyset(cb, root.get("price"), id, (Money) key(after), after, descending, predicates, orders);
+            case STOCK -> keyset(cb, root.get("stock"), id, (Integer) key(after), after, descending, predicates, orders);
+        }
+        orders.add(descending ? cb.desc(id) : cb.asc(id));
+
+        criteria.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+        return entityManager.createQuery(criteria)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, JpaProductRepository.LISTING_CACHE_REGION)
+                .getResultList().stream()
+                .map(ProductMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Product> action) {
+        try (Stream<ProductEntity> entities = jpaProductRepository.streamAllOrderById()) {
+            entities.forEach(entity -> {
+                // Detach each row once mapped so the persistence context does not grow with the catalog
+                entityManager.detach(entity);
+                action.accept(ProductMapper.toDomain(entity));
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<Product> decreaseStock(String id, int quantity) {
+        if (jpaProductRepository.decrementStock(id, quantity) == 0) {
+            return Optional.empty();
+        }
+        // Same transaction: the row is still locked by the update, so this read sees exactly our result
+        return reload(id);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Product> decreaseStock(String id, int quantity, long expectedVersion) {
+        if (jpaProductRepository.decrementStockAtVersion(id, quantity, expectedVersion) == 0) {
+            return Optional.empty();
+        }
+        return reload(id);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Product> increaseStock(String id, int quantity) {
+        if (jpaProductRepository.incrementStock(id, quantity) == 0) {
+            return Optional.empty();
+        }
+        return reload(id);
+    }
+
     @Override
     public void deleteById(String id) {
         jpaProductRepository.deleteById(id);
     }
 
+    @Override
+    @Transactional
+    public void deleteAllById(Collection<String> ids) {
+        List<String> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            jpaProductRepository.deleteAllByIdInBatch(idList.subList(from, Math.min(from + batchSize, idList.size())));
+        }
+    }
+
     @Override
     public boolean existsById(String id) {
         return jpaProductRepository.existsById(id);
     }
+
+    /**
+     * Reads back a row changed by a bulk update. The second-level cache only drops the stale entry once the
+     * transaction completes, so the read goes to the database.
+     */
+    private Optional<Product> reload(String id) {
+        return Optional.ofNullable(entityManager.find(ProductEntity.class, id,
+                        Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)))
+                .map(ProductMapper::toDomain);
+    }
+
+    private static <T extends Comparable<? super T>> void keyset(
+            CriteriaBuilder cb, Path<T> key, Path<String> id, T afterKey, ProductCursor after, boolean descending,
+            List<Predicate> predicates, List<Order> orders) {
+        if (after != null) {
+            if (descending) {
+                predicates.add(cb.lessThanOrEqualTo(key, afterKey));
+                predicates.add(cb.or(cb.lessThan(key, afterKey), cb.lessThan(id, after.getId())));
+            } else {
+                predicates.add(cb.greaterThanOrEqualTo(key, afterKey));
+                predicates.add(cb.or(cb.greaterThan(key, afterKey), cb.greaterThan(id, after.getId())));
+            }
+        }
+        orders.add(descending ? cb.desc(key) : cb.asc(key));
+    }
+
+    private static Object key(ProductCursor after) {
+        return after == null ? null : after.getKey();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private List<List<Product>> chunks(List<Product> products) {
+        List<List<Product>> chunks = new ArrayList<>();
+        for (int from = 0; from < products.size(); from += batchSize) {
+            chunks.add(products.subList(from, Math.min(from + batchSize, products.size())));
+        }
+        return chunks;
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Wires the Hibernate second-level and query caches for the {@code l2cache} profile.
+ * The regions live in a local Caffeine JCache manager that is created here rather than discovered by
+ * Hibernate, so every region has an explicit size: {@value ProductEntity#CACHE_REGION} for product rows,
+ * {@value JpaProductRepository#LISTING_CACHE_REGION} for listing query results, and Hibernate's default query
+ * and update-timestamp regions. Hibernate fails on any other region instead of creating an unbounded one.
+ */
+@Configuration
+@Profile("l2cache")
+public class SecondLevelCacheConfiguration {
+
+    static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${product.l2cache.products.max-size:100000}") long productsMaxSize,
+            @Value("${product.l2cache.products.ttl:10m}") Duration productsTtl,
+            @Value("${product.l2cache.queries.max-size:1000}") long queriesMaxSize,
+            @Value("${product.l2cache.queries.ttl:1m}") Duration queriesTtl) {
+        // A manager of its own per application context, so contexts sharing a JVM never share regions
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("product-l2cache-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(ProductEntity.CACHE_REGION, region(productsMaxSize, productsTtl));
+        cacheManager.createCache(JpaProductRepository.LISTING_CACHE_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, region(queriesMaxSize, queriesTtl));
+        // One entry per table; it must never be evicted while cached query results depend on it
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(-1, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes hit, miss and put counters per region as {@code cache.*} meters tagged with the region name
+     * and {@code layer=hibernate}
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region), Tags.of("layer", "hibernate"));
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize >= 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * JPA Entity for StockHold.
+ * Persistable for the same reason as ProductEntity: hold IDs are assigned by the domain.
+ */
+@Entity
+@Table(name = "stock_holds")
+public class StockHoldEntity implements Persistable<String> {
+
+    @Id
+    private String id;
+    @Column(nullable = false)
+    private String productId;
+    private int quantity;
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Transient
+    private boolean isNew;
+
+    public StockHoldEntity() {
+    }
+
+    public StockHoldEntity(String id, String productId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.isNew = true;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.StockHold;
+import com.example.hexagonal.domain.port.out.StockHoldRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Implements the StockHoldRepository port with a table next to the products, so placing a hold and
+ * decrementing the stock commit together.
+ */
+@Component
+public class StockHoldRepositoryAdapter implements StockHoldRepository {
+
+    private final JpaStockHoldRepository jpaStockHoldRepository;
+    private final EntityManager entityManager;
+
+    public StockHoldRepositoryAdapter(JpaStockHoldRepository jpaStockHoldRepository, EntityManager entityManager) {
+        this.jpaStockHoldRepository = jpaStockHoldRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void save(StockHold hold) {
+        jpaStockHoldRepository.save(new StockHoldEntity(hold.getId(), hold.getProductId(), hold.getQuantity(),
+                hold.getExpiresAt()));
+    }
+
+    @Override
+    public Optional<StockHold> findById(String id) {
+        return jpaStockHoldRepository.findById(id).map(StockHoldRepositoryAdapter::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteById(String id) {
+        return jpaStockHoldRepository.deleteHold(id) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<StockHold> action) {
+        try (Stream<StockHoldEntity> entities = jpaStockHoldRepository.streamAll()) {
+            entities.forEach(entity -> {
+                entityManager.detach(entity);
+                action.accept(toDomain(entity));
+            });
+        }
+    }
+
+    private static StockHold toDomain(StockHoldEntity entity) {
+        return new StockHold(entity.getId(), entity.getProductId(), entity.getQuantity(), entity.getExpiresAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hexagonal.adapter.out.r2dbc;
+
+import com.example.hexagonal.domain.port.out.ReactiveProductRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Wires the R2DBC adapter for the {@code reactive} profile.
+ * The connection pool is deliberately not exposed as a {@code ConnectionFactory} bean: Spring Boot backs off
+ * its JDBC DataSource as soon as one exists, and the blocking JPA adapter must keep working alongside.
+ */
+@Configuration
+@Profile("reactive")
+public class R2dbcConfiguration implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfiguration(
+            @Value("${product.r2dbc.url:r2dbc:h2:mem:///productdb}") String url,
+            @Value("${product.r2dbc.username:sa}") String username,
+            @Value("${product.r2dbc.password:}") String password,
+            @Value("${product.r2dbc.pool.max-size:20}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public ReactiveProductRepository r2dbcProductRepositoryAdapter() {
+        DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+        TransactionalOperator transactionalOperator =
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+        return new R2dbcProductRepositoryAdapter(databaseClient, transactionalOperator);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.hexagonal.adapter.out.r2dbc;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ReactiveProductRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Output Adapter (Secondary Adapter / Driven Adapter)
+ * Implements the ReactiveProductRepository port with R2DBC against the same {@code products} table
+ * used by the JPA adapter.
+ * Saves are conditional on the product's version, like the JPA adapter's optimistic locking, and every write
+ * advances it.
+ */
+public class R2dbcProductRepositoryAdapter implements ReactiveProductRepository {
+
+    private static final String COLUMNS = "id, name, description, price, stock, version";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public R2dbcProductRepositoryAdapter(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Updates the stored product if it is still at the given version, otherwise inserts it.
+     * A product that exists at another version, or is inserted concurrently, fails with a version conflict.
+     */
+    @Override
+    public Mono<Product> save(Product product) {
+        Mono<Product> save = bind(databaseClient.sql("UPDATE products SET name = :name, description = :description, "
+                        + "price = :price, stock = :stock, version = version + 1 WHERE id = :id AND version = :version"),
+                product)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(withVersion(product, product.getVersion() + 1))
+                        : insert(product));
+        return transactionalOperator.transactional(save);
+    }
+
+    @Override
+    public Mono<Product> findById(String id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcProductRepositoryAdapter::toDomain)
+                .one();
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM products ORDER BY id")
+                .map(R2dbcProductRepositoryAdapter::toDomain)
+                .all();
+    }
+
+    @Override
+    public Mono<Product> decreaseStock(String id, int quantity) {
+        Mono<Product> decrement = databaseClient
+                .sql("UPDATE products SET stock = stock - :quantity, version = version + 1 "
+                        + "WHERE id = :id AND stock >= :quantity")
+                .bind("quantity", quantity)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 0 ? Mono.empty() : findById(id));
+        return transactionalOperator.transactional(decrement);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return databaseClient.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return databaseClient.sql("SELECT 1 FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private Mono<Product> insert(Product product) {
+        return existsById(product.getId())
+                .flatMap(exists -> exists
+                        ? Mono.error(new ProductVersionConflictException(product.getId(), product.getVersion()))
+                        : bind(databaseClient.sql("INSERT INTO products (" + COLUMNS + ") "
+                                + "VALUES (:id, :name, :description, :price, :stock, :version)"), product)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(product))
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ProductVersionConflictException(product.getId(), product.getVersion()));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Product product) {
+        spec = spec
+                .bind("id", product.getId())
+                .bind("name", product.getName())
+                .bind("price", product.getPrice().toBigDecimal())
+                .bind("stock", product.getStock())
+                .bind("version", product.getVersion());
+        return product.getDescription() == null
+                ? spec.bindNull("description", String.class)
+                : spec.bind("description", product.getDescription());
+    }
+
+    private static Product withVersion(Product product, long version) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), version);
+    }
+
+    private static Product toDomain(Readable row) {
+        return new Product(
+                row.get("id", String.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                Money.of(row.get("price", BigDecimal.class)),
+                row.get("stock", Integer.class),
+                row.get("version", Long.class)
+        );
+    }
+}
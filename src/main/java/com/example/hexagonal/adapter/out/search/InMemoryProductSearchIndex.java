@@ -0,0 +1,396 @@
+package com.example.hexagonal.adapter.out.search;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductSearchIndex;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Output Adapter implementing the ProductSearchIndex port with an in-process inverted index.
+ * Names and descriptions are tokenized (lower-cased, accents stripped, split on non-alphanumerics) into
+ * a sorted term dictionary, so prefix queries are a range scan. Fuzzy matching accepts terms within a
+ * bounded edit distance, counting a swap of adjacent letters as one edit; candidates come from a trigram index
+ * over the dictionary, so only terms sharing enough trigrams with the query are compared. Matches are ranked with BM25,
+ * name terms weighing more than description terms, and exact matches ranking above prefix and fuzzy ones.
+ */
+@Component
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final float FUZZY_BOOST = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int GRAM = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Index current = new Index();
+    /**
+     * Writes made while a rebuild streams its source, by product id; an empty value records a removal
+     */
+    private Map<String, Optional<Product>> writtenDuringRebuild;
+
+    @Override
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            current.add(product);
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.put(product.getId(), Optional.of(product));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            current.remove(id);
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.put(id, Optional.empty());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> search(String text, int limit) {
+        List<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return current.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh index off to the side, without holding the lock while the source streams, and swaps it in
+     * with a single assignment. Writes that arrive meanwhile still go to the live index and are also noted;
+     * they are replayed onto the new index just before the swap, so the (possibly older) rows streamed from
+     * the source never overwrite them.
+     */
+    @Override
+    public int rebuild(Consumer<Consumer<Product>> source) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                writtenDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Index rebuilt = new Index();
+                source.accept(rebuilt::add);
+                lock.writeLock().lock();
+                try {
+                    writtenDuringRebuild.forEach((id, product) ->
+                            product.ifPresentOrElse(rebuilt::add, () -> rebuilt.remove(id)));
+                    current = rebuilt;
+                    return rebuilt.size();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    writtenDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Edit distance counting insertions, deletions, substitutions and adjacent transpositions (optimal string
+     * alignment), abandoned as soon as it must exceed {@code max}; returns {@code max + 1} in that case
+     */
+    static int boundedEditDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    row[j] = Math.min(row[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = row;
+            row = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static int allowedEdits(String term) {
+        if (term.length() < 4) {
+            return 0;
+        }
+        return term.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Distinct trigrams of the term padded with two boundary markers on each side, so short terms and their
+     * first and last letters are represented too
+     */
+    static Set<String> trigrams(String term) {
+        String padded = "\u0000\u0000" + term + "\u0001\u0001";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * One generation of the index. Not thread-safe on its own; the live generation is guarded by the enclosing
+     * lock, and a generation being rebuilt is confined to the rebuilding thread until it is swapped in.
+     */
+    private static final class Index {
+        /**
+         * term -> (product id -> field-weighted term frequency)
+         */
+        private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+        /**
+         * trigram -> terms of the dictionary containing it
+         */
+        private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+        private final Map<String, Document> documents = new HashMap<>();
+        private double totalLength;
+
+        void add(Product product) {
+            remove(product.getId());
+            Map<String, Float> frequencies = new HashMap<>();
+            for (String token : tokenize(product.getName())) {
+                frequencies.merge(token, NAME_WEIGHT, Float::sum);
+            }
+            for (String token : tokenize(product.getDescription())) {
+                frequencies.merge(token, DESCRIPTION_WEIGHT, Float::sum);
+            }
+            float length = 0;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), this::addTerm).put(product.getId(), entry.getValue());
+                length += entry.getValue();
+            }
+            documents.put(product.getId(), new Document(frequencies.keySet().toArray(String[]::new), length));
+            totalLength += length;
+        }
+
+        void remove(String id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Map<String, Float> docs = postings.get(term);
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                    removeTerm(term);
+                }
+            }
+            totalLength -= document.length;
+        }
+
+        private Map<String, Float> addTerm(String term) {
+            for (String gram : trigrams(term)) {
+                trigramTerms.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+            }
+            return new HashMap<>();
+        }
+
+        private void removeTerm(String term) {
+            for (String gram : trigrams(term)) {
+                Set<String> terms = trigramTerms.get(gram);
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    trigramTerms.remove(gram);
+                }
+            }
+        }
+
+        int size() {
+            return documents.size();
+        }
+
+        /**
+         * A product matches when every query term matches one of its terms exactly, as a prefix or fuzzily.
+         * Its score is the sum over query terms of the best boosted BM25 score among the matching expansions.
+         */
+        List<String> search(List<String> queryTerms, int limit) {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / documents.size();
+            Map<String, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<String, Double> termScores = new HashMap<>();
+                for (Map.Entry<String, Float> expansion : expand(queryTerm).entrySet()) {
+                    Map<String, Float> docs = postings.get(expansion.getKey());
+                    double idf = Math.log(1 + (documents.size() - docs.size() + 0.5) / (docs.size() + 0.5));
+                    for (Map.Entry<String, Float> posting : docs.entrySet()) {
+                        if (scores != null && !scores.containsKey(posting.getKey())) {
+                            continue;
+                        }
+                        double tf = posting.getValue();
+                        double length = documents.get(posting.getKey()).length;
+                        double score = expansion.getValue() * idf * tf * (K1 + 1)
+                                / (tf + K1 * (1 - B + B * length / averageLength));
+                        termScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                if (scores != null) {
+                    Map<String, Double> previous = scores;
+                    termScores.replaceAll((id, score) -> score + previous.get(id));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return top(scores, limit);
+        }
+
+        private Map<String, Float> expand(String queryTerm) {
+            Map<String, Float> expansions = new HashMap<>();
+            if (postings.containsKey(queryTerm)) {
+                expansions.put(queryTerm, 1.0f);
+            }
+            int added = 0;
+            for (String term : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).keySet()) {
+                if (added++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(term, PREFIX_BOOST);
+            }
+            int maxEdits = allowedEdits(queryTerm);
+            if (maxEdits > 0) {
+                for (String term : fuzzyCandidates(queryTerm, maxEdits)) {
+                    if (!expansions.containsKey(term) && boundedEditDistance(queryTerm, term, maxEdits) <= maxEdits) {
+                        expansions.put(term, FUZZY_BOOST);
+                    }
+                }
+            }
+            return expansions;
+        }
+
+        /**
+         * Terms that can be within {@code maxEdits} of the query. An edit touches at most {@code GRAM + 1}
+         * padded trigrams (a transposition spans two positions), so a match keeps all but
+         * {@code (GRAM + 1) * maxEdits} of the query's distinct trigrams; with the lengths allowedEdits permits,
+         * that always leaves at least one, so terms sharing none can be skipped without comparing them.
+         */
+        private List<String> fuzzyCandidates(String queryTerm, int maxEdits) {
+            Set<String> grams = trigrams(queryTerm);
+            int required = Math.max(1, grams.size() - (GRAM + 1) * maxEdits);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String term : trigramTerms.getOrDefault(gram, Set.of())) {
+                    if (Math.abs(term.length() - queryTerm.length()) <= maxEdits) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+            List<String> candidates = new ArrayList<>();
+            shared.forEach((term, count) -> {
+                if (count >= required) {
+                    candidates.add(term);
+                }
+            });
+            return candidates;
+        }
+
+        private static List<String> top(Map<String, Double> scores, int limit) {
+            Comparator<Map.Entry<String, Double>> byRelevance = Map.Entry.<String, Double>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+            PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(byRelevance);
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                best.offer(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<String> ids = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ids.add(best.poll().getKey());
+            }
+            return ids.reversed();
+        }
+    }
+
+    private record Document(String[] terms, float length) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hexagonal.adapter.out.search;
+
+import com.example.hexagonal.domain.model.ProductsChangedEvent;
+import com.example.hexagonal.domain.port.out.ProductSearchIndex;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies committed product writes to the search index.
+ * Runs after commit, or immediately for writes made outside a transaction, so rolled-back changes never become searchable.
+ */
+@Component
+public class ProductSearchIndexUpdater {
+
+    private final ProductSearchIndex searchIndex;
+
+    public ProductSearchIndexUpdater(ProductSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        event.getSaved().forEach(searchIndex::index);
+        event.getDeletedIds().forEach(searchIndex::remove);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Application Component: runs a product write in its own transaction and repeats it when it loses an optimistic
+ * concurrency race. Every attempt re-reads the product, so a retry applies the write on top of whatever the
+ * competing writer committed. Between attempts it backs off exponentially from {@code initial-backoff} up to
+ * {@code max-backoff} with full jitter, so writers that collided do not collide again in lockstep.
+ */
+@Component
+public class ConflictRetry implements MeterBinder {
+
+    private final TransactionOperations transactions;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public ConflictRetry(
+            TransactionOperations transactions,
+            @Value("${product.writes.conflict-retry.max-attempts:3}") int maxAttempts,
+            @Value("${product.writes.conflict-retry.initial-backoff:5ms}") Duration initialBackoff,
+            @Value("${product.writes.conflict-retry.max-backoff:100ms}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("product.writes.conflict-retry.max-attempts must be at least 1");
+        }
+        this.transactions = transactions;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * A single attempt without a transaction of its own, for callers constructed outside Spring
+     */
+    static ConflictRetry none() {
+        return new ConflictRetry(TransactionOperations.withoutTransaction(), 1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Runs the write, retrying it on a version conflict until {@code max-attempts} is used up.
+     * The last conflict is rethrown.
+     */
+    public <T> T execute(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(status -> write.get());
+            } catch (ProductVersionConflictException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retried.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Runs the write once in its own transaction. Used for conditional writes, where a conflict means the
+     * client's copy is stale and retrying would only overwrite the change it has not seen.
+     */
+    public <T> T executeOnce(Supplier<T> write) {
+        return transactions.execute(status -> write.get());
+    }
+
+    /**
+     * Conflicts that were retried
+     */
+    public long retriedConflicts() {
+        return retried.sum();
+    }
+
+    /**
+     * Conflicts still unresolved after the last attempt
+     */
+    public long exhaustedConflicts() {
+        return exhausted.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.writes.conflicts", this, ConflictRetry::retriedConflicts)
+                .description("Product writes that lost an optimistic concurrency race")
+                .tag("outcome", "retried")
+                .register(registry);
+        FunctionCounter.builder("product.writes.conflicts", this, ConflictRetry::exhaustedConflicts)
+                .description("Product writes that lost an optimistic concurrency race")
+                .tag("outcome", "exhausted")
+                .register(registry);
+    }
+
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        if (ceiling > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+}
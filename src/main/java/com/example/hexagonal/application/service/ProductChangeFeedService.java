@@ -0,0 +1,27 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.in.ProductChangeFeed;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Application Service (Use Case Implementation)
+ * Implements the ProductChangeFeed input port by reading sequenced events back from the outbox.
+ */
+@Service
+public class ProductChangeFeedService implements ProductChangeFeed {
+
+    private final ProductEventOutbox outbox;
+
+    public ProductChangeFeedService(ProductEventOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public List<ProductEvent> changesAfter(long offset, int limit) {
+        return outbox.findAfter(offset, limit);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import com.example.hexagonal.domain.port.out.ProductEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Application Component: moves committed events from the outbox to the publishers.
+ * Each batch is sequenced and published in one transaction, so a publisher failure rolls the offsets back and
+ * the same batch is retried on the next run: delivery is at-least-once, and consumers deduplicate by offset.
+ * Offsets are assigned here rather than when the events are written, so the change feed only ever grows at
+ * its end even when producing transactions commit out of order.
+ */
+@Component
+public class ProductEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductEventDispatcher.class);
+
+    private final ProductEventOutbox outbox;
+    private final ObjectProvider<ProductEventPublisher> publishers;
+    private final TransactionOperations transactions;
+    private final int batchSize;
+    private final Duration retention;
+
+    public ProductEventDispatcher(
+            ProductEventOutbox outbox,
+            ObjectProvider<ProductEventPublisher> publishers,
+            TransactionOperations transactions,
+            @Value("${product.events.batch-size:500}") int batchSize,
+            @Value("${product.events.retention:7d}") Duration retention) {
+        this.outbox = outbox;
+        this.publishers = publishers;
+        this.transactions = transactions;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Drains the outbox batch by batch until it is empty or a publisher fails.
+     * Returns the number of events dispatched.
+     */
+    @Scheduled(fixedDelayString = "${product.events.dispatch-interval-ms:200}")
+    public int dispatch() {
+        int dispatched = 0;
+        while (true) {
+            int count;
+            try {
+                count = transactions.execute(status -> dispatchBatch());
+            } catch (RuntimeException e) {
+                log.warn("Publishing product events failed; the batch will be retried", e);
+                return dispatched;
+            }
+            dispatched += count;
+            if (count < batchSize) {
+                return dispatched;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = transactions.execute(status -> outbox.deleteSequencedBefore(Instant.now().minus(retention)));
+        if (purged > 0) {
+            log.debug("Purged {} product events older than {}", purged, retention);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<ProductEvent> events = outbox.sequencePending(batchSize);
+        if (!events.isEmpty()) {
+            publishers.orderedStream().forEach(publisher -> publisher.publish(events));
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductSearchService;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.ProductSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Application Service for full-text search.
+ * The index ranks product IDs; the products themselves are always read from the repository,
+ * so results never show data the index has not caught up with yet.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+
+    public ProductSearchServiceImpl(ProductRepository productRepository, ProductSearchIndex searchIndex) {
+        this.productRepository = productRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public List<Product> search(String text, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive");
+        }
+        List<String> ids = searchIndex.search(text, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Keep the index's ranking; IDs deleted since they were indexed are dropped
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int rebuildIndex() {
+        long start = System.nanoTime();
+        int indexed = searchIndex.rebuild(productRepository::forEach);
+        log.info("Rebuilt product search index with {} products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        return indexed;
+    }
+
+    @Override
+    public int indexedProductCount() {
+        return searchIndex.size();
+    }
+
+    /**
+     * The index lives in memory, so it is built from the repository once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        rebuildIndex();
+    }
+}
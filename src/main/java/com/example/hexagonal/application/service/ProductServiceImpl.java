@@ -1,34 +1,107 @@
 package com.example.hexagonal.application.service;
 
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductsChangedEvent;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.model.ReservationRejection;
 import com.example.hexagonal.domain.port.in.ProductService;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
 import com.example.hexagonal.domain.port.out.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Application Service (Use Case Implementation)
  * Implements the input port (ProductService) and uses the output port (ProductRepository).
  * Contains the business logic and orchestrates the domain objects.
+ * Every write appends the resulting domain events to the outbox in the same transaction, and writes that change
+ * catalog data also publish a {@link ProductsChangedEvent} for derived data such as the search index.
+ * Unconditional single-product updates are retried by {@link ConflictRetry} when they lose a version race;
+ * conditional ones fail with a {@link ProductVersionConflictException} instead.
  */
 @Service
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final StockReservationEngine stockEngine;
+    private final ProductEventOutbox eventOutbox;
+    private final ConflictRetry conflictRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductServiceImpl(ProductRepository productRepository) {
+        this(productRepository, null, null);
+    }
+
+    public ProductServiceImpl(ProductRepository productRepository, StockReservationEngine stockEngine,
+                              ProductEventOutbox eventOutbox) {
+        this(productRepository, stockEngine, eventOutbox, ConflictRetry.none(), null);
+    }
+
+    /**
+     * The stock engine, the outbox and the event publisher are optional; without the engine every stock decrement
+     * goes straight to the repository, without the outbox no events are recorded, and without the publisher no
+     * change events are published.
+     */
+    @Autowired
+    public ProductServiceImpl(ProductRepository productRepository, @Nullable StockReservationEngine stockEngine,
+                              @Nullable ProductEventOutbox eventOutbox, ConflictRetry conflictRetry,
+                              @Nullable ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.stockEngine = stockEngine;
+        this.eventOutbox = eventOutbox;
+        this.conflictRetry = conflictRetry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product created = productRepository.save(product);
+        record(List.of(ProductEvent.created(created)));
+        publish(ProductsChangedEvent.saved(List.of(created)));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Product> createProducts(List<Product> products) {
+        // Products built by the domain get fresh UUIDs, so they can be inserted without an existence check
+        List<Product> created = productRepository.insertAll(products);
+        record(created.stream().map(ProductEvent::created).toList());
+        publish(ProductsChangedEvent.saved(created));
+        return created;
     }
 
     @Override
     public Optional<Product> getProductById(String id) {
+        if (stockEngine != null) {
+            Optional<Product> hot = stockEngine.findHot(id);
+            if (hot.isPresent()) {
+                return hot;
+            }
+        }
         return productRepository.findById(id);
     }
 
@@ -37,34 +110,272 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * An unfiltered search in ID order, so its cursors are the search cursors for {@link ProductQuery#all()}
+     */
+    @Override
+    public ProductPage getProductPage(String cursor, int limit) {
+        return searchProducts(ProductQuery.all(), cursor, limit);
+    }
+
+    /**
+     * Limits above {@link ProductPage#MAX_LIMIT} are clamped to it; one row more than the limit is fetched to learn
+     * whether another page follows without a count query.
+     */
+    @Override
+    public ProductPage searchProducts(ProductQuery query, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        int pageSize = Math.min(limit, ProductPage.MAX_LIMIT);
+        ProductCursor after = cursor == null ? null : ProductCursor.decode(query.getSort(), cursor);
+        List<Product> products = productRepository.search(query, after, pageSize + 1);
+        if (products.size() <= pageSize) {
+            return new ProductPage(products, null);
+        }
+        List<Product> page = products.subList(0, pageSize);
+        String nextCursor = ProductCursor.after(query.getSort(), page.get(pageSize - 1)).encode(query.getSort());
+        return new ProductPage(page, nextCursor);
+    }
+
+    @Override
+    public void streamAllProducts(Consumer<Product> consumer) {
+        productRepository.forEach(consumer);
+    }
+
+    /**
+     * Not transactional itself: every attempt runs in its own transaction, so a retry starts from fresh state
+     */
     @Override
     public Product updateProduct(String id, Product product) {
-        return productRepository.findById(id)
-                .map(existingProduct -> {
-                    existingProduct.setName(product.getName());
-                    existingProduct.setDescription(product.getDescription());
-                    existingProduct.setPrice(product.getPrice());
-                    existingProduct.updateStock(product.getStock());
-                    return productRepository.save(existingProduct);
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+        return conflictRetry.execute(() -> applyUpdate(id, product, null));
+    }
+
+    @Override
+    public Product updateProduct(String id, Product product, long expectedVersion) {
+        return conflictRetry.executeOnce(() -> applyUpdate(id, product, expectedVersion));
+    }
+
+    @Override
+    @Transactional
+    public List<Product> updateProducts(List<Product> products) {
+        List<String> ids = products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+        Map<String, Product> existing = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> updated = new ArrayList<>();
+        for (Product product : products) {
+            Product existingProduct = existing.get(product.getId());
+            if (existingProduct == null) {
+                continue;
+            }
+            demoteHotStock(product.getId());
+            existingProduct.setName(product.getName());
+            existingProduct.setDescription(product.getDescription());
+            existingProduct.setPrice(product.getPrice());
+            existingProduct.updateStock(product.getStock());
+            updated.add(existingProduct);
+        }
+        List<Product> saved = productRepository.saveAll(updated);
+        record(updated.stream().flatMap(product -> product.pullEvents().stream()).toList());
+        publish(ProductsChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteProduct(String id) {
         if (!productRepository.existsById(id)) {
             throw new IllegalArgumentException("Product not found with id: " + id);
         }
+        demoteHotStock(id);
         productRepository.deleteById(id);
+        record(List.of(ProductEvent.deleted(id)));
+        publish(ProductsChangedEvent.deleted(List.of(id)));
+    }
+
+    @Override
+    @Transactional
+    public Set<String> deleteProducts(Collection<String> ids) {
+        Set<String> existing = productRepository.findAllById(ids).stream()
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+        existing.forEach(this::demoteHotStock);
+        productRepository.deleteAllById(existing);
+        record(existing.stream().map(ProductEvent::deleted).toList());
+        publish(ProductsChangedEvent.deleted(existing));
+        return existing;
     }
 
+    /**
+     * Not transactional itself: a reservation on a hot product is served by the stock engine without touching the
+     * database, and its events are recorded when the engine writes the coalesced decrement behind. Any other
+     * decrement runs in its own transaction with its events. The repository decrements stock with a conditional
+     * update rather than through {@link Product#decreaseStock}, so the events are derived from the resulting product.
+     */
     @Override
     public Product decreaseStock(String id, Integer quantity) {
-        return productRepository.findById(id)
-                .map(product -> {
-                    product.decreaseStock(quantity);
-                    return productRepository.save(product);
-                })
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        Optional<Product> decreased = stockEngine == null
+                ? decreaseInRepository(id, quantity)
+                : stockEngine.decreaseStock(id, quantity, () -> decreaseInRepository(id, quantity));
+        return decreased.orElseThrow(() -> {
+            if (!productRepository.existsById(id)) {
+                return new IllegalArgumentException("Product not found with id: " + id);
+            }
+            return new InsufficientStockException(id);
+        });
+    }
+
+    /**
+     * Hot products are demoted first, so the check runs against the version the repository holds.
+     */
+    @Override
+    @Transactional
+    public Product decreaseStock(String id, Integer quantity, long expectedVersion) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        demoteHotStock(id);
+        Product updated = productRepository.decreaseStock(id, quantity, expectedVersion)
+                .orElseThrow(() -> {
+                    Product current = productRepository.findById(id)
+                            .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+                    if (current.getVersion() != expectedVersion) {
+                        return new ProductVersionConflictException(id, expectedVersion);
+                    }
+                    return new InsufficientStockException(id);
+                });
+        record(stockDecreased(updated, quantity));
+        return updated;
+    }
+
+    /**
+     * Lines are applied as conditional decrements in product id order, so two baskets sharing products always
+     * lock their rows in the same order and cannot deadlock. Hot products are demoted first because the
+     * in-memory engine cannot take part in the transaction.
+     */
+    @Override
+    @Transactional
+    public List<Product> reserveStock(List<ReservationLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Reservation must have at least one line");
+        }
+        SortedMap<String, Integer> quantities = new TreeMap<>();
+        for (ReservationLine line : lines) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Math::addExact);
+        }
+        quantities.keySet().forEach(this::demoteHotStock);
+
+        List<Product> reserved = new ArrayList<>(quantities.size());
+        String rejectedProductId = null;
+        try {
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                Optional<Product> updated = productRepository.decreaseStock(line.getKey(), line.getValue());
+                if (updated.isEmpty()) {
+                    rejectedProductId = line.getKey();
+                    break;
+                }
+                reserved.add(updated.get());
+            }
+            if (rejectedProductId == null) {
+                List<ProductEvent> events = new ArrayList<>(reserved.size());
+                for (Product product : reserved) {
+                    events.addAll(stockDecreased(product, quantities.get(product.getId())));
+                }
+                record(events);
+                return reserved;
+            }
+        } catch (RuntimeException e) {
+            try {
+                release(reserved, quantities);
+            } catch (RuntimeException releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+        release(reserved, quantities);
+        throw new ReservationRejectedException(rejections(quantities, rejectedProductId));
+    }
+
+    /**
+     * Gives back the stock of lines already reserved. Undone explicitly as well as by the rollback: the journal and
+     * off-heap repositories do not join transactions.
+     */
+    private void release(List<Product> reserved, Map<String, Integer> quantities) {
+        reserved.forEach(product -> productRepository.increaseStock(product.getId(), quantities.get(product.getId())));
+    }
+
+    /**
+     * Checks every line against current stock so the caller learns all the reasons at once.
+     * The line whose decrement failed is always reported, even if a concurrent change has since made it satisfiable.
+     */
+    private List<ReservationRejection> rejections(SortedMap<String, Integer> quantities, String failedProductId) {
+        Map<String, Product> current = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ReservationRejection> rejections = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            Product product = current.get(productId);
+            if (product == null) {
+                rejections.add(new ReservationRejection(productId, quantity, ReservationRejection.Reason.NOT_FOUND, null));
+            } else if (product.getStock() < quantity || productId.equals(failedProductId)) {
+                rejections.add(new ReservationRejection(productId, quantity,
+                        ReservationRejection.Reason.INSUFFICIENT_STOCK, product.getStock()));
+            }
+        });
+        return rejections;
+    }
+
+    private Product applyUpdate(String id, Product product, Long expectedVersion) {
+        demoteHotStock(id);
+        Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
+        if (expectedVersion != null && existingProduct.getVersion() != expectedVersion) {
+            throw new ProductVersionConflictException(id, expectedVersion);
+        }
+        existingProduct.setName(product.getName());
+        existingProduct.setDescription(product.getDescription());
+        existingProduct.setPrice(product.getPrice());
+        existingProduct.updateStock(product.getStock());
+        Product saved = productRepository.save(existingProduct);
+        record(existingProduct.pullEvents());
+        publish(ProductsChangedEvent.saved(List.of(saved)));
+        return saved;
+    }
+
+    private Optional<Product> decreaseInRepository(String id, int quantity) {
+        return conflictRetry.executeOnce(() -> {
+            Optional<Product> updated = productRepository.decreaseStock(id, quantity);
+            updated.ifPresent(product -> record(stockDecreased(product, quantity)));
+            return updated;
+        });
+    }
+
+    private static List<ProductEvent> stockDecreased(Product product, int quantity) {
+        if (product.getStock() == 0) {
+            return List.of(ProductEvent.stockDecreased(product, quantity), ProductEvent.outOfStock(product));
+        }
+        return List.of(ProductEvent.stockDecreased(product, quantity));
+    }
+
+    private void record(List<ProductEvent> events) {
+        if (eventOutbox != null && !events.isEmpty()) {
+            eventOutbox.append(events);
+        }
+    }
+
+    private void publish(ProductsChangedEvent event) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private void demoteHotStock(String id) {
+        if (stockEngine != null) {
+            stockEngine.demote(id);
+        }
     }
 }
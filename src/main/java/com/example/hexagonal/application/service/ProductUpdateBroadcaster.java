@@ -0,0 +1,220 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductUpdate;
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import com.example.hexagonal.domain.port.out.ProductEventPublisher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application Component: fans dispatched product events out to live subscribers.
+ * Each subscriber holds at most one pending update per product; a newer event is merged into it, so a burst of
+ * stock changes costs a slow subscriber one update rather than a queue entry each. Every coalescing window the
+ * pending updates of each subscriber that is not still busy with its previous delivery are handed to it on a
+ * virtual thread, so one stalled connection never delays the others or the dispatcher. A subscriber whose
+ * pending set outgrows {@code maxPendingPerSubscriber} products is dropped and expected to reconnect and re-read.
+ */
+@Component
+public class ProductUpdateBroadcaster implements ProductEventPublisher, ProductUpdateStream, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductUpdateBroadcaster.class);
+
+    private final int maxSubscribers;
+    private final int maxPendingPerSubscriber;
+    private final ExecutorService deliveryExecutor;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> allProductSubscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByProduct = new ConcurrentHashMap<>();
+    private final LongAdder coalescedUpdates = new LongAdder();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    @Autowired
+    public ProductUpdateBroadcaster(
+            @Value("${product.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${product.stream.max-pending-per-subscriber:1000}") int maxPendingPerSubscriber) {
+        this(maxSubscribers, maxPendingPerSubscriber, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ProductUpdateBroadcaster(int maxSubscribers, int maxPendingPerSubscriber, ExecutorService deliveryExecutor) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    @Override
+    public Subscription subscribe(Set<String> productIds, Listener listener) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many product stream subscribers");
+        }
+        Subscriber subscriber = new Subscriber(Set.copyOf(productIds), listener);
+        subscribers.add(subscriber);
+        if (productIds.isEmpty()) {
+            allProductSubscribers.add(subscriber);
+        }
+        for (String productId : subscriber.productIds) {
+            subscribersByProduct.compute(productId, (id, watching) -> {
+                Set<Subscriber> set = watching != null ? watching : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+        return subscriber;
+    }
+
+    /**
+     * Only merges the batch into the subscribers' pending updates; delivery happens on the next {@link #flush()}
+     */
+    @Override
+    public void publish(List<ProductEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, ProductUpdate> latest = new LinkedHashMap<>();
+        for (ProductEvent event : events) {
+            latest.merge(event.getProductId(), ProductUpdate.from(event), ProductUpdate::merge);
+        }
+        for (ProductUpdate update : latest.values()) {
+            allProductSubscribers.forEach(subscriber -> subscriber.offer(update));
+            Set<Subscriber> watching = subscribersByProduct.get(update.getProductId());
+            if (watching != null) {
+                watching.forEach(subscriber -> subscriber.offer(update));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.stream.coalesce-window-ms:250}")
+    public void flush() {
+        subscribers.forEach(subscriber -> subscriber.deliverPending(false));
+    }
+
+    /**
+     * Sends an empty batch to every idle subscriber, so connections that went away are noticed and released
+     */
+    @Scheduled(fixedDelayString = "${product.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.deliverPending(true));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.end(true));
+        deliveryExecutor.shutdownNow();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.stream.subscribers", this, ProductUpdateBroadcaster::subscriberCount)
+                .description("Live product update subscribers")
+                .register(registry);
+        FunctionCounter.builder("product.stream.coalesced", coalescedUpdates, LongAdder::sum)
+                .description("Product updates merged into one still pending for the same subscriber")
+                .register(registry);
+        FunctionCounter.builder("product.stream.dropped.subscribers", droppedSubscribers, LongAdder::sum)
+                .description("Subscribers dropped for falling too far behind")
+                .register(registry);
+    }
+
+    private final class Subscriber implements Subscription {
+        private final Set<String> productIds;
+        private final Listener listener;
+        private final ConcurrentHashMap<String, ProductUpdate> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean delivering = new AtomicBoolean();
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private Subscriber(Set<String> productIds, Listener listener) {
+            this.productIds = productIds;
+            this.listener = listener;
+        }
+
+        void offer(ProductUpdate update) {
+            if (ended.get()) {
+                return;
+            }
+            if (pending.merge(update.getProductId(), update, ProductUpdate::merge) != update) {
+                coalescedUpdates.increment();
+            }
+            if (pending.size() > maxPendingPerSubscriber) {
+                droppedSubscribers.increment();
+                log.debug("Dropping a product stream subscriber with {} pending updates", pending.size());
+                end(true);
+            }
+        }
+
+        void deliverPending(boolean heartbeat) {
+            if (!ended.get() && (heartbeat || !pending.isEmpty()) && delivering.compareAndSet(false, true)) {
+                deliveryExecutor.execute(() -> deliver(heartbeat));
+            }
+        }
+
+        private void deliver(boolean heartbeat) {
+            try {
+                List<ProductUpdate> updates = new ArrayList<>(pending.size());
+                for (String productId : pending.keySet()) {
+                    ProductUpdate update = pending.remove(productId);
+                    if (update != null) {
+                        updates.add(update);
+                    }
+                }
+                if (!updates.isEmpty() || heartbeat) {
+                    updates.sort(Comparator.comparingLong(ProductUpdate::getOffset));
+                    listener.onUpdates(updates);
+                }
+            } catch (Exception e) {
+                log.debug("Product stream delivery failed; ending the subscription", e);
+                end(true);
+            } finally {
+                delivering.set(false);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            end(false);
+        }
+
+        private void end(boolean notifyListener) {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            allProductSubscribers.remove(this);
+            for (String productId : productIds) {
+                subscribersByProduct.computeIfPresent(productId, (id, watching) -> {
+                    watching.remove(this);
+                    return watching.isEmpty() ? null : watching;
+                });
+            }
+            pending.clear();
+            if (notifyListener) {
+                listener.onClose();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ReactiveProductService;
+import com.example.hexagonal.domain.port.out.ReactiveProductRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Application Service (Use Case Implementation)
+ * Implements the reactive input port (ReactiveProductService) using the reactive output port.
+ * Mirrors ProductServiceImpl rule for rule without blocking the calling thread.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private final ReactiveProductRepository productRepository;
+
+    public ReactiveProductServiceImpl(ReactiveProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Mono<Product> createProduct(Product product) {
+        return productRepository.save(product);
+    }
+
+    @Override
+    public Mono<Product> getProductById(String id) {
+        return productRepository.findById(id);
+    }
+
+    @Override
+    public Flux<Product> getAllProducts() {
+        return productRepository.findAll();
+    }
+
+    @Override
+    public Mono<Product> updateProduct(String id, Product product) {
+        return productRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Product not found with id: " + id)))
+                .flatMap(existingProduct -> {
+                    existingProduct.setName(product.getName());
+                    existingProduct.setDescription(product.getDescription());
+                    existingProduct.setPrice(product.getPrice());
+                    existingProduct.updateStock(product.getStock());
+                    return productRepository.save(existingProduct);
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(String id) {
+        return productRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? productRepository.deleteById(id)
+                        : Mono.error(new IllegalArgumentException("Product not found with id: " + id)));
+    }
+
+    @Override
+    public Mono<Product> decreaseStock(String id, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            return Mono.error(new IllegalArgumentException("Quantity must be positive"));
+        }
+        return productRepository.decreaseStock(id, quantity)
+                .switchIfEmpty(Mono.defer(() -> productRepository.existsById(id)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new InsufficientStockException(id)
+                                : new IllegalArgumentException("Product not found with id: " + id)))));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.StockHold;
+import com.example.hexagonal.domain.port.in.StockHoldService;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.StockHoldRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application Service (Use Case Implementation)
+ * Implements the StockHoldService input port. A hold takes its quantity out of the product's stock with the same
+ * conditional decrement as decreaseStock, so holds can never oversell, and is persisted in the same transaction.
+ * Expiry is driven by a {@link TimingWheel} ticking every {@code tickMillis}, rather than a scheduled task per hold.
+ * Holds confirmed or released early stay in the wheel until their deadline and are skipped there.
+ */
+@Service
+public class StockHoldServiceImpl implements StockHoldService, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(StockHoldServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final StockHoldRepository stockHoldRepository;
+    private final StockReservationEngine stockEngine;
+    private final ProductEventOutbox eventOutbox;
+    private final TransactionOperations transactions;
+    private final Clock clock;
+    private final long tickMillis;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    private final TimingWheel<StockHold> expiryWheel;
+    private final Set<String> outstanding = ConcurrentHashMap.newKeySet();
+    private final LongAdder expiredHolds = new LongAdder();
+
+    @Autowired
+    public StockHoldServiceImpl(
+            ProductRepository productRepository,
+            StockHoldRepository stockHoldRepository,
+            @Nullable StockReservationEngine stockEngine,
+            @Nullable ProductEventOutbox eventOutbox,
+            TransactionOperations transactions,
+            @Value("${product.holds.tick-ms:100}") long tickMillis,
+            @Value("${product.holds.default-ttl:15m}") Duration defaultTtl,
+            @Value("${product.holds.max-ttl:24h}") Duration maxTtl) {
+        this(productRepository, stockHoldRepository, stockEngine, eventOutbox, transactions, tickMillis, defaultTtl,
+                maxTtl, Clock.systemUTC());
+    }
+
+    StockHoldServiceImpl(ProductRepository productRepository, StockHoldRepository stockHoldRepository,
+                         StockReservationEngine stockEngine, ProductEventOutbox eventOutbox,
+                         TransactionOperations transactions, long tickMillis, Duration defaultTtl, Duration maxTtl,
+                         Clock clock) {
+        if (maxTtl.toMillis() / tickMillis >= TimingWheel.RANGE - 1) {
+            throw new IllegalArgumentException("product.holds.max-ttl is beyond the expiry wheel's range");
+        }
+        this.productRepository = productRepository;
+        this.stockHoldRepository = stockHoldRepository;
+        this.stockEngine = stockEngine;
+        this.eventOutbox = eventOutbox;
+        this.transactions = transactions;
+        this.tickMillis = tickMillis;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.expiryWheel = new TimingWheel<>(clock.millis() / tickMillis);
+    }
+
+    /**
+     * Schedules the expiry of the holds that were outstanding at shutdown; those already past their deadline
+     * expire on the first tick.
+     */
+    @PostConstruct
+    public void recover() {
+        stockHoldRepository.forEach(this::scheduleExpiry);
+        if (!outstanding.isEmpty()) {
+            log.info("Scheduled expiry of {} outstanding stock holds", outstanding.size());
+        }
+    }
+
+    @Override
+    @Transactional
+    public StockHold hold(String productId, Integer quantity, Duration ttl) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        Duration holdTtl = ttl == null ? defaultTtl : ttl;
+        if (holdTtl.isNegative() || holdTtl.isZero() || holdTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Hold time must be positive and at most " + maxTtl);
+        }
+        if (stockEngine != null) {
+            stockEngine.demote(productId);
+        }
+        Product updated = productRepository.decreaseStock(productId, quantity)
+                .orElseThrow(() -> {
+                    if (!productRepository.existsById(productId)) {
+                        return new IllegalArgumentException("Product not found with id: " + productId);
+                    }
+                    return new InsufficientStockException(productId);
+                });
+        StockHold hold = new StockHold(productId, quantity, clock.instant().plus(holdTtl));
+        stockHoldRepository.save(hold);
+        List<ProductEvent> events = new ArrayList<>(2);
+        events.add(ProductEvent.stockDecreased(updated, quantity));
+        if (updated.getStock() == 0) {
+            events.add(ProductEvent.outOfStock(updated));
+        }
+        record(events);
+        // Scheduled before commit; if the transaction rolls back, expiry finds no hold to delete and skips it
+        scheduleExpiry(hold);
+        return hold;
+    }
+
+    @Override
+    public Optional<StockHold> getHold(String holdId) {
+        return stockHoldRepository.findById(holdId);
+    }
+
+    @Override
+    @Transactional
+    public StockHold confirm(String holdId) {
+        StockHold hold = stockHoldRepository.findById(holdId)
+                .filter(found -> !found.isExpired(clock.instant()))
+                .orElseThrow(() -> new IllegalArgumentException("Hold not found with id: " + holdId));
+        if (!stockHoldRepository.deleteById(holdId)) {
+            throw new IllegalArgumentException("Hold not found with id: " + holdId);
+        }
+        outstanding.remove(holdId);
+        return hold;
+    }
+
+    @Override
+    @Transactional
+    public void release(String holdId) {
+        StockHold hold = stockHoldRepository.findById(holdId)
+                .orElseThrow(() -> new IllegalArgumentException("Hold not found with id: " + holdId));
+        if (!stockHoldRepository.deleteById(holdId)) {
+            throw new IllegalArgumentException("Hold not found with id: " + holdId);
+        }
+        outstanding.remove(holdId);
+        giveBack(hold);
+    }
+
+    /**
+     * Advances the expiry wheel to the current time and gives back the stock of every hold that came due.
+     * A hold whose expiry fails is retried on the next tick.
+     */
+    @Scheduled(fixedRateString = "${product.holds.tick-ms:100}")
+    public void expireDueHolds() {
+        List<StockHold> due;
+        synchronized (expiryWheel) {
+            due = expiryWheel.advanceTo(clock.millis() / tickMillis);
+        }
+        for (StockHold hold : due) {
+            if (!outstanding.contains(hold.getId())) {
+                continue;
+            }
+            try {
+                transactions.executeWithoutResult(status -> {
+                    if (stockHoldRepository.deleteById(hold.getId())) {
+                        giveBack(hold);
+                        expiredHolds.increment();
+                    }
+                });
+                outstanding.remove(hold.getId());
+            } catch (RuntimeException e) {
+                log.warn("Could not expire stock hold {}; retrying on the next tick", hold.getId(), e);
+                synchronized (expiryWheel) {
+                    expiryWheel.schedule(hold, expiryWheel.currentTick() + 1);
+                }
+            }
+        }
+    }
+
+    public int outstandingHolds() {
+        return outstanding.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.holds.outstanding", this, StockHoldServiceImpl::outstandingHolds)
+                .description("Stock holds neither confirmed, released nor expired")
+                .register(registry);
+        FunctionCounter.builder("product.holds.expired", expiredHolds, LongAdder::sum)
+                .description("Stock holds whose quantity was given back because they expired")
+                .register(registry);
+    }
+
+    private void scheduleExpiry(StockHold hold) {
+        outstanding.add(hold.getId());
+        // Rounded up, so a hold never expires before its deadline
+        long deadlineTick = (hold.getExpiresAt().toEpochMilli() + tickMillis - 1) / tickMillis;
+        synchronized (expiryWheel) {
+            expiryWheel.schedule(hold, deadlineTick);
+        }
+    }
+
+    private void giveBack(StockHold hold) {
+        if (stockEngine != null) {
+            stockEngine.demote(hold.getProductId());
+        }
+        // A product deleted while held has nothing to give back to
+        productRepository.increaseStock(hold.getProductId(), hold.getQuantity())
+                .ifPresent(product -> record(List.of(ProductEvent.stockChanged(product))));
+    }
+
+    private void record(List<ProductEvent> events) {
+        if (eventOutbox != null && !events.isEmpty()) {
+            eventOutbox.append(events);
+        }
+    }
+}
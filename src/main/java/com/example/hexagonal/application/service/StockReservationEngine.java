@@ -0,0 +1,525 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.StockJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Application Component: in-memory stock engine for hot products.
+ * Products that receive more than {@code promotionThreshold} stock decrements within one promotion window
+ * are promoted: their stock becomes an in-memory counter that is authoritative until the product is demoted.
+ * Reservations on hot products are lock-free CAS operations on a per-product counter, made durable in the
+ * StockJournal before they are acknowledged, and written to the ProductRepository as one coalesced
+ * decrement per product on every flush. A decrement the repository cannot take is never dropped: whatever stock
+ * the repository still has is taken, and the shortfall is journaled as oversold for reconciliation.
+ * <p>
+ * Hot reservations do not touch the database, so they record no events. Each write-behind runs in a transaction
+ * of its own, even when a caller's transaction is active, and appends one coalesced STOCK_DECREASED event (and
+ * OUT_OF_STOCK when it empties the product) to the outbox with the decrement; it is journaled as flushed only
+ * after that transaction has committed.
+ * <p>
+ * Promotion reads the product's stock from the repository, so it must not overlap a repository write to that
+ * stock. Every such write is fenced: the cold path of {@link #decreaseStock} and {@link #demote} pin the product
+ * until their transaction completes, and a pinned product is not promoted. Pins are taken, and promotions made,
+ * under a striped read-write lock that is never held across a repository write.
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.stock-engine", name = "enabled", havingValue = "true")
+public class StockReservationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationEngine.class);
+
+    /**
+     * Marks a demoted counter. Far enough below zero that a concurrent rollback cannot bring it back.
+     */
+    private static final int RETIRED = Integer.MIN_VALUE / 2;
+
+    private static final int MAX_TAKE_ATTEMPTS = 3;
+
+    private static final int FENCE_STRIPES = 64;
+
+    private final ProductRepository productRepository;
+    private final StockJournal stockJournal;
+    private final ProductEventOutbox eventOutbox;
+    private final TransactionOperations writeBehindTransactions;
+    private final int promotionThreshold;
+    private final int maxHotProducts;
+    private final int idleWindowsBeforeDemotion;
+
+    private final ConcurrentHashMap<String, HotStock> hotProducts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> heat = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> pins = new ConcurrentHashMap<>();
+    private final ReadWriteLock[] fences = new ReadWriteLock[FENCE_STRIPES];
+    private final LongAdder contendedReservations = new LongAdder();
+    private final LongAdder rejectedWriteBehinds = new LongAdder();
+    private volatile long window;
+
+    public StockReservationEngine(ProductRepository productRepository, StockJournal stockJournal, int promotionThreshold,
+                                  int maxHotProducts, int idleWindowsBeforeDemotion) {
+        this(productRepository, stockJournal, null, null, promotionThreshold, maxHotProducts, idleWindowsBeforeDemotion);
+    }
+
+    /**
+     * The outbox and the transaction manager are optional; without the outbox write-behinds record no events, and
+     * without the transaction manager they run without a transaction of their own.
+     */
+    @Autowired
+    public StockReservationEngine(
+            ProductRepository productRepository,
+            StockJournal stockJournal,
+            @Nullable ProductEventOutbox eventOutbox,
+            @Nullable PlatformTransactionManager transactionManager,
+            @Value("${product.stock-engine.promotion-threshold:100}") int promotionThreshold,
+            @Value("${product.stock-engine.max-hot-products:1000}") int maxHotProducts,
+            @Value("${product.stock-engine.idle-windows-before-demotion:30}") int idleWindowsBeforeDemotion) {
+        this.productRepository = productRepository;
+        this.stockJournal = stockJournal;
+        this.eventOutbox = eventOutbox;
+        if (transactionManager == null) {
+            this.writeBehindTransactions = TransactionOperations.withoutTransaction();
+        } else {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.writeBehindTransactions = template;
+        }
+        this.promotionThreshold = promotionThreshold;
+        this.maxHotProducts = maxHotProducts;
+        this.idleWindowsBeforeDemotion = idleWindowsBeforeDemotion;
+        for (int i = 0; i < fences.length; i++) {
+            fences[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Applies reservations that were acknowledged before a crash but never flushed.
+     * Replay is at-least-once: a crash between a flush and its journal record re-applies that delta,
+     * which can only under-report stock, never oversell it.
+     */
+    @PostConstruct
+    public void recover() {
+        Map<String, Integer> outstanding = stockJournal.outstandingReservations();
+        outstanding.forEach(this::writeBehind);
+        if (!outstanding.isEmpty()) {
+            log.info("Replayed journaled stock reservations for {} products", outstanding.size());
+        }
+    }
+
+    /**
+     * Decreases stock in memory if the product is hot, promoting it first when it has just crossed the threshold.
+     * Otherwise runs {@code repositoryPath}, which must decrease the stock in the repository, with the product
+     * pinned so it cannot be promoted until that write is committed.
+     */
+    public Optional<Product> decreaseStock(String id, int quantity, Supplier<Optional<Product>> repositoryPath) {
+        HotStock hotStock = hotProducts.get(id);
+        if (hotStock == null) {
+            hotStock = recordHeat(id);
+        }
+        if (hotStock != null) {
+            Optional<Product> reserved = hotStock.reserve(quantity);
+            if (reserved.isPresent()) {
+                return reserved;
+            }
+            // Demoted while reserving; the demotion has written the pending delta, so the repository is current
+        }
+        Lock fence = fence(id).readLock();
+        boolean pinnedUntilCompletion;
+        fence.lock();
+        try {
+            // Promoted while waiting for the fence; demotion retires under the write lock, so this one is live
+            hotStock = hotProducts.get(id);
+            if (hotStock != null) {
+                return hotStock.reserve(quantity);
+            }
+            pinnedUntilCompletion = pinUntilCompletion(id);
+            if (!pinnedUntilCompletion) {
+                pin(id);
+            }
+        } finally {
+            fence.unlock();
+        }
+        try {
+            return repositoryPath.get();
+        } finally {
+            if (!pinnedUntilCompletion) {
+                unpin(id);
+            }
+        }
+    }
+
+    /**
+     * Returns the product with its live in-memory stock if it is hot
+     */
+    public Optional<Product> findHot(String id) {
+        HotStock hotStock = hotProducts.get(id);
+        return hotStock == null ? Optional.empty() : hotStock.snapshot();
+    }
+
+    /**
+     * Stops serving a product from memory and writes its pending delta to the repository.
+     * Must be called before any write that replaces the product's stock or removes the product, in the same
+     * transaction as that write: the product is pinned until the transaction completes, so it is not promoted
+     * again from stock the write is about to change. The pending delta is committed on its own, since its
+     * reservations were acknowledged whatever becomes of the caller's transaction.
+     */
+    public void demote(String id) {
+        Lock fence = fence(id).writeLock();
+        fence.lock();
+        try {
+            HotStock hotStock = hotProducts.get(id);
+            if (hotStock != null) {
+                hotStock.retire();
+                writeBehind(id, hotStock);
+                hotProducts.remove(id, hotStock);
+            }
+            pinUntilCompletion(id);
+        } finally {
+            fence.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.stock-engine.flush-interval-ms:100}")
+    public void flush() {
+        hotProducts.forEach(this::flush);
+    }
+
+    /**
+     * Starts a new promotion window: resets the heat counters and demotes hot products that went idle.
+     */
+    @Scheduled(fixedRateString = "${product.stock-engine.promotion-window-ms:1000}")
+    public void rotateWindow() {
+        long current = ++window;
+        heat.clear();
+        hotProducts.forEach((id, hotStock) -> {
+            if (current - hotStock.lastReservedWindow > idleWindowsBeforeDemotion) {
+                demote(id);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hotProducts.keySet().forEach(this::demote);
+    }
+
+    public int hotProductCount() {
+        return hotProducts.size();
+    }
+
+    /**
+     * Number of times a reservation lost a compare-and-set race on a hot product's counter and had to retry
+     */
+    public long contendedReservations() {
+        return contendedReservations.sum();
+    }
+
+    /**
+     * Number of flushes the repository rejected because it had less stock than memory assumed
+     */
+    public long rejectedWriteBehinds() {
+        return rejectedWriteBehinds.sum();
+    }
+
+    /**
+     * Units that were acknowledged but could not be written to the repository, across all products
+     */
+    public int oversoldUnits() {
+        return stockJournal.oversoldReservations().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Promotes the product once it has crossed the threshold, unless a repository write to it is still uncommitted
+     */
+    private HotStock recordHeat(String id) {
+        LongAdder counter = heat.computeIfAbsent(id, key -> new LongAdder());
+        counter.increment();
+        if (counter.sum() < promotionThreshold || hotProducts.size() >= maxHotProducts || pins.containsKey(id)) {
+            return null;
+        }
+        Lock fence = fence(id).writeLock();
+        fence.lock();
+        try {
+            HotStock existing = hotProducts.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            if (pins.containsKey(id)) {
+                return null;
+            }
+            Optional<Product> product = productRepository.findById(id);
+            if (product.isEmpty()) {
+                return null;
+            }
+            HotStock promoted = new HotStock(product.get());
+            hotProducts.put(id, promoted);
+            log.debug("Promoting product {} to in-memory stock", id);
+            return promoted;
+        } finally {
+            fence.unlock();
+        }
+    }
+
+    private void flush(String id, HotStock hotStock) {
+        if (!writeBehind(id, hotStock)) {
+            // Memory no longer matches the repository, so stop serving the product from memory
+            demote(id);
+        }
+    }
+
+    private ReadWriteLock fence(String id) {
+        return fences[Math.floorMod(id.hashCode(), fences.length)];
+    }
+
+    /**
+     * Pins the product until the current transaction completes. Returns false, without pinning, outside a transaction.
+     */
+    private boolean pinUntilCompletion(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        pin(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unpin(id);
+            }
+        });
+        return true;
+    }
+
+    private void pin(String id) {
+        pins.merge(id, 1, Integer::sum);
+    }
+
+    private void unpin(String id) {
+        pins.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Writes the hot product's pending delta behind and advances its snapshots to the version that write left in
+     * the repository. Returns false if any of the delta was oversold.
+     */
+    private boolean writeBehind(String id, HotStock hotStock) {
+        int delta = hotStock.beginWrite();
+        if (delta == 0) {
+            return true;
+        }
+        Written written = null;
+        try {
+            written = writeBehind(id, delta);
+        } finally {
+            hotStock.endWrite(written == null ? null : written.product());
+        }
+        return written.quantity() == delta;
+    }
+
+    /**
+     * Writes a journaled quantity to the repository and records it as flushed. When the repository has less stock
+     * than that, the stock it still has is taken and flushed, and the rest is recorded as oversold rather than
+     * flushed.
+     */
+    private Written writeBehind(String id, int quantity) {
+        Written written = writeBehindTransactions.execute(status -> decreaseRepositoryStock(id, quantity));
+        int taken = written.quantity();
+        if (taken > 0) {
+            stockJournal.recordFlush(id, taken);
+        }
+        int shortfall = quantity - taken;
+        if (shortfall > 0) {
+            stockJournal.recordOversell(id, shortfall);
+            log.error("Repository rejected a write-behind of {} units for product {}; {} units recorded as oversold",
+                    quantity, id, shortfall);
+        }
+        return written;
+    }
+
+    /**
+     * Decreases the product's stock by {@code quantity}, or by as much of it as the repository still has, and
+     * records the events for the decrement.
+     */
+    private Written decreaseRepositoryStock(String id, int quantity) {
+        Optional<Product> decreased = productRepository.decreaseStock(id, quantity);
+        if (decreased.isPresent()) {
+            recordDecrease(decreased.get(), quantity);
+            return new Written(quantity, decreased.get());
+        }
+        rejectedWriteBehinds.increment();
+        return takeRemainingStock(id, quantity);
+    }
+
+    /**
+     * Decreases the product's stock by as much of {@code quantity} as it still has, retrying a few times if the
+     * stock moves between the read and the conditional update.
+     */
+    private Written takeRemainingStock(String id, int quantity) {
+        for (int attempt = 0; attempt < MAX_TAKE_ATTEMPTS; attempt++) {
+            int available = productRepository.findById(id).map(Product::getStock).orElse(0);
+            if (available <= 0) {
+                break;
+            }
+            int take = Math.min(available, quantity);
+            Optional<Product> decreased = productRepository.decreaseStock(id, take);
+            if (decreased.isPresent()) {
+                recordDecrease(decreased.get(), take);
+                return new Written(take, decreased.get());
+            }
+        }
+        return new Written(0, null);
+    }
+
+    private void recordDecrease(Product product, int quantity) {
+        if (eventOutbox == null) {
+            return;
+        }
+        List<ProductEvent> events = new ArrayList<>(2);
+        events.add(ProductEvent.stockDecreased(product, quantity));
+        if (product.getStock() == 0) {
+            events.add(ProductEvent.outOfStock(product));
+        }
+        eventOutbox.append(events);
+    }
+
+    /**
+     * The quantity a write-behind took from the repository, and the product as that write left it (null if it took
+     * nothing)
+     */
+    private record Written(int quantity, Product product) {
+    }
+
+    /**
+     * The repository version of a hot product as of its last completed write-behind, and how many write-behinds
+     * are under way
+     */
+    private record Flushed(long version, int writesInProgress) {
+    }
+
+    /**
+     * Per-product cell. {@code available} is the authoritative stock while the product is hot;
+     * {@code pending} is the journaled quantity not yet written to the repository.
+     * Snapshots carry the version the repository will hold once the reservations they reflect are written: each
+     * write-behind advances the version once, so that is the version of the last completed write-behind, plus one
+     * per write under way, plus one while a delta is pending. A client can send it back as a precondition after
+     * the reservations were flushed.
+     */
+    private final class HotStock {
+        private final Product product;
+        private final AtomicInteger available;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReference<Flushed> flushed;
+        private volatile long lastReservedWindow;
+
+        private HotStock(Product product) {
+            this.product = product;
+            this.available = new AtomicInteger(product.getStock());
+            this.flushed = new AtomicReference<>(new Flushed(product.getVersion(), 0));
+            this.lastReservedWindow = window;
+        }
+
+        /**
+         * Takes the pending delta for a write-behind. A non-zero delta must be followed by {@link #endWrite};
+         * the write counts as under way before the delta leaves {@code pending}, so snapshots never lose it.
+         */
+        int beginWrite() {
+            if (pending.get() == 0) {
+                return 0;
+            }
+            flushed.updateAndGet(current -> new Flushed(current.version(), current.writesInProgress() + 1));
+            int delta = pending.getAndSet(0);
+            if (delta == 0) {
+                endWrite(null);
+            }
+            return delta;
+        }
+
+        void endWrite(Product written) {
+            flushed.updateAndGet(current -> new Flushed(
+                    written == null ? current.version() : Math.max(current.version(), written.getVersion()),
+                    current.writesInProgress() - 1));
+        }
+
+        Optional<Product> reserve(int quantity) {
+            inFlight.incrementAndGet();
+            try {
+                int current;
+                while (true) {
+                    current = available.get();
+                    if (current < 0) {
+                        return Optional.empty();
+                    }
+                    if (current < quantity) {
+                        throw new InsufficientStockException(product.getId());
+                    }
+                    if (available.compareAndSet(current, current - quantity)) {
+                        break;
+                    }
+                    contendedReservations.increment();
+                }
+                try {
+                    stockJournal.recordReservation(product.getId(), quantity);
+                } catch (RuntimeException e) {
+                    available.addAndGet(quantity);
+                    throw e;
+                }
+                pending.addAndGet(quantity);
+                lastReservedWindow = window;
+                return Optional.of(copyWithStock(current - quantity));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        Optional<Product> snapshot() {
+            int current = available.get();
+            return current < 0 ? Optional.empty() : Optional.of(copyWithStock(current));
+        }
+
+        /**
+         * Blocks new reservations and waits for in-flight ones to record their pending delta
+         */
+        void retire() {
+            available.set(RETIRED);
+            while (inFlight.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private Product copyWithStock(int stock) {
+            Flushed current = flushed.get();
+            long version = current.version() + current.writesInProgress() + (pending.get() > 0 ? 1 : 0);
+            return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(), stock,
+                    version);
+        }
+    }
+}
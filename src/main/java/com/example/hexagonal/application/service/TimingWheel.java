@@ -0,0 +1,105 @@
+package com.example.hexagonal.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: four levels of 64 slots, each level's slot spanning a full turn of the level below.
+ * An entry is placed on the lowest level whose span covers its deadline and moves down one level each time
+ * its slot comes up, so scheduling is O(1), and each tick touches one slot per level plus the entries that
+ * are actually due, however many entries are outstanding. Cancellation is left to the caller: entries are
+ * never removed early, and the caller ignores those that have since completed.
+ * Not thread-safe; callers synchronize.
+ */
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Furthest deadline, in ticks from the current one, that the wheel can hold
+     */
+    static final long RANGE = 1L << (BITS * LEVELS);
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules the item to become due at the given tick; deadlines already reached are due on the next tick
+     */
+    void schedule(T item, long deadlineTick) {
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        if (deadline - currentTick >= RANGE) {
+            throw new IllegalArgumentException("Deadline is beyond the timing wheel's range");
+        }
+        place(new Entry<>(deadline, item));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given tick and returns the items that became due on the way
+     */
+    List<T> advanceTo(long tick) {
+        List<T> due = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            // Cascade from the top so entries moving down two levels land before the lower level is cascaded
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    List<Entry<T>> slot = slot(level, currentTick);
+                    List<Entry<T>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    cascading.forEach(this::place);
+                }
+            }
+            List<Entry<T>> expiring = slot(0, currentTick);
+            for (Entry<T> entry : expiring) {
+                due.add(entry.item);
+            }
+            size -= expiring.size();
+            expiring.clear();
+        }
+        return due;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        slot(level, entry.deadline).add(entry);
+    }
+
+    private List<Entry<T>> slot(int level, long tick) {
+        return slots.get(level * SLOTS + (int) ((tick >>> (BITS * level)) & MASK));
+    }
+
+    private static final class Entry<T> {
+        private final long deadline;
+        private final T item;
+
+        private Entry(long deadline, T item) {
+            this.deadline = deadline;
+            this.item = item;
+        }
+    }
+}
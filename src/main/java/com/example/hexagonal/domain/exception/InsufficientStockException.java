@@ -0,0 +1,19 @@
+package com.example.hexagonal.domain.exception;
+
+/**
+ * Thrown when a stock decrement asks for more than the product has left; nothing has been decremented.
+ * Extends IllegalArgumentException so callers that treat business rule violations uniformly keep working.
+ */
+public class InsufficientStockException extends IllegalArgumentException {
+
+    private final String productId;
+
+    public InsufficientStockException(String productId) {
+        super("Insufficient stock");
+        this.productId = productId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hexagonal.domain.exception;
+
+/**
+ * Thrown when a product write was based on a version that is no longer the stored one, because another writer
+ * changed the product in between. Nothing has been written.
+ * Not an IllegalArgumentException: the request was valid, only the product moved on.
+ */
+public class ProductVersionConflictException extends IllegalStateException {
+
+    private final String productId;
+    private final long expectedVersion;
+
+    public ProductVersionConflictException(String productId, long expectedVersion) {
+        super("Product " + productId + " is no longer at version " + expectedVersion);
+        this.productId = productId;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.hexagonal.domain.exception;
+
+import com.example.hexagonal.domain.model.ReservationRejection;
+
+import java.util.List;
+
+/**
+ * Thrown when a stock reservation cannot be satisfied as a whole; no line of it has been applied.
+ * Extends IllegalArgumentException so callers that treat business rule violations uniformly keep working.
+ */
+public class ReservationRejectedException extends IllegalArgumentException {
+
+    private final transient List<ReservationRejection> rejections;
+
+    public ReservationRejectedException(List<ReservationRejection> rejections) {
+        super("Reservation rejected for " + rejections.size() + " line(s)");
+        this.rejections = List.copyOf(rejections);
+    }
+
+    public List<ReservationRejection> getRejections() {
+        return rejections;
+    }
+}
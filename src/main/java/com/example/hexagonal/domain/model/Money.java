@@ -0,0 +1,83 @@
+package com.example.hexagonal.domain.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Domain Value Object: Money
+ * An amount in a currency, held as a long count of 10^-{@value #SCALE} currency units, so prices are compared,
+ * copied and stored without allocating. Amounts with more decimal places, or too large for a long, are rejected.
+ * Amounts in different currencies cannot be compared.
+ */
+public record Money(long scaledAmount, Currency currency) implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 4;
+
+    /**
+     * The currency of the catalog, used for prices that arrive as plain decimals
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Null for a null amount, so optional prices can be converted without a check
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return new Money(amount.movePointRight(SCALE).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must fit in a long with at most " + SCALE + " decimal places");
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public boolean isNegative() {
+        return scaledAmount < 0;
+    }
+
+    /**
+     * The amount as a decimal with no trailing zeros beyond the currency's usual fraction digits, so 999.99 reads
+     * back as 999.99 and 10 as 10.00
+     */
+    public BigDecimal toBigDecimal() {
+        int minimumScale = Math.min(Math.max(currency.getDefaultFractionDigits(), 0), SCALE);
+        long unscaled = scaledAmount;
+        int scale = SCALE;
+        while (scale > minimumScale && unscaled % 10 == 0) {
+            unscaled /= 10;
+            scale--;
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot compare " + currency + " with " + other.currency);
+        }
+        return Long.compare(scaledAmount, other.scaledAmount);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
@@ -1,59 +1,99 @@
 package com.example.hexagonal.domain.model;
 
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Domain Entity: Product
  * This is a pure domain object with no dependencies on frameworks or infrastructure.
+ * State changes that other systems care about are recorded as {@link ProductEvent}s until the application
+ * service pulls them for the outbox.
+ * The version is assigned by the repository and advances with every stored change; a product can only be saved
+ * over the version it was read at, which is how concurrent writers detect each other.
+ * The price is a {@link Money} and the stock a primitive, so copying and checking them never allocates; a setter
+ * only re-validates the field it changes.
  */
 public class Product {
     private final String id;
     private String name;
     private String description;
-    private BigDecimal price;
-    private Integer stock;
-
-    public Product(String id, String name, String description, BigDecimal price, Integer stock) {
+    private Money price;
+    private int stock;
+    private final long version;
+    private final List<ProductEvent> events = new ArrayList<>();
+
+    public Product(String id, String name, String description, Money price, int stock, long version) {
+        validateName(name);
+        validatePrice(price);
+        if (stock < 0) {
+            throw new IllegalArgumentException("Product stock cannot be negative");
+        }
         this.id = id;
         this.name = name;
         this.description = description;
         this.price = price;
         this.stock = stock;
-        validate();
+        this.version = version;
+    }
+
+    public Product(String id, String name, String description, Money price, int stock) {
+        this(id, name, description, price, stock, 0);
     }
 
-    public Product(String name, String description, BigDecimal price, Integer stock) {
+    public Product(String name, String description, Money price, int stock) {
         this(UUID.randomUUID().toString(), name, description, price, stock);
     }
 
-    private void validate() {
-        if (name == null || name.trim().isEmpty()) {
+    public Product(String id, String name, String description, BigDecimal price, int stock) {
+        this(id, name, description, Money.of(price), stock);
+    }
+
+    public Product(String name, String description, BigDecimal price, int stock) {
+        this(name, description, Money.of(price), stock);
+    }
+
+    private static void validateName(String name) {
+        if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Product name cannot be empty");
         }
-        if (price == null || price.compareTo(BigDecimal.ZERO) < 0) {
+    }
+
+    private static void validatePrice(Money price) {
+        if (price == null || price.isNegative()) {
             throw new IllegalArgumentException("Product price cannot be negative");
         }
-        if (stock == null || stock < 0) {
-            throw new IllegalArgumentException("Product stock cannot be negative");
-        }
     }
 
-    public void updateStock(Integer newStock) {
+    public void updateStock(int newStock) {
         if (newStock < 0) {
             throw new IllegalArgumentException("Stock cannot be negative");
         }
+        int previousStock = stock;
         this.stock = newStock;
+        if (previousStock != newStock) {
+            events.add(ProductEvent.stockChanged(this));
+            if (newStock == 0) {
+                events.add(ProductEvent.outOfStock(this));
+            }
+        }
     }
 
-    public void decreaseStock(Integer quantity) {
+    public void decreaseStock(int quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive");
         }
         if (this.stock < quantity) {
-            throw new IllegalArgumentException("Insufficient stock");
+            throw new InsufficientStockException(id);
         }
         this.stock -= quantity;
+        events.add(ProductEvent.stockDecreased(this, quantity));
+        if (stock == 0) {
+            events.add(ProductEvent.outOfStock(this));
+        }
     }
 
     public boolean isAvailable() {
@@ -73,26 +113,43 @@ public class Product {
         return description;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public Integer getStock() {
+    public int getStock() {
         return stock;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     // Setters
     public void setName(String name) {
+        validateName(name);
         this.name = name;
-        validate();
     }
 
     public void setDescription(String description) {
         this.description = description;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
+        validatePrice(price);
+        Money previousPrice = this.price;
         this.price = price;
-        validate();
+        if (!previousPrice.equals(price)) {
+            events.add(ProductEvent.priceChanged(this, previousPrice));
+        }
+    }
+
+    /**
+     * Returns the events recorded since the last call and forgets them
+     */
+    public List<ProductEvent> pullEvents() {
+        List<ProductEvent> pulled = List.copyOf(events);
+        events.clear();
+        return pulled;
     }
 }
@@ -0,0 +1,58 @@
+package com.example.hexagonal.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Domain Value Object: ProductCursor
+ * Position of the last product of a sorted page: its sort key and its id.
+ * The next page continues strictly after (key, id) in the query's order, so pages stay stable under
+ * concurrent inserts and cost the same however deep the client pages.
+ * Encoded for clients as an opaque URL-safe token.
+ */
+public class ProductCursor {
+    private final Comparable<?> key;
+    private final String id;
+
+    public ProductCursor(Comparable<?> key, String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor id cannot be null");
+        }
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Cursor positioned on the given product for the given sort
+     */
+    public static ProductCursor after(ProductSort sort, Product product) {
+        return new ProductCursor(sort.keyOf(product), product.getId());
+    }
+
+    /**
+     * Encodes as {@code <id length>:<id><key>} in base64url, so neither part needs escaping
+     */
+    public String encode(ProductSort sort) {
+        String raw = id.length() + ":" + id + (key == null ? "" : sort.formatKey(key));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(ProductSort sort, String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            int idEnd = separator + 1 + Integer.parseInt(raw.substring(0, separator));
+            return new ProductCursor(sort.parseKey(raw.substring(idEnd)), raw.substring(separator + 1, idEnd));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public Comparable<?> getKey() {
+        return key;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
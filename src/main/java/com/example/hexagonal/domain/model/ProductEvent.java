@@ -0,0 +1,99 @@
+package com.example.hexagonal.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Domain Event: ProductEvent
+ * Something that happened to a product, carrying the state other systems need to react without reading the product
+ * back. Fields that do not apply to the event type are null. The offset is the event's position in the change feed;
+ * it is null until the outbox dispatcher sequences the event.
+ */
+public class ProductEvent {
+    private final Long offset;
+    private final ProductEventType type;
+    private final String productId;
+    private final String name;
+    private final Money price;
+    private final Money previousPrice;
+    private final Integer stock;
+    private final Integer quantity;
+    private final Instant occurredAt;
+
+    public ProductEvent(Long offset, ProductEventType type, String productId, String name, Money price,
+                        Money previousPrice, Integer stock, Integer quantity, Instant occurredAt) {
+        this.offset = offset;
+        this.type = type;
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.previousPrice = previousPrice;
+        this.stock = stock;
+        this.quantity = quantity;
+        this.occurredAt = occurredAt;
+    }
+
+    public static ProductEvent created(Product product) {
+        return new ProductEvent(null, ProductEventType.CREATED, product.getId(), product.getName(),
+                product.getPrice(), null, product.getStock(), null, Instant.now());
+    }
+
+    public static ProductEvent priceChanged(Product product, Money previousPrice) {
+        return new ProductEvent(null, ProductEventType.PRICE_CHANGED, product.getId(), product.getName(),
+                product.getPrice(), previousPrice, null, null, Instant.now());
+    }
+
+    public static ProductEvent stockDecreased(Product product, int quantity) {
+        return new ProductEvent(null, ProductEventType.STOCK_DECREASED, product.getId(), product.getName(),
+                null, null, product.getStock(), quantity, Instant.now());
+    }
+
+    public static ProductEvent stockChanged(Product product) {
+        return new ProductEvent(null, ProductEventType.STOCK_CHANGED, product.getId(), product.getName(),
+                null, null, product.getStock(), null, Instant.now());
+    }
+
+    public static ProductEvent outOfStock(Product product) {
+        return new ProductEvent(null, ProductEventType.OUT_OF_STOCK, product.getId(), product.getName(),
+                null, null, 0, null, Instant.now());
+    }
+
+    public static ProductEvent deleted(String productId) {
+        return new ProductEvent(null, ProductEventType.DELETED, productId, null, null, null, null, null, Instant.now());
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public ProductEventType getType() {
+        return type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public Money getPreviousPrice() {
+        return previousPrice;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ProductEventType
+ * The changes to a product that are announced to other systems.
+ */
+public enum ProductEventType {
+    CREATED,
+    PRICE_CHANGED,
+    STOCK_DECREASED,
+    STOCK_CHANGED,
+    OUT_OF_STOCK,
+    DELETED
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonal.domain.model;
+
+import java.util.List;
+
+/**
+ * Domain Value Object: ProductPage
+ * A slice of the catalog returned by keyset (cursor) pagination.
+ * The next cursor resumes after the last product in the slice, or is null when there are no more products.
+ * A page holds at most {@value #MAX_LIMIT} products.
+ */
+public class ProductPage {
+    public static final int MAX_LIMIT = 1000;
+
+    private final List<Product> products;
+    private final String nextCursor;
+
+    public ProductPage(List<Product> products, String nextCursor) {
+        this.products = List.copyOf(products);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ProductQuery
+ * Filters and ordering for a product listing. Every filter is optional; null means "no constraint".
+ * The name prefix match is case-sensitive so it can be answered from the name index.
+ */
+public class ProductQuery {
+    private static final ProductQuery ALL = new ProductQuery(null, null, null, false, ProductSort.ID, false);
+
+    private final String namePrefix;
+    private final Money minPrice;
+    private final Money maxPrice;
+    private final boolean availableOnly;
+    private final ProductSort sort;
+    private final boolean descending;
+
+    public ProductQuery(String namePrefix, Money minPrice, Money maxPrice, boolean availableOnly,
+                        ProductSort sort, boolean descending) {
+        this.namePrefix = namePrefix == null || namePrefix.isEmpty() ? null : namePrefix;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.availableOnly = availableOnly;
+        this.sort = sort == null ? ProductSort.ID : sort;
+        this.descending = descending;
+        validate();
+    }
+
+    /**
+     * The whole catalog ordered by id
+     */
+    public static ProductQuery all() {
+        return ALL;
+    }
+
+    private void validate() {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
+        }
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public Money getMinPrice() {
+        return minPrice;
+    }
+
+    public Money getMaxPrice() {
+        return maxPrice;
+    }
+
+    public boolean isAvailableOnly() {
+        return availableOnly;
+    }
+
+    public ProductSort getSort() {
+        return sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ProductSort
+ * The keys a product listing can be ordered by. Every ordering is made total by breaking ties on the id,
+ * which is what keyset pagination needs.
+ */
+public enum ProductSort {
+    ID,
+    NAME,
+    PRICE,
+    STOCK;
+
+    /**
+     * Returns the value of this sort key for the given product; null for ID, which has no separate key
+     */
+    public Comparable<?> keyOf(Product product) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> product.getName();
+            case PRICE -> product.getPrice();
+            case STOCK -> product.getStock();
+        };
+    }
+
+    Comparable<?> parseKey(String value) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> value;
+            case PRICE -> Money.of(value);
+            case STOCK -> Integer.valueOf(value);
+        };
+    }
+
+    String formatKey(Comparable<?> key) {
+        return key instanceof Money money ? money.toBigDecimal().toPlainString() : String.valueOf(key);
+    }
+}
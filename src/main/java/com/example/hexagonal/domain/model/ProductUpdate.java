@@ -0,0 +1,71 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ProductUpdate
+ * The latest known state of a product for live subscribers, built from one or more product events.
+ * Fields that no event has reported yet are null; {@code offset} is that of the newest event folded in.
+ */
+public final class ProductUpdate {
+    private final long offset;
+    private final String productId;
+    private final String name;
+    private final Money price;
+    private final Integer stock;
+    private final boolean deleted;
+
+    public ProductUpdate(long offset, String productId, String name, Money price, Integer stock, boolean deleted) {
+        this.offset = offset;
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.deleted = deleted;
+    }
+
+    public static ProductUpdate from(ProductEvent event) {
+        return switch (event.getType()) {
+            case CREATED, PRICE_CHANGED, STOCK_DECREASED, STOCK_CHANGED, OUT_OF_STOCK -> new ProductUpdate(
+                    event.getOffset(), event.getProductId(), event.getName(), event.getPrice(), event.getStock(), false);
+            case DELETED -> new ProductUpdate(event.getOffset(), event.getProductId(), null, null, null, true);
+        };
+    }
+
+    /**
+     * Folds a later update for the same product into this one, keeping fields the later update does not report.
+     * An update older than this one is ignored, so redelivered events cannot roll the state back.
+     */
+    public ProductUpdate merge(ProductUpdate later) {
+        if (later.offset < offset) {
+            return this;
+        }
+        return new ProductUpdate(later.offset, productId,
+                later.name != null ? later.name : name,
+                later.price != null ? later.price : price,
+                later.stock != null ? later.stock : stock,
+                later.deleted);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
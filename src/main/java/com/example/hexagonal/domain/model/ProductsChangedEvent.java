@@ -0,0 +1,35 @@
+package com.example.hexagonal.domain.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the product use cases after products are created, updated or deleted, inside the transaction
+ * that writes them. Listeners that maintain derived data should use {@code @TransactionalEventListener} so they
+ * only see changes that actually committed.
+ */
+public class ProductsChangedEvent {
+    private final List<Product> saved;
+    private final Collection<String> deletedIds;
+
+    private ProductsChangedEvent(List<Product> saved, Collection<String> deletedIds) {
+        this.saved = saved;
+        this.deletedIds = deletedIds;
+    }
+
+    public static ProductsChangedEvent saved(List<Product> products) {
+        return new ProductsChangedEvent(List.copyOf(products), List.of());
+    }
+
+    public static ProductsChangedEvent deleted(Collection<String> ids) {
+        return new ProductsChangedEvent(List.of(), List.copyOf(ids));
+    }
+
+    public List<Product> getSaved() {
+        return saved;
+    }
+
+    public Collection<String> getDeletedIds() {
+        return deletedIds;
+    }
+}
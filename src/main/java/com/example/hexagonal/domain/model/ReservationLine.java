@@ -0,0 +1,29 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ReservationLine
+ * One line of a multi-product stock reservation: a product and the quantity to take from its stock.
+ */
+public class ReservationLine {
+    private final String productId;
+    private final Integer quantity;
+
+    public ReservationLine(String productId, Integer quantity) {
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("Product id is required");
+        }
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hexagonal.domain.model;
+
+/**
+ * Domain Value Object: ReservationRejection
+ * Why one line of a stock reservation could not be satisfied. {@code available} is the stock seen when the
+ * reservation was rejected, or null when the product does not exist.
+ */
+public class ReservationRejection {
+
+    public enum Reason {
+        NOT_FOUND,
+        INSUFFICIENT_STOCK
+    }
+
+    private final String productId;
+    private final int quantity;
+    private final Reason reason;
+    private final Integer available;
+
+    public ReservationRejection(String productId, int quantity, Reason reason, Integer available) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.reason = reason;
+        this.available = available;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hexagonal.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Domain Entity: StockHold
+ * A quantity of a product's stock set aside for a limited time. The quantity is taken out of the product's
+ * stock when the hold is placed; confirming the hold makes that final, releasing or expiring it gives it back.
+ */
+public class StockHold {
+    private final String id;
+    private final String productId;
+    private final int quantity;
+    private final Instant expiresAt;
+
+    public StockHold(String id, String productId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public StockHold(String productId, int quantity, Instant expiresAt) {
+        this(UUID.randomUUID().toString(), productId, quantity, expiresAt);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
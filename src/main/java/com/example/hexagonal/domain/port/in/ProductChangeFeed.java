@@ -0,0 +1,17 @@
+package com.example.hexagonal.domain.port.in;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+
+import java.util.List;
+
+/**
+ * Input Port (Primary Port / Driving Port)
+ * Resumable feed of product changes for systems that would otherwise poll the catalog.
+ */
+public interface ProductChangeFeed {
+
+    /**
+     * Events after the given offset, oldest first; pass the offset of the last event received to resume
+     */
+    List<ProductEvent> changesAfter(long offset, int limit);
+}
@@ -0,0 +1,27 @@
+package com.example.hexagonal.domain.port.in;
+
+import com.example.hexagonal.domain.model.Product;
+
+import java.util.List;
+
+/**
+ * Input Port (Primary Port / Driving Port)
+ * Full-text product search use cases.
+ */
+public interface ProductSearchService {
+
+    /**
+     * Search product names and descriptions, most relevant first
+     */
+    List<Product> search(String text, int limit);
+
+    /**
+     * Rebuild the search index from the repository and return the number of products indexed
+     */
+    int rebuildIndex();
+    
+    /**
+     * Number of products currently in the search index
+     */
+    int indexedProductCount();
+}
@@ -1,9 +1,15 @@
 package com.example.hexagonal.domain.port.in;
 
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ReservationLine;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Input Port (Primary Port / Driving Port)
@@ -17,6 +23,11 @@ public interface ProductService {
      */
     Product createProduct(Product product);
     
+    /**
+     * Create several new products in one batch
+     */
+    List<Product> createProducts(List<Product> products);
+    
     /**
      * Get a product by its ID
      */
@@ -28,17 +39,62 @@ public interface ProductService {
     List<Product> getAllProducts();
     
     /**
-     * Update an existing product
+     * Get a page of products ordered by ID, starting after the given cursor from a previous page
+     */
+    ProductPage getProductPage(String cursor, int limit);
+    
+    /**
+     * Get a page of the products matching the query, in the query's order, starting after the given cursor
+     */
+    ProductPage searchProducts(ProductQuery query, String cursor, int limit);
+    
+    /**
+     * Stream all products ordered by ID to the given consumer, one at a time
+     */
+    void streamAllProducts(Consumer<Product> consumer);
+    
+    /**
+     * Update an existing product. Writes that lose a race with another writer are retried on the new version.
      */
     Product updateProduct(String id, Product product);
     
+    /**
+     * Update an existing product only if it is still at {@code expectedVersion};
+     * throws ProductVersionConflictException otherwise
+     */
+    Product updateProduct(String id, Product product, long expectedVersion);
+    
+    /**
+     * Update several existing products in one batch.
+     * Products whose ID does not exist are skipped; the updated products are returned.
+     */
+    List<Product> updateProducts(List<Product> products);
+    
     /**
      * Delete a product by its ID
      */
     void deleteProduct(String id);
     
+    /**
+     * Delete several products in one batch and return the IDs that existed and were deleted
+     */
+    Set<String> deleteProducts(Collection<String> ids);
+    
     /**
      * Decrease product stock
      */
     Product decreaseStock(String id, Integer quantity);
+    
+    /**
+     * Decrease product stock only if the product is still at {@code expectedVersion};
+     * throws ProductVersionConflictException otherwise
+     */
+    Product decreaseStock(String id, Integer quantity, long expectedVersion);
+    
+    /**
+     * Decrease the stock of several products at once: either every line is applied or none is.
+     * Lines for the same product are combined. Returns the updated products ordered by ID, or throws
+     * ReservationRejectedException listing every line that could not be satisfied.
+     */
+    List<Product> reserveStock(List<ReservationLine> lines);
 }
@@ -0,0 +1,39 @@
+package com.example.hexagonal.domain.port.in;
+
+import com.example.hexagonal.domain.model.ProductUpdate;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Input Port (Primary Port / Driving Port)
+ * Live stream of product changes. Updates are coalesced per product, so a subscriber that falls behind
+ * receives the latest state of each product rather than every intermediate one.
+ */
+public interface ProductUpdateStream {
+
+    /**
+     * Subscribes to the given products, or to all products when {@code productIds} is empty.
+     * Throws IllegalStateException when the stream is at its subscriber limit.
+     */
+    Subscription subscribe(Set<String> productIds, Listener listener);
+
+    interface Listener {
+
+        /**
+         * Receives the next coalesced updates, or an empty list as a heartbeat. Never called concurrently for the
+         * same subscription; throwing ends the subscription.
+         */
+        void onUpdates(List<ProductUpdate> updates) throws Exception;
+
+        /**
+         * Called once when the stream ends the subscription itself, e.g. because the subscriber fell too far behind
+         */
+        void onClose();
+    }
+
+    interface Subscription {
+
+        void cancel();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hexagonal.domain.port.in;
+
+import com.example.hexagonal.domain.model.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Input Port (Primary Port / Driving Port)
+ * Non-blocking sibling of {@link ProductService}: the same use cases, returning Reactive Streams publishers.
+ * This is implemented by the application layer and called by the reactive adapters.
+ */
+public interface ReactiveProductService {
+
+    /**
+     * Create a new product
+     */
+    Mono<Product> createProduct(Product product);
+
+    /**
+     * Get a product by its ID; completes empty when it does not exist
+     */
+    Mono<Product> getProductById(String id);
+
+    /**
+     * Stream all products, honoring downstream demand
+     */
+    Flux<Product> getAllProducts();
+
+    /**
+     * Update an existing product
+     */
+    Mono<Product> updateProduct(String id, Product product);
+
+    /**
+     * Delete a product by its ID
+     */
+    Mono<Void> deleteProduct(String id);
+
+    /**
+     * Decrease product stock
+     */
+    Mono<Product> decreaseStock(String id, Integer quantity);
+}
@@ -0,0 +1,33 @@
+package com.example.hexagonal.domain.port.in;
+
+import com.example.hexagonal.domain.model.StockHold;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Input Port (Primary Port / Driving Port)
+ * Time-bounded stock holds, e.g. for the items in a shopping cart.
+ */
+public interface StockHoldService {
+
+    /**
+     * Take the quantity out of the product's stock for the given time, or the default time when ttl is null
+     */
+    StockHold hold(String productId, Integer quantity, Duration ttl);
+
+    /**
+     * Get an outstanding hold by its ID
+     */
+    Optional<StockHold> getHold(String holdId);
+
+    /**
+     * Make an outstanding hold's decrement final
+     */
+    StockHold confirm(String holdId);
+
+    /**
+     * Give an outstanding hold's quantity back to the product's stock
+     */
+    void release(String holdId);
+}
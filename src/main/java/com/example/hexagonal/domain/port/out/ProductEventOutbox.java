@@ -0,0 +1,32 @@
+package com.example.hexagonal.domain.port.out;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Durable store of product events awaiting delivery. Events must be appended in the same transaction as the
+ * ProductRepository write they describe, so an event exists if and only if its change was committed.
+ */
+public interface ProductEventOutbox {
+
+    void append(List<ProductEvent> events);
+
+    /**
+     * Assigns the next change-feed offsets to up to {@code limit} undelivered events, oldest first, and returns them.
+     * Must run in a transaction with their delivery; if delivery fails the assignment rolls back with it.
+     */
+    List<ProductEvent> sequencePending(int limit);
+
+    /**
+     * Sequenced events with an offset greater than {@code offset}, in offset order
+     */
+    List<ProductEvent> findAfter(long offset, int limit);
+
+    /**
+     * Deletes sequenced events that occurred before the cutoff and returns how many were deleted
+     */
+    int deleteSequencedBefore(Instant cutoff);
+}
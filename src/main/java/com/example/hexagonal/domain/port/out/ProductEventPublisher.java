@@ -0,0 +1,15 @@
+package com.example.hexagonal.domain.port.out;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+
+import java.util.List;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Delivers batches of sequenced product events to other systems. Delivery is at-least-once: a batch whose
+ * delivery throws is retried, so consumers should de-duplicate by offset.
+ */
+public interface ProductEventPublisher {
+
+    void publish(List<ProductEvent> events);
+}
@@ -1,9 +1,13 @@
 package com.example.hexagonal.domain.port.out;
 
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Output Port (Secondary Port / Driven Port)
@@ -13,25 +17,82 @@ import java.util.Optional;
 public interface ProductRepository {
     
     /**
-     * Save a product
+     * Save a product. An existing product is only overwritten if it is still at the version the given product
+     * carries; otherwise ProductVersionConflictException is thrown. Returns the product with its new version.
      */
     Product save(Product product);
     
+    /**
+     * Save several products (insert or update) in batches, without version checks.
+     * Returns the products with their new versions.
+     */
+    List<Product> saveAll(List<Product> products);
+    
+    /**
+     * Insert products that are known not to exist yet, skipping the existence check done by save
+     */
+    List<Product> insertAll(List<Product> products);
+    
     /**
      * Find a product by its ID
      */
     Optional<Product> findById(String id);
     
+    /**
+     * Find the products with the given IDs; IDs that do not exist are skipped
+     */
+    List<Product> findAllById(Collection<String> ids);
+    
     /**
      * Find all products
      */
     List<Product> findAll();
     
+    /**
+     * Find up to {@code limit} products ordered by ID, starting after the given ID (keyset pagination).
+     * A null {@code afterId} starts from the beginning of the catalog.
+     */
+    List<Product> findPage(String afterId, int limit);
+    
+    /**
+     * Find up to {@code limit} products matching the query, in the query's order, starting strictly after the
+     * given cursor (keyset pagination). A null cursor starts from the first match.
+     */
+    List<Product> search(ProductQuery query, ProductCursor after, int limit);
+    
+    /**
+     * Visit every product ordered by ID without materializing the whole catalog in memory
+     */
+    void forEach(Consumer<Product> action);
+    
+    /**
+     * Atomically decrease the stock of a product in a single conditional update, advancing its version.
+     * Returns the updated product, or empty when the product does not exist or has less stock than requested.
+     */
+    Optional<Product> decreaseStock(String id, int quantity);
+    
+    /**
+     * Like {@link #decreaseStock(String, int)}, but only applied while the product is still at {@code expectedVersion}.
+     * Returns empty when the product does not exist, has moved to another version or has less stock than requested.
+     */
+    Optional<Product> decreaseStock(String id, int quantity, long expectedVersion);
+    
+    /**
+     * Increase the stock of a product in a single update, e.g. to return a reservation that could not be completed.
+     * Returns the updated product, or empty when the product does not exist.
+     */
+    Optional<Product> increaseStock(String id, int quantity);
+    
     /**
      * Delete a product by its ID
      */
     void deleteById(String id);
     
+    /**
+     * Delete the products with the given IDs in batches
+     */
+    void deleteAllById(Collection<String> ids);
+    
     /**
      * Check if a product exists by ID
      */
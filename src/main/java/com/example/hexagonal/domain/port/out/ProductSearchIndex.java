@@ -0,0 +1,41 @@
+package com.example.hexagonal.domain.port.out;
+
+import com.example.hexagonal.domain.model.Product;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Full-text index over product names and descriptions.
+ * The index is derived data: it is kept up to date from repository writes and can always be rebuilt from the repository.
+ */
+public interface ProductSearchIndex {
+
+    /**
+     * Add a product to the index, replacing any previously indexed version
+     */
+    void index(Product product);
+
+    /**
+     * Remove a product from the index; unknown IDs are ignored
+     */
+    void remove(String id);
+
+    /**
+     * Find the IDs of up to {@code limit} products matching every term of the text, most relevant first.
+     * Terms also match as prefixes and with small typos, ranked below exact matches.
+     */
+    List<String> search(String text, int limit);
+
+    /**
+     * Replace the whole index with the products the source feeds to its consumer, one at a time.
+     * Searches keep using the previous index until the rebuild completes; returns the number of products indexed.
+     */
+    int rebuild(Consumer<Consumer<Product>> source);
+
+    /**
+     * Number of indexed products
+     */
+    int size();
+}
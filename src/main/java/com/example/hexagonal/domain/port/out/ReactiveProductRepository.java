@@ -0,0 +1,44 @@
+package com.example.hexagonal.domain.port.out;
+
+import com.example.hexagonal.domain.model.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Non-blocking sibling of {@link ProductRepository}.
+ * This is implemented by the reactive adapters (persistence layer).
+ */
+public interface ReactiveProductRepository {
+
+    /**
+     * Save a product
+     */
+    Mono<Product> save(Product product);
+
+    /**
+     * Find a product by its ID
+     */
+    Mono<Product> findById(String id);
+
+    /**
+     * Stream all products ordered by ID
+     */
+    Flux<Product> findAll();
+
+    /**
+     * Atomically decrease the stock of a product in a single conditional update.
+     * Completes empty when the product does not exist or has less stock than requested.
+     */
+    Mono<Product> decreaseStock(String id, int quantity);
+
+    /**
+     * Delete a product by its ID
+     */
+    Mono<Void> deleteById(String id);
+
+    /**
+     * Check if a product exists by ID
+     */
+    Mono<Boolean> existsById(String id);
+}
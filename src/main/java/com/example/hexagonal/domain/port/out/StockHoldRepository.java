@@ -0,0 +1,28 @@
+package com.example.hexagonal.domain.port.out;
+
+import com.example.hexagonal.domain.model.StockHold;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Persistence of outstanding stock holds.
+ */
+public interface StockHoldRepository {
+
+    void save(StockHold hold);
+
+    Optional<StockHold> findById(String id);
+
+    /**
+     * Delete a hold and report whether it was still there.
+     * Confirm, release and expiry each end a hold through this call, so exactly one of them wins.
+     */
+    boolean deleteById(String id);
+
+    /**
+     * Visit every outstanding hold, e.g. to schedule their expiry after a restart
+     */
+    void forEach(Consumer<StockHold> action);
+}
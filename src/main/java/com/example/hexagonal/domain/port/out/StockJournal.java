@@ -0,0 +1,38 @@
+package com.example.hexagonal.domain.port.out;
+
+import java.util.Map;
+
+/**
+ * Output Port (Secondary Port / Driven Port)
+ * Durable log of in-memory stock reservations that have not yet been written to the ProductRepository.
+ * Implementations must make a reservation durable before {@link #recordReservation} returns.
+ */
+public interface StockJournal {
+
+    /**
+     * Durably record a reservation that has been accepted in memory
+     */
+    void recordReservation(String productId, int quantity);
+
+    /**
+     * Record that a quantity previously reserved for a product has been written to the repository
+     */
+    void recordFlush(String productId, int quantity);
+
+    /**
+     * Record that a quantity reserved for a product could not be written to the repository because the
+     * repository no longer had that much stock. It stops being outstanding and is kept as oversold instead,
+     * so the sale is not lost and can be reconciled.
+     */
+    void recordOversell(String productId, int quantity);
+
+    /**
+     * Reserved quantities per product that were never recorded as flushed or oversold
+     */
+    Map<String, Integer> outstandingReservations();
+
+    /**
+     * Reserved quantities per product that were acknowledged but could not be written to the repository
+     */
+    Map<String, Integer> oversoldReservations();
+}
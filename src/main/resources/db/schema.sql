@@ -0,0 +1,41 @@
+-- Schema for the fast-start profile, which runs this script instead of letting Hibernate generate the DDL at
+-- startup. It must match the entity mappings: FastStartSchemaTest starts Hibernate with ddl-auto=validate on it.
+
+create sequence product_events_seq start with 1 increment by 50;
+
+create table product_events (
+    previous_price numeric(38,4),
+    price numeric(38,4),
+    quantity integer,
+    stock integer,
+    feed_offset bigint,
+    id bigint not null,
+    occurred_at timestamp(6) with time zone not null,
+    name varchar(255),
+    product_id varchar(255) not null,
+    type varchar(255) not null check (type in ('CREATED','PRICE_CHANGED','STOCK_DECREASED','STOCK_CHANGED','OUT_OF_STOCK','DELETED')),
+    primary key (id)
+);
+
+create table products (
+    price numeric(38,4),
+    stock integer,
+    version bigint not null,
+    description varchar(255),
+    id varchar(255) not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table stock_holds (
+    quantity integer not null,
+    expires_at timestamp(6) with time zone not null,
+    id varchar(255) not null,
+    product_id varchar(255) not null,
+    primary key (id)
+);
+
+create unique index idx_product_events_offset on product_events (feed_offset);
+create index idx_products_name on products (name, id);
+create index idx_products_price on products (price, id);
+create index idx_products_stock on products (stock, id);
@@ -0,0 +1,135 @@
+package com.example.hexagonal.adapter.in.reactive;
+
+import com.example.hexagonal.adapter.in.web.ProductRequest;
+import com.example.hexagonal.adapter.in.web.ProductResponse;
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ReactiveProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveProductController.class)
+@ActiveProfiles("reactive")
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveProductService productService;
+
+    @Test
+    void shouldCreateProduct() {
+        Product product = new Product("123", "Laptop", "High performance", new BigDecimal("999.99"), 10);
+        when(productService.createProduct(any(Product.class))).thenReturn(Mono.just(product));
+
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ProductRequest("Laptop", "High performance", new BigDecimal("999.99"), 10))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("123")
+                .jsonPath("$.name").isEqualTo("Laptop")
+                .jsonPath("$.available").isEqualTo(true);
+    }
+
+    @Test
+    void shouldRejectAProductWithoutStock() {
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Laptop\",\"price\":999.99}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingProduct() {
+        when(productService.getProductById("999")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/products/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldStreamProductsAsNdjson() {
+        when(productService.getAllProducts()).thenReturn(Flux.just(
+                new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5),
+                new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 0)));
+
+        Flux<ProductResponse> products = webTestClient.get().uri("/api/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(products)
+                .assertNext(product -> assertEquals("1", product.getId()))
+                .assertNext(product -> assertEquals(0, product.getStock()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldAnswerConflictWhenUpdateLosesAVersionRace() {
+        when(productService.updateProduct(eq("123"), any(Product.class)))
+                .thenReturn(Mono.error(new ProductVersionConflictException("123", 4)));
+
+        webTestClient.put().uri("/api/products/123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ProductRequest("Laptop", "Desc", new BigDecimal("899.99"), 5))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void shouldDecreaseStock() {
+        when(productService.decreaseStock("123", 3))
+                .thenReturn(Mono.just(new Product("123", "Laptop", "Desc", new BigDecimal("999.99"), 7)));
+
+        webTestClient.post().uri("/api/products/123/decrease-stock?quantity=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stock").isEqualTo(7);
+    }
+
+    @Test
+    void shouldRejectDecreaseBeyondStock() {
+        when(productService.decreaseStock("123", 30))
+                .thenReturn(Mono.error(new InsufficientStockException("123")));
+
+        webTestClient.post().uri("/api/products/123/decrease-stock?quantity=30")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldDeleteProduct() {
+        when(productService.deleteProduct("123")).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/products/123")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
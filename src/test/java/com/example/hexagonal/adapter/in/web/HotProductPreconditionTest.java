@@ -0,0 +1,91 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.application.service.StockReservationEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Starts the application with the in-memory stock engine and no scheduled flushes, so the test decides when a hot
+ * product's reservations reach the repository.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-product-precondition-test;DB_CLOSE_DELAY=-1",
+        "product.stock-engine.enabled=true",
+        "product.stock-engine.promotion-threshold=2",
+        "product.stock-engine.promotion-window-ms=600000",
+        "product.stock-engine.flush-interval-ms=600000",
+        "product.stock-engine.journal-fsync=false",
+        "product.events.file.enabled=false"
+})
+@AutoConfigureMockMvc
+class HotProductPreconditionTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("product.stock-engine.journal-path", () -> journalDirectory.resolve("stock-journal.log").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StockReservationEngine stockEngine;
+
+    @Test
+    void shouldAcceptTheETagOfAHotSnapshotAfterItsReservationsWereFlushed() throws Exception {
+        String id = createProduct(10);
+        // The second decrement crosses the promotion threshold and is reserved in memory
+        mockMvc.perform(post("/api/products/{id}/decrease-stock", id).param("quantity", "1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/products/{id}/decrease-stock", id).param("quantity", "1"))
+                .andExpect(status().isOk());
+        assertEquals(1, stockEngine.hotProductCount());
+
+        String etag = mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        stockEngine.flush();
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ProductRequest("Renamed", "Desc", new BigDecimal("10.00"), 8))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andExpect(jsonPath("$.stock").value(8));
+    }
+
+    private String createProduct(int stock) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ProductRequest("Hot SKU", "Desc", new BigDecimal("10.00"), stock))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductEventType;
+import com.example.hexagonal.domain.port.in.ProductChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductChangeFeedController.class)
+class ProductChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductChangeFeed productChangeFeed;
+
+    @Test
+    void shouldReturnEventsWithTheOffsetToResumeFrom() throws Exception {
+        Instant now = Instant.now();
+        when(productChangeFeed.changesAfter(41, 100)).thenReturn(List.of(
+                new ProductEvent(42L, ProductEventType.STOCK_DECREASED, "1", "Laptop", null, null, 0, 2, now),
+                new ProductEvent(43L, ProductEventType.OUT_OF_STOCK, "1", "Laptop", null, null, 0, null, now)));
+
+        mockMvc.perform(get("/api/products/changes").param("after", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.events[0].type").value("STOCK_DECREASED"))
+                .andExpect(jsonPath("$.events[0].quantity").value(2))
+                .andExpect(jsonPath("$.events[1].quantity").doesNotExist())
+                .andExpect(jsonPath("$.nextOffset").value(43));
+    }
+
+    @Test
+    void shouldKeepTheOffsetWhenThereAreNoNewEvents() throws Exception {
+        when(productChangeFeed.changesAfter(7, 100)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/products/changes").param("after", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(0))
+                .andExpect(jsonPath("$.nextOffset").value(7));
+    }
+
+    @Test
+    void shouldRejectNegativeOffsetAndOversizedLimit() throws Exception {
+        mockMvc.perform(get("/api/products/changes").param("after", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/changes").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,26 +1,55 @@
 package com.example.hexagonal.adapter.in.web;
 
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
 import com.example.hexagonal.domain.port.in.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import({ProductJsonCache.class, ProductCborConfiguration.class})
 class ProductControllerTest {
 
     @Autowired
@@ -29,6 +58,8 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private final ObjectMapper cborMapper = ProductCbor.newMapper();
+
     @MockBean
     private ProductService productService;
 
@@ -49,6 +80,29 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.stock").value(10));
     }
 
+    @Test
+    void shouldRejectAProductWithoutStockOrWithAnUnrepresentablePrice() throws Exception {
+        for (String body : List.of(
+                "{\"name\":\"Laptop\",\"price\":999.99}",
+                "{\"name\":\"Laptop\",\"stock\":10}",
+                "{\"name\":\"Laptop\",\"price\":999.99999,\"stock\":10}")) {
+            mockMvc.perform(post("/api/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(put("/api/products/{id}", "123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(post("/api/products/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"action\":\"create\",\"name\":\"Laptop\",\"price\":999.99}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400));
+        verifyNoInteractions(productService);
+    }
+
     @Test
     void shouldGetProductById() throws Exception {
         String productId = "123";
@@ -62,6 +116,26 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name").value("Laptop"));
     }
 
+    @Test
+    void shouldAnswerNotModifiedUntilProductChanges() throws Exception {
+        Product product = new Product("123", "Laptop", "Description", new BigDecimal("999.99"), 10);
+        when(productService.getProductById("123")).thenReturn(Optional.of(product));
+
+        String eTag = mockMvc.perform(get("/api/products/{id}", "123"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products/{id}", "123").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        product.decreaseStock(1);
+        mockMvc.perform(get("/api/products/{id}", "123").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(9));
+    }
+
     @Test
     void shouldReturnNotFoundWhenProductDoesNotExist() throws Exception {
         when(productService.getProductById("999")).thenReturn(Optional.empty());
@@ -84,6 +158,254 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[1].name").value("Product2"));
     }
 
+    @Test
+    void shouldGetProductPage() throws Exception {
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 10);
+
+        when(productService.searchProducts(any(ProductQuery.class), isNull(), eq(2)))
+                .thenReturn(new ProductPage(Arrays.asList(product1, product2), "next"));
+
+        mockMvc.perform(get("/api/products/page").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldPassFiltersAndSortToSearch() throws Exception {
+        when(productService.searchProducts(any(ProductQuery.class), eq("abc"), eq(10)))
+                .thenReturn(new ProductPage(List.of(), null));
+
+        mockMvc.perform(get("/api/products/page")
+                        .param("limit", "10")
+                        .param("cursor", "abc")
+                        .param("namePrefix", "Lap")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "500.50")
+                        .param("available", "true")
+                        .param("sort", "price")
+                        .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(0));
+
+        ArgumentCaptor<ProductQuery> query = ArgumentCaptor.forClass(ProductQuery.class);
+        verify(productService).searchProducts(query.capture(), eq("abc"), eq(10));
+        assertEquals("Lap", query.getValue().getNamePrefix());
+        assertEquals(Money.of("10"), query.getValue().getMinPrice());
+        assertEquals(Money.of("500.50"), query.getValue().getMaxPrice());
+        assertTrue(query.getValue().isAvailableOnly());
+        assertEquals(ProductSort.PRICE, query.getValue().getSort());
+        assertTrue(query.getValue().isDescending());
+    }
+
+    @Test
+    void shouldRejectUnknownSortKey() throws Exception {
+        mockMvc.perform(get("/api/products/page").param("sort", "popularity"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectPageLimitAboveMaximum() throws Exception {
+        mockMvc.perform(get("/api/products/page").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExportProductsAsNdjson() throws Exception {
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 10);
+
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product1);
+            consumer.accept(product2);
+            return null;
+        }).when(productService).streamAllProducts(any());
+
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Product2", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void shouldExportProductsAsACborSequenceWhenPreferred() throws Exception {
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.5"), 10);
+
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(product1);
+            consumer.accept(product2);
+            return null;
+        }).when(productService).streamAllProducts(any());
+
+        MvcResult result = mockMvc.perform(get("/api/products/export")
+                        .header("Accept", "application/x-ndjson;q=0.5, application/cbor-seq"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductCbor.APPLICATION_CBOR_SEQ))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<JsonNode> items = cborMapper.readerFor(JsonNode.class).readValues(body)) {
+            List<JsonNode> products = items.readAll();
+            assertEquals(2, products.size());
+            assertEquals("Product2", products.get(1).get("name").asText());
+            assertEquals(2_005_000, products.get(1).get("price").asLong());
+        }
+    }
+
+    @Test
+    void shouldCreateProductFromCborAndAnswerInCbor() throws Exception {
+        ProductRequest request = new ProductRequest("Laptop", "High performance", new BigDecimal("999.99"), 10);
+        when(productService.createProduct(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        byte[] body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ArgumentCaptor<Product> created = ArgumentCaptor.forClass(Product.class);
+        verify(productService).createProduct(created.capture());
+        assertEquals(Money.of("999.99"), created.getValue().getPrice());
+        JsonNode response = cborMapper.readTree(body);
+        assertEquals("Laptop", response.get("name").asText());
+        assertEquals(9_999_900, response.get("price").asLong());
+    }
+
+    @Test
+    void shouldNegotiateCborListingsWithAWeakETag() throws Exception {
+        when(productService.getAllProducts()).thenReturn(List.of(
+                new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5)));
+
+        MvcResult result = mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().string("ETag", endsWith("-cbor\"")))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn();
+
+        JsonNode products = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(1_000_000, products.get(0).get("price").asLong());
+        String eTag = result.getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        // The JSON representation has different bytes, so it must not validate against the CBOR ETag
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldGiveACborProductItsOwnStrongETagAndAcceptItInIfMatch() throws Exception {
+        Product current = new Product("123", "Laptop", "Description", Money.of("999.99"), 10, 4);
+        when(productService.getProductById("123")).thenReturn(Optional.of(current));
+        String jsonETag = mockMvc.perform(get("/api/products/{id}", "123"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborETag = mockMvc.perform(get("/api/products/{id}", "123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(jsonETag.substring(0, jsonETag.length() - 1) + "-cbor\"", cborETag);
+        when(productService.updateProduct(eq("123"), any(Product.class), eq(4L)))
+                .thenReturn(new Product("123", "Laptop", "Description", Money.of("899.99"), 10, 5));
+
+        mockMvc.perform(put("/api/products/{id}", "123")
+                        .header("If-Match", cborETag)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(
+                                new ProductRequest("Laptop", "Description", new BigDecimal("899.99"), 10))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", allOf(startsWith("\"5-"), endsWith("-cbor\""))));
+    }
+
+    @Test
+    void shouldPreferCborOnlyWhenNegotiationWouldPickIt() {
+        assertTrue(ProductController.prefersCbor("application/cbor"));
+        assertTrue(ProductController.prefersCbor("application/json;q=0.5, application/cbor"));
+        assertFalse(ProductController.prefersCbor(null));
+        assertFalse(ProductController.prefersCbor("*/*"));
+        assertFalse(ProductController.prefersCbor("application/json, application/cbor"));
+        assertFalse(ProductController.prefersCbor("application/cbor;q=0, */*"));
+    }
+
+    @Test
+    void shouldReadTheVersionFromJsonAndCborETags() {
+        assertEquals(3L, ProductController.parseIfMatch("\"3-abc\""));
+        assertEquals(3L, ProductController.parseIfMatch("\"3-abc-cbor\""));
+        assertNull(ProductController.parseIfMatch("*"));
+        assertThrows(IllegalArgumentException.class, () -> ProductController.parseIfMatch("\"3-abc-json\""));
+        assertThrows(IllegalArgumentException.class, () -> ProductController.parseIfMatch("W/\"3-abc-cbor\""));
+    }
+
+    @Test
+    void shouldPreferCborSequenceOnlyWhenAskedForExplicitly() {
+        assertTrue(ProductController.prefersCborSeq("application/cbor-seq"));
+        assertTrue(ProductController.prefersCborSeq("application/x-ndjson;q=0.1, application/cbor-seq"));
+        assertFalse(ProductController.prefersCborSeq(null));
+        assertFalse(ProductController.prefersCborSeq("*/*"));
+        assertFalse(ProductController.prefersCborSeq("application/x-ndjson, application/cbor-seq"));
+        assertFalse(ProductController.prefersCborSeq("application/cbor-seq;q=0, */*"));
+    }
+
+    @Test
+    void shouldApplyBulkOperationsAndReportPerItemResults() throws Exception {
+        List<BulkItemRequest> items = List.of(
+                new BulkItemRequest("create", null, "Laptop", "Desc", new BigDecimal("999.99"), 10),
+                new BulkItemRequest("create", null, "", "Invalid", new BigDecimal("1.00"), 1),
+                new BulkItemRequest("update", "1", "Mouse", "Desc", new BigDecimal("49.99"), 5),
+                new BulkItemRequest("update", "missing", "Pad", "Desc", new BigDecimal("9.99"), 5),
+                new BulkItemRequest("delete", "2", null, null, null, null));
+        Product updated = new Product("1", "Mouse", "Desc", new BigDecimal("49.99"), 5);
+
+        when(productService.createProducts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productService.updateProducts(anyList())).thenReturn(List.of(updated));
+        when(productService.deleteProducts(anyCollection())).thenReturn(Set.of("2"));
+
+        mockMvc.perform(post("/api/products/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[3].status").value(404))
+                .andExpect(jsonPath("$[4].status").value(204));
+    }
+
+    @Test
+    void shouldAcceptNdjsonBulkBody() throws Exception {
+        when(productService.createProducts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String body = "{\"action\":\"create\",\"name\":\"A\",\"price\":1.00,\"stock\":1}\n"
+                + "{\"action\":\"create\",\"name\":\"B\",\"price\":2.00,\"stock\":2}\n";
+
+        mockMvc.perform(post("/api/products/_bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].status").value(201));
+    }
+
     @Test
     void shouldUpdateProduct() throws Exception {
         String productId = "123";
@@ -120,4 +442,63 @@ class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.stock").value(7));
     }
+
+    @Test
+    void shouldUpdateConditionallyWithTheVersionFromTheETag() throws Exception {
+        Product current = new Product("123", "Laptop", "Description", Money.of("999.99"), 10, 4);
+        when(productService.getProductById("123")).thenReturn(Optional.of(current));
+        String eTag = mockMvc.perform(get("/api/products/{id}", "123"))
+                .andExpect(jsonPath("$.version").value(4))
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(eTag.startsWith("\"4-"));
+        when(productService.updateProduct(eq("123"), any(Product.class), eq(4L)))
+                .thenReturn(new Product("123", "Laptop", "Description", Money.of("899.99"), 10, 5));
+
+        mockMvc.perform(put("/api/products/{id}", "123")
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductRequest("Laptop", "Description", new BigDecimal("899.99"), 10))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"5-")))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void shouldAnswerPreconditionFailedForAStaleOrUnusableIfMatch() throws Exception {
+        ProductRequest request = new ProductRequest("Laptop", "Description", new BigDecimal("899.99"), 10);
+        when(productService.updateProduct(eq("123"), any(Product.class), eq(3L)))
+                .thenThrow(new ProductVersionConflictException("123", 3));
+
+        for (String ifMatch : List.of("\"3-abc\"", "W/\"3-abc\"", "\"abc\"", "\"3-abc\", \"4-def\"")) {
+            mockMvc.perform(put("/api/products/{id}", "123")
+                    .header("If-Match", ifMatch)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed());
+        }
+        verify(productService, never()).updateProduct(eq("123"), any(Product.class));
+    }
+
+    @Test
+    void shouldAnswerConflictWhenAnUnconditionalWriteKeepsLosingTheRace() throws Exception {
+        when(productService.updateProduct(eq("123"), any(Product.class)))
+                .thenThrow(new ProductVersionConflictException("123", 7));
+
+        mockMvc.perform(put("/api/products/{id}", "123")
+                .header("If-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductRequest("Laptop", "Description", BigDecimal.ONE, 10))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldDecreaseStockConditionally() throws Exception {
+        when(productService.decreaseStock("123", 3, 2L))
+                .thenThrow(new ProductVersionConflictException("123", 2));
+
+        mockMvc.perform(post("/api/products/{id}/decrease-stock", "123")
+                .param("quantity", "3")
+                .header("If-Match", "\"2-ff\""))
+                .andExpect(status().isPreconditionFailed());
+    }
 }
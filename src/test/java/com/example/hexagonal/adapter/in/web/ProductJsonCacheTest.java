@@ -0,0 +1,105 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonCacheTest {
+
+    private ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper = ProductCbor.newMapper();
+    private ProductJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new ProductJsonCache(objectMapper, 100);
+    }
+
+    @Test
+    void shouldRenderTheSameBytesAsJackson() throws Exception {
+        List<Product> products = List.of(
+                new Product("1", "Café", null, new BigDecimal("1.50"), 0),
+                new Product("2", "Quote \" and slash \\", "Line\nbreak", new BigDecimal("10"), 3));
+        List<ProductResponse> responses = products.stream().map(ProductController::toResponse).toList();
+
+        assertEquals(objectMapper.writeValueAsString(responses.get(0)), render(cache.single(products.get(0))));
+        assertEquals(objectMapper.writeValueAsString(responses), render(cache.array(products)));
+        assertEquals("[]", render(cache.array(List.of())));
+        assertEquals(objectMapper.writeValueAsString(new ProductPageResponse(responses, "next")),
+                render(cache.page(products, "next")));
+        assertEquals(objectMapper.writeValueAsString(new ProductPageResponse(List.of(), null)),
+                render(cache.page(List.of(), null)));
+    }
+
+    @Test
+    void shouldRenderTheSameCborDocumentsAsJackson() throws Exception {
+        List<Product> products = List.of(
+                new Product("1", "Café", null, new BigDecimal("1.50"), 0),
+                new Product("2", "Tablet", "Line\nbreak", new BigDecimal("10"), 3));
+        List<ProductResponse> responses = products.stream().map(ProductController::toResponse).toList();
+
+        assertEquals(jacksonCbor(responses.get(0)), renderCbor(cache.single(products.get(0))));
+        assertEquals(jacksonCbor(responses), renderCbor(cache.array(products)));
+        assertEquals(jacksonCbor(new ProductPageResponse(responses, "next")), renderCbor(cache.page(products, "next")));
+        assertEquals(jacksonCbor(new ProductPageResponse(List.of(), null)), renderCbor(cache.page(List.of(), null)));
+        assertEquals(15_000, renderCbor(cache.single(products.get(0))).get("price").asLong());
+    }
+
+    @Test
+    void shouldReuseBytesUntilAFieldChanges() {
+        Product product = new Product("1", "Laptop", "Description", new BigDecimal("999.99"), 10);
+        ProductJson first = cache.single(product);
+
+        ProductJson same = cache.single(new Product("1", "Laptop", "Description", new BigDecimal("999.99"), 10));
+        ProductJson rescaled = cache.single(new Product("1", "Laptop", "Description", new BigDecimal("999.990"), 10));
+        product.decreaseStock(1);
+        ProductJson restocked = cache.single(product);
+
+        assertSame(first.fragments().get(0), same.fragments().get(0));
+        assertEquals(first.eTag(), same.eTag());
+        assertEquals(first.eTag(), rescaled.eTag());
+        assertNotEquals(rescaled.eTag(), restocked.eTag());
+        assertTrue(render(restocked).contains("\"stock\":9"));
+    }
+
+    @Test
+    void shouldChangeListETagWhenOrderOrCursorChanges() {
+        Product a = new Product("1", "A", null, BigDecimal.ONE, 1);
+        Product b = new Product("2", "B", null, BigDecimal.ONE, 1);
+
+        assertNotEquals(cache.array(List.of(a, b)).eTag(), cache.array(List.of(b, a)).eTag());
+        assertNotEquals(cache.page(List.of(a), "x").eTag(), cache.page(List.of(a), "y").eTag());
+        assertEquals(cache.page(List.of(a), null).eTag(), cache.page(List.of(a), null).eTag());
+    }
+
+    /**
+     * Compared as trees: Jackson writes definite-length arrays, the cache indefinite-length ones
+     */
+    private JsonNode renderCbor(ProductJson json) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.cborFragments().forEach(out::writeBytes);
+        return cborMapper.readTree(out.toByteArray());
+    }
+
+    private JsonNode jacksonCbor(Object value) throws Exception {
+        return cborMapper.readTree(cborMapper.writeValueAsBytes(value));
+    }
+
+    private static String render(ProductJson json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.fragments().forEach(out::writeBytes);
+        assertEquals(out.size(), json.length());
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductSearchController.class)
+class ProductSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductSearchService productSearchService;
+
+    @Test
+    void shouldReturnRankedMatches() throws Exception {
+        Product sleeve = new Product("2", "Laptop Sleeve", "Desc", new BigDecimal("19.99"), 10);
+        Product laptop = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        when(productSearchService.search("lapt", 20)).thenReturn(List.of(sleeve, laptop));
+
+        mockMvc.perform(get("/api/products/search").param("q", "lapt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("2"))
+                .andExpect(jsonPath("$[1].id").value("1"));
+    }
+
+    @Test
+    void shouldRejectBlankQueryAndOversizedLimit() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "laptop").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+}
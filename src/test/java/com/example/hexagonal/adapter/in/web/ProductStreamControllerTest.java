@@ -0,0 +1,69 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.ProductUpdate;
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductStreamController.class)
+class ProductStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductUpdateStream productUpdateStream;
+
+    @Test
+    void shouldStreamUpdatesForTheRequestedProducts() throws Exception {
+        ArgumentCaptor<ProductUpdateStream.Listener> listener = ArgumentCaptor.forClass(ProductUpdateStream.Listener.class);
+        when(productUpdateStream.subscribe(eq(Set.of("1", "2")), listener.capture()))
+                .thenReturn(mock(ProductUpdateStream.Subscription.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products/stream").param("ids", "1,2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        listener.getValue().onUpdates(List.of(new ProductUpdate(42, "1", "Laptop", Money.of("999.99"), 3, false)));
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:42"));
+        assertTrue(body.contains("event:product"));
+        assertTrue(body.contains("\"stock\":3"));
+    }
+
+    @Test
+    void shouldRejectTooManyProductIds() throws Exception {
+        String ids = IntStream.rangeClosed(0, ProductStreamController.MAX_STREAM_IDS)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/products/stream").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenTheStreamIsFull() throws Exception {
+        when(productUpdateStream.subscribe(any(), any())).thenThrow(new IllegalStateException("full"));
+
+        mockMvc.perform(get("/api/products/stream"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ReservationRejection;
+import com.example.hexagonal.domain.port.in.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReservationController.class)
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @Test
+    void shouldReturnRemainingStockForEveryLine() throws Exception {
+        when(productService.reserveStock(anyList())).thenReturn(List.of(
+                new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 7),
+                new Product("2", "Mouse", "Desc", new BigDecimal("19.99"), 0)));
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":\"2\",\"quantity\":1},{\"productId\":\"1\",\"quantity\":3}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reserved").value(true))
+                .andExpect(jsonPath("$.lines[0].productId").value("1"))
+                .andExpect(jsonPath("$.lines[0].quantity").value(3))
+                .andExpect(jsonPath("$.lines[0].stock").value(7))
+                .andExpect(jsonPath("$.lines[1].stock").value(0));
+    }
+
+    @Test
+    void shouldReturnConflictWithTheReasonForEachRejectedLine() throws Exception {
+        when(productService.reserveStock(anyList())).thenThrow(new ReservationRejectedException(List.of(
+                new ReservationRejection("1", 3, ReservationRejection.Reason.INSUFFICIENT_STOCK, 2),
+                new ReservationRejection("9", 1, ReservationRejection.Reason.NOT_FOUND, null))));
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":\"1\",\"quantity\":3},{\"productId\":\"9\",\"quantity\":1}]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.reserved").value(false))
+                .andExpect(jsonPath("$.lines[0].reason").value("INSUFFICIENT_STOCK"))
+                .andExpect(jsonPath("$.lines[0].available").value(2))
+                .andExpect(jsonPath("$.lines[1].reason").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.lines[1].available").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectEmptyBasketsAndNonPositiveQuantities() throws Exception {
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lines\":[{\"productId\":\"1\",\"quantity\":0}]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hexagonal.adapter.in.web;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.StockHold;
+import com.example.hexagonal.domain.port.in.StockHoldService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StockHoldController.class)
+class StockHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockHoldService stockHoldService;
+
+    @Test
+    void shouldPlaceAHold() throws Exception {
+        when(stockHoldService.hold("1", 2, Duration.ofSeconds(600)))
+                .thenReturn(new StockHold("h", "1", 2, Instant.parse("2024-01-01T00:10:00Z")));
+
+        mockMvc.perform(post("/api/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":\"1\",\"quantity\":2,\"ttlSeconds\":600}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("h"))
+                .andExpect(jsonPath("$.expiresAt").value("2024-01-01T00:10:00Z"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheHoldCannotBePlaced() throws Exception {
+        when(stockHoldService.hold("1", 50, null)).thenThrow(new InsufficientStockException("1"));
+
+        mockMvc.perform(post("/api/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":\"1\",\"quantity\":50}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldConfirmAndReleaseHolds() throws Exception {
+        when(stockHoldService.confirm("h")).thenReturn(new StockHold("h", "1", 2, Instant.now()));
+
+        mockMvc.perform(post("/api/holds/h/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(2));
+        mockMvc.perform(delete("/api/holds/h"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownHolds() throws Exception {
+        when(stockHoldService.confirm("gone")).thenThrow(new IllegalArgumentException("Hold not found with id: gone"));
+        doThrow(new IllegalArgumentException("Hold not found with id: gone")).when(stockHoldService).release("gone");
+
+        mockMvc.perform(post("/api/holds/gone/confirm"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/holds/gone"))
+                .andExpect(status().isNotFound());
+    }
+}
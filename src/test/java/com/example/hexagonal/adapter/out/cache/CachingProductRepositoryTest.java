@@ -0,0 +1,225 @@
+package com.example.hexagonal.adapter.out.cache;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private CachingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingProductRepository(delegate, Caffeine.newBuilder().maximumSize(100).recordStats().build());
+    }
+
+    @Test
+    void shouldReadThroughOnceAndServeFromCache() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        when(delegate.findById("1")).thenReturn(Optional.of(product));
+
+        repository.findById("1");
+        Product cached = repository.findById("1").orElseThrow();
+
+        assertEquals("Laptop", cached.getName());
+        verify(delegate, times(1)).findById("1");
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    void shouldNotLeakMutationsOfReturnedProductsIntoCache() {
+        when(delegate.findById("1")).thenReturn(Optional.of(new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10)));
+
+        repository.findById("1").orElseThrow().decreaseStock(4);
+
+        assertEquals(10, repository.findById("1").orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldCacheNegativeExistenceLookups() {
+        when(delegate.existsById("missing")).thenReturn(false);
+
+        assertFalse(repository.existsById("missing"));
+        assertFalse(repository.existsById("missing"));
+        assertTrue(repository.findById("missing").isEmpty());
+
+        verify(delegate, times(1)).existsById("missing");
+        verify(delegate, never()).findById("missing");
+    }
+
+    @Test
+    void shouldUpdateEntryOnSaveAndStockDecrease() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        when(delegate.save(product)).thenReturn(product);
+        when(delegate.decreaseStock("1", 3)).thenReturn(Optional.of(new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 7)));
+
+        repository.save(product);
+        repository.decreaseStock("1", 3);
+
+        assertEquals(7, repository.findById("1").orElseThrow().getStock());
+        verify(delegate, never()).findById("1");
+    }
+
+    @Test
+    void shouldCacheDeletionAsAMiss() {
+        when(delegate.findById("1")).thenReturn(Optional.of(new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10)));
+        repository.findById("1");
+
+        repository.deleteById("1");
+
+        assertTrue(repository.findById("1").isEmpty());
+        assertFalse(repository.existsById("1"));
+        verify(delegate, times(1)).findById("1");
+    }
+
+    @Test
+    void shouldNotLetALoadThatRacedAWriteReplaceTheNewerEntry() {
+        Product saved = new Product("1", "Laptop", "Desc", Money.of("999.99"), 7, 3);
+        when(delegate.save(saved)).thenReturn(saved);
+        when(delegate.findById("1")).thenAnswer(invocation -> {
+            // The save lands while the load is reading the older row
+            repository.save(saved);
+            return Optional.of(new Product("1", "Laptop", "Desc", Money.of("999.99"), 10, 2));
+        });
+
+        assertEquals(7, repository.findById("1").orElseThrow().getStock());
+        assertEquals(7, repository.findById("1").orElseThrow().getStock());
+        verify(delegate, times(1)).findById("1");
+    }
+
+    @Test
+    void shouldNotLetALoadThatRacedADeletionBringTheProductBack() {
+        when(delegate.findById("1")).thenAnswer(invocation -> {
+            repository.deleteById("1");
+            return Optional.of(new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10));
+        });
+
+        assertTrue(repository.findById("1").isEmpty());
+        assertTrue(repository.findById("1").isEmpty());
+    }
+
+    @Test
+    void shouldNotHideAProductSavedWhileCheckingExistence() {
+        Product saved = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        when(delegate.save(saved)).thenReturn(saved);
+        when(delegate.existsById("1")).thenAnswer(invocation -> {
+            repository.save(saved);
+            return false;
+        });
+
+        assertFalse(repository.existsById("1"));
+        assertTrue(repository.existsById("1"));
+    }
+
+    @Test
+    void shouldCacheAWriteMadeInATransactionOnlyOnceItCommits() {
+        Product saved = new Product("1", "Laptop", "Desc", Money.of("999.99"), 7, 3);
+        when(delegate.save(saved)).thenReturn(saved);
+        when(delegate.findById("1")).thenReturn(Optional.of(new Product("1", "Laptop", "Desc", Money.of("999.99"), 10, 2)));
+        repository.findById("1");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.save(saved);
+            // Other threads reload the committed row instead of seeing the uncommitted write
+            assertEquals(10, CompletableFuture.supplyAsync(() -> repository.findById("1")).join().orElseThrow().getStock());
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(7, repository.findById("1").orElseThrow().getStock());
+        verify(delegate, times(2)).findById("1");
+    }
+
+    @Test
+    void shouldDropAWriteMadeInATransactionThatRollsBack() {
+        Product saved = new Product("1", "Laptop", "Desc", Money.of("999.99"), 7, 3);
+        when(delegate.save(saved)).thenReturn(saved);
+        when(delegate.findById("1")).thenReturn(Optional.of(new Product("1", "Laptop", "Desc", Money.of("999.99"), 10, 2)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.save(saved);
+            // The writing transaction reads its own write from the delegate, without caching it
+            repository.findById("1");
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(10, repository.findById("1").orElseThrow().getStock());
+        verify(delegate, times(2)).findById("1");
+    }
+
+    @Test
+    void shouldKeepTheNewerVersionWhenCommitCallbacksRunOutOfOrder() {
+        Product older = new Product("1", "Laptop", "Desc", Money.of("999.99"), 8, 3);
+        Product newer = new Product("1", "Laptop", "Desc", Money.of("999.99"), 6, 4);
+        when(delegate.save(older)).thenReturn(older);
+        when(delegate.save(newer)).thenReturn(newer);
+        List<TransactionSynchronization> first = inTransaction(() -> repository.save(older));
+        List<TransactionSynchronization> second = inTransaction(() -> repository.save(newer));
+
+        second.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        first.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(6, repository.findById("1").orElseThrow().getStock());
+        verify(delegate, never()).findById("1");
+    }
+
+    @Test
+    void shouldNotLetAnEarlierWriteCommittedLateReplaceADeletion() {
+        Product saved = new Product("1", "Laptop", "Desc", Money.of("999.99"), 8, 3);
+        when(delegate.save(saved)).thenReturn(saved);
+        when(delegate.findById("1")).thenReturn(Optional.empty());
+        List<TransactionSynchronization> write = inTransaction(() -> repository.save(saved));
+        List<TransactionSynchronization> deletion = inTransaction(() -> repository.deleteById("1"));
+
+        deletion.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        write.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertTrue(repository.findById("1").isEmpty());
+        verify(delegate).findById("1");
+    }
+
+    /**
+     * Runs the writes in a transaction that is left open, and returns its synchronizations for the test to complete
+     */
+    private List<TransactionSynchronization> inTransaction(Runnable writes) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writes.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(repository);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSizingPolicyTest {
+
+    private final PoolSizingPolicy policy = new PoolSizingPolicy(4, 40, TimeUnit.MILLISECONDS.toNanos(5), 0.5);
+
+    @Test
+    void shouldGrowByAQuarterWhenCallersWaitOnAFullPool() {
+        assertEquals(12, policy.nextSize(10, 0.95, 10, 3, -1));
+        assertEquals(5, policy.nextSize(4, 1.0, 4, 0, TimeUnit.MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    void shouldNotGrowWhenCallersWaitWhileConnectionsAreIdle() {
+        assertEquals(10, policy.nextSize(10, 0.4, 6, 2, TimeUnit.MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    void shouldShrinkOneAtATimeButKeepRoomForTheBusiestMoment() {
+        assertEquals(9, policy.nextSize(10, 0.2, 4, 0, 0));
+        assertEquals(10, policy.nextSize(10, 0.3, 9, 0, 0));
+    }
+
+    @Test
+    void shouldHoldSteadyBetweenTheThresholds() {
+        assertEquals(10, policy.nextSize(10, 0.7, 9, 0, TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        assertEquals(40, policy.nextSize(40, 1.0, 40, 50, -1));
+        assertEquals(4, policy.nextSize(4, 0.0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizingPolicy(0, 10, 0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizingPolicy(10, 5, 0, 0.5));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the primary and the replica pools pointing at two different databases, so the
+ * rows a service call sees, or leaves behind, show which pool served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaConfigurationTest.PRIMARY_URL,
+        "product.datasource.read-replica.enabled=true",
+        "product.datasource.read-replica.url=" + ReadReplicaConfigurationTest.REPLICA_URL,
+        "product.datasource.adaptive-sizing.enabled=true",
+        "product.events.file.enabled=false"
+})
+class ReadReplicaConfigurationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:read-replica-test-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:read-replica-test-replica;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_ONLY_ID = "replica-only";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdaptivePoolSizer poolSizer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Hibernate only creates the schema on the primary; the replica gets it from the fast-start script, plus a
+     * product the primary does not have
+     */
+    @BeforeAll
+    static void createReplica() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'PRODUCTS'",
+                Integer.class) == 0) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(replica);
+            jdbc.update("INSERT INTO products (id, name, description, price, stock, version) VALUES (?, ?, ?, ?, ?, ?)",
+                    REPLICA_ONLY_ID, "Replica", "Only on the replica", new BigDecimal("1.00"), 1, 0);
+        }
+    }
+
+    @Test
+    void shouldServeReadOnlyReadsFromTheReplicaPool() {
+        Set<String> ids = productService.getAllProducts().stream().map(Product::getId).collect(Collectors.toSet());
+
+        assertTrue(ids.contains(REPLICA_ONLY_ID));
+        assertEquals(0, countOnPrimary(REPLICA_ONLY_ID));
+    }
+
+    @Test
+    void shouldSendWritesToThePrimaryPool() {
+        Product created = productService.createProduct(new Product("Primary", "Written", new BigDecimal("2.00"), 2));
+
+        assertEquals(1, countOnPrimary(created.getId()));
+        assertEquals(0, countOnReplica(created.getId()));
+    }
+
+    /**
+     * With open-in-view, one EntityManager spans every transaction of a request. Its connection must be taken
+     * per transaction, once the read-only flag is known, or a write following a read would reuse the replica's.
+     */
+    @Test
+    void shouldRouteEveryTransactionOfALongLivedEntityManager() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        Product created;
+        try {
+            assertTrue(productService.getAllProducts().stream().anyMatch(product -> product.getId().equals(REPLICA_ONLY_ID)));
+            created = productService.createProduct(new Product("Request", "Written", new BigDecimal("3.00"), 3));
+            assertTrue(productService.getAllProducts().stream().anyMatch(product -> product.getId().equals(REPLICA_ONLY_ID)));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals(1, countOnPrimary(created.getId()));
+        assertEquals(0, countOnReplica(created.getId()));
+    }
+
+    @Test
+    void shouldSizeEachPoolOnce() {
+        productService.getAllProducts();
+        productService.createProduct(new Product("Sized", "Written", new BigDecimal("4.00"), 4));
+
+        poolSizer.sample();
+
+        // The routing data source unwraps to the primary pool, which must not be sized a second time through it
+        assertEquals(List.of(ReadReplicaConfiguration.PRIMARY_POOL, ReadReplicaConfiguration.REPLICA_POOL),
+                poolSizer.managedPools());
+        assertEquals(Set.of(ReadReplicaConfiguration.PRIMARY_POOL, ReadReplicaConfiguration.REPLICA_POOL),
+                meterRegistry.find("product.datasource.pool.utilization").gauges().stream()
+                        .map(gauge -> gauge.getId().getTag("pool"))
+                        .collect(Collectors.toSet()));
+    }
+
+    private int countOnPrimary(String id) {
+        return new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, id);
+    }
+
+    private static int countOnReplica(String id) {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .queryForObject("SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hexagonal.adapter.out.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource routing = ReadWriteRoutingDataSource.lazy(database("primary"), database("replica"));
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void shouldSendReadWriteTransactionsAndNonTransactionalWorkToThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> server()));
+        assertEquals("primary", server());
+    }
+
+    @Test
+    void shouldKeepReadsInsideAReadWriteTransactionOnThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> readOnly.execute(nested -> server())));
+    }
+
+    private String server() {
+        return jdbc.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE server (name VARCHAR(16))");
+        jdbc.update("INSERT INTO server VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private FileStockJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void shouldMakeEveryConcurrentAppendDurable() throws Exception {
+        open(Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> appends = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            String productId = "p" + thread % 2;
+            appends.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    journal.recordReservation(productId, 2);
+                    journal.recordFlush(productId, 1);
+                }
+            }));
+        }
+        for (Future<?> append : appends) {
+            append.get();
+        }
+        executor.shutdown();
+
+        assertEquals(Map.of("p0", 800, "p1", 800), journal.outstandingReservations());
+        reopen(Long.MAX_VALUE);
+        assertEquals(Map.of("p0", 800, "p1", 800), journal.outstandingReservations());
+    }
+
+    @Test
+    void shouldKeepOversoldReservationsThroughCompactionAndRestart() throws IOException {
+        open(1);
+        journal.recordReservation("p1", 5);
+        journal.recordReservation("p2", 4);
+        journal.recordFlush("p1", 2);
+        journal.recordOversell("p1", 3);
+
+        assertEquals(Map.of("p2", 4), journal.outstandingReservations());
+        assertEquals(Map.of("p1", 3), journal.oversoldReservations());
+        reopen(1);
+        assertEquals(Map.of("p2", 4), journal.outstandingReservations());
+        assertEquals(Map.of("p1", 3), journal.oversoldReservations());
+    }
+
+    @Test
+    void shouldSkipATornLastLineOnReplay() throws IOException {
+        open(Long.MAX_VALUE);
+        journal.recordReservation("p1", 5);
+        journal.close();
+        Files.writeString(directory.resolve("stock.log"), "R p1", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        open(Long.MAX_VALUE);
+
+        assertEquals(Map.of("p1", 5), journal.outstandingReservations());
+    }
+
+    private void open(long compactThresholdBytes) {
+        journal = new FileStockJournal(directory.resolve("stock.log").toString(), true, compactThresholdBytes);
+    }
+
+    private void reopen(long compactThresholdBytes) throws IOException {
+        journal.close();
+        open(compactThresholdBytes);
+    }
+}
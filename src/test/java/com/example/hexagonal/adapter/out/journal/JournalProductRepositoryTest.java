@@ -0,0 +1,145 @@
+package com.example.hexagonal.adapter.out.journal;
+
+import com.example.hexagonal.adapter.out.offheap.OffHeapProductStore;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalProductRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private ProductJournal journal;
+    private JournalProductRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    void shouldRestoreWritesAfterRestart() throws IOException {
+        open(FsyncPolicy.ALWAYS);
+        repository.save(product("p1", "Laptop", "999.99", 10));
+        repository.saveAll(List.of(product("p2", "Mouse", "25.00", 5), product("p3", "Café Mug", "7.5", 1)));
+        repository.save(product("p2", "Wireless Mouse", "29.00", 5));
+        repository.decreaseStock("p1", 3);
+        repository.deleteById("p3");
+
+        reopen(FsyncPolicy.ALWAYS);
+
+        Product laptop = repository.findById("p1").orElseThrow();
+        assertEquals(7, laptop.getStock());
+        assertEquals(Money.of("999.99"), laptop.getPrice());
+        assertEquals("Wireless Mouse", repository.findById("p2").orElseThrow().getName());
+        assertFalse(repository.existsById("p3"));
+    }
+
+    @Test
+    void shouldRestoreVersionsAfterRestartAndRejectStaleSaves() throws IOException {
+        open(FsyncPolicy.ALWAYS);
+        repository.save(product("p1", "Laptop", "999.99", 10));
+        Product saved = repository.save(product("p1", "Laptop Pro", "999.99", 10));
+        repository.decreaseStock("p1", 1, saved.getVersion());
+
+        reopen(FsyncPolicy.ALWAYS);
+
+        Product laptop = repository.findById("p1").orElseThrow();
+        assertEquals(2, laptop.getVersion());
+        assertEquals(9, laptop.getStock());
+        assertThrows(ProductVersionConflictException.class, () -> repository.save(saved));
+        assertTrue(repository.decreaseStock("p1", 1, saved.getVersion()).isEmpty());
+    }
+
+    @Test
+    void shouldNotJournalRejectedStockDecrements() throws IOException {
+        open(FsyncPolicy.NONE);
+        repository.save(product("p1", "Laptop", "1.00", 2));
+        long size = journal.size();
+
+        assertTrue(repository.decreaseStock("p1", 3).isEmpty());
+        assertTrue(repository.decreaseStock("missing", 1).isEmpty());
+
+        assertEquals(size, journal.size());
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotAndJournalTail() throws IOException {
+        open(FsyncPolicy.BATCHED);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            products.add(product(String.format("p%05d", i), "Product " + i, "1.00", 10));
+        }
+        repository.insertAll(products);
+        journal.compact();
+        repository.decreaseStock("p00000", 4);
+        repository.deleteById("p00001");
+        journal.sync();
+
+        assertEquals(List.of("journal-0000000000000002.log", "snapshot-0000000000000002.bin"), files());
+        reopen(FsyncPolicy.BATCHED);
+
+        assertEquals(6, repository.findById("p00000").orElseThrow().getStock());
+        assertFalse(repository.existsById("p00001"));
+        assertEquals(24_999, repository.findAll().size());
+    }
+
+    @Test
+    void shouldTruncateTornRecordAtEndOfJournal() throws IOException {
+        open(FsyncPolicy.ALWAYS);
+        repository.save(product("p1", "Laptop", "1.00", 1));
+        repository.save(product("p2", "Mouse", "1.00", 1));
+        journal.close();
+        Path segment = directory.resolve("journal-0000000000000001.log");
+        long intact = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(intact - 3);
+        }
+
+        open(FsyncPolicy.ALWAYS);
+        repository.save(product("p3", "Keyboard", "1.00", 1));
+        reopen(FsyncPolicy.ALWAYS);
+
+        assertTrue(repository.existsById("p1"));
+        assertFalse(repository.existsById("p2"));
+        assertTrue(repository.existsById("p3"));
+    }
+
+    private void open(FsyncPolicy fsyncPolicy) {
+        OffHeapProductStore store = new OffHeapProductStore(16);
+        journal = new ProductJournal(directory, fsyncPolicy, Long.MAX_VALUE, store::forEach);
+        repository = new JournalProductRepository(store, journal);
+        repository.recover();
+    }
+
+    private void reopen(FsyncPolicy fsyncPolicy) throws IOException {
+        journal.close();
+        open(fsyncPolicy);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static Product product(String id, String name, String price, int stock) {
+        return new Product(id, name, "Description", new BigDecimal(price), stock);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.hexagonal.adapter.out.metrics;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.in.ProductService;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimedProductServiceTest {
+
+    @Mock
+    private ProductService delegate;
+
+    private SimpleMeterRegistry registry;
+    private TimedProductService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = new TimedProductService(delegate, registry);
+    }
+
+    @Test
+    void shouldTimeEachCallUnderItsMethodTag() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        when(delegate.getProductById("1")).thenReturn(Optional.of(product));
+
+        service.getProductById("1");
+        service.getProductById("1");
+
+        assertEquals(2, registry.get("product.service").tag("method", "getProductById").timer().count());
+        assertEquals(0, registry.get("product.service").tag("method", "decreaseStock").timer().count());
+    }
+
+    @Test
+    void shouldCountInsufficientStockRejectionsAndStillTimeThem() {
+        when(delegate.decreaseStock("1", 5)).thenThrow(new InsufficientStockException("1"));
+        when(delegate.decreaseStock("2", 5)).thenThrow(new IllegalArgumentException("Product not found with id: 2"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.decreaseStock("1", 5));
+        assertThrows(IllegalArgumentException.class, () -> service.decreaseStock("2", 5));
+
+        assertEquals(1.0, registry.get("product.stock.rejections").tag("reason", "insufficient").counter().count());
+        assertEquals(2, registry.get("product.service").tag("method", "decreaseStock").timer().count());
+    }
+
+    @Test
+    void shouldTagRepositoryTimersWithTheWrappedBeanName() {
+        TimedProductRepository repository = new TimedProductRepository(
+                mock(ProductRepository.class), registry, "productRepositoryAdapter");
+
+        repository.existsById("1");
+
+        assertEquals(1, registry.get("product.repository")
+                .tags("method", "existsById", "repository", "productRepositoryAdapter").timer().count());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.hexagonal.adapter.out.offheap;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapProductRepositoryTest {
+
+    private OffHeapProductStore store;
+    private OffHeapProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Small capacity so the tests exercise column and id table growth
+        store = new OffHeapProductStore(4);
+        repository = new OffHeapProductRepository(store);
+    }
+
+    @Test
+    void shouldRoundTripProductsIncludingPriceScale() {
+        repository.save(product("p1", "Laptop", "999.90", 10));
+        repository.save(new Product("p2", "Café Mug", null, new BigDecimal("5"), 0));
+
+        Product laptop = repository.findById("p1").orElseThrow();
+        assertEquals("Laptop", laptop.getName());
+        assertEquals(Money.of("999.90"), laptop.getPrice());
+        assertEquals(10, laptop.getStock());
+        Product mug = repository.findById("p2").orElseThrow();
+        assertEquals("Café Mug", mug.getName());
+        assertNull(mug.getDescription());
+        assertEquals(Money.of("5"), mug.getPrice());
+        assertTrue(repository.findById("missing").isEmpty());
+    }
+
+    @Test
+    void shouldAdvanceVersionsOnWritesAndRejectStaleSaves() {
+        Product inserted = repository.save(product("p1", "Laptop", "999.90", 10));
+        Product renamed = repository.save(new Product("p1", "Laptop Pro", "Description", Money.of("999.90"), 10,
+                inserted.getVersion()));
+        Product decreased = repository.decreaseStock("p1", 2).orElseThrow();
+
+        assertEquals(List.of(0L, 1L, 2L), List.of(inserted.getVersion(), renamed.getVersion(), decreased.getVersion()));
+        assertThrows(ProductVersionConflictException.class, () -> repository.save(renamed));
+        assertTrue(repository.decreaseStock("p1", 1, renamed.getVersion()).isEmpty());
+        assertEquals(3, repository.decreaseStock("p1", 1, decreased.getVersion()).orElseThrow().getVersion());
+        // Bulk updates are last-writer-wins but still advance the version
+        assertEquals(4, repository.saveAll(List.of(renamed)).get(0).getVersion());
+    }
+
+    @Test
+    void shouldRejectPricesThatDoNotFitTheFixedPointColumn() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(product("p1", "Laptop", "0.00001", 1)));
+        assertFalse(repository.existsById("p1"));
+    }
+
+    @Test
+    void shouldStoreRepeatedTextOnce() {
+        repository.save(product("p1", "Laptop", "1.00", 1));
+        long bytes = store.offHeapBytes();
+
+        repository.save(product("p2", "Laptop", "1.00", 1));
+
+        long idBytes = 4 + 4 + "p2".length();
+        assertTrue(store.offHeapBytes() - bytes <= idBytes);
+    }
+
+    @Test
+    void shouldPageInIdOrderAcrossGrowth() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 99; i >= 0; i--) {
+            products.add(product(String.format("p%03d", i), "Product " + i, "1.00", i));
+        }
+        repository.insertAll(products);
+
+        List<Product> first = repository.findPage(null, 10);
+        List<Product> next = repository.findPage("p009", 10);
+
+        assertEquals(100, store.size());
+        assertEquals("p000", first.get(0).getId());
+        assertEquals("p009", first.get(9).getId());
+        assertEquals("p010", next.get(0).getId());
+        assertEquals(100, repository.findAll().size());
+    }
+
+    @Test
+    void shouldFilterSortAndContinueFromCursor() {
+        repository.saveAll(List.of(
+                product("a", "Laptop Pro", "1500.00", 5),
+                product("b", "Laptop Air", "999.00", 0),
+                product("c", "Laptop Mini", "650.00", 8),
+                product("d", "Keyboard", "80.00", 3),
+                product("e", "Laptop Max", "999.00", 2)));
+        ProductQuery query = new ProductQuery("Laptop", Money.of("700"), null, true, ProductSort.PRICE, true);
+
+        List<Product> first = repository.search(query, null, 1);
+        List<Product> rest = repository.search(query, ProductCursor.after(ProductSort.PRICE, first.get(0)), 10);
+
+        assertEquals(List.of("a"), ids(first));
+        assertEquals(List.of("e"), ids(rest));
+    }
+
+    @Test
+    void shouldSortByNameWithIdTieBreak() {
+        repository.saveAll(List.of(
+                product("2", "Mouse", "10.00", 1),
+                product("1", "Mouse", "10.00", 1),
+                product("3", "Keyboard", "10.00", 1)));
+        ProductQuery byName = new ProductQuery(null, null, null, false, ProductSort.NAME, false);
+
+        assertEquals(List.of("3", "1", "2"), ids(repository.search(byName, null, 10)));
+        assertEquals(List.of("2"), ids(repository.search(byName, new ProductCursor("Mouse", "1"), 10)));
+    }
+
+    @Test
+    void shouldDecreaseStockOnlyWhenEnoughIsAvailable() {
+        repository.save(product("p1", "Laptop", "1.00", 3));
+
+        assertEquals(1, repository.decreaseStock("p1", 2).orElseThrow().getStock());
+        assertTrue(repository.decreaseStock("p1", 2).isEmpty());
+        assertEquals(1, repository.findById("p1").orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldReuseSlotsAndKeepLookupsAfterDeletes() {
+        for (int i = 0; i < 50; i++) {
+            repository.save(product("p" + i, "Product", "1.00", 1));
+        }
+        for (int i = 0; i < 50; i += 2) {
+            repository.deleteById("p" + i);
+        }
+        long bytes = store.offHeapBytes();
+        repository.save(product("p0", "Product", "1.00", 1));
+
+        assertEquals(26, store.size());
+        assertEquals(bytes, store.offHeapBytes());
+        for (int i = 1; i < 50; i += 2) {
+            assertTrue(repository.existsById("p" + i), "p" + i);
+        }
+        assertFalse(repository.existsById("p2"));
+        assertEquals("p0", repository.findPage(null, 1).get(0).getId());
+    }
+
+    @Test
+    void shouldVisitEveryProductInIdOrder() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            products.add(product(String.format("p%04d", i), "Product", "1.00", 1));
+        }
+        repository.saveAll(products);
+        List<String> visited = new ArrayList<>();
+
+        repository.forEach(product -> visited.add(product.getId()));
+
+        assertEquals(ids(products), visited);
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(String id, String name, String price, int stock) {
+        return new Product(id, name, "Description", new BigDecimal(price), stock);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The fast-start profile creates the schema from {@code db/schema.sql}; Hibernate validating it against the
+ * entity mappings keeps the script from drifting when an entity changes.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles("fast-start")
+@Import(ProductRepositoryAdapter.class)
+class FastStartSchemaTest {
+
+    @Autowired
+    private ProductRepositoryAdapter productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreateTheSchemaFromTheScript() {
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_PRODUCT%'", Integer.class));
+    }
+
+    @Test
+    void shouldStoreAndReadProducts() {
+        Product product = productRepository.save(new Product("Fast", "Desc", new BigDecimal("10.00"), 10));
+
+        Product found = productRepository.findById(product.getId()).orElseThrow();
+
+        assertEquals("Fast", found.getName());
+        assertEquals(Money.of("10.00"), found.getPrice());
+        assertEquals(6, productRepository.decreaseStock(product.getId(), 4).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldStorePricesWithEveryDecimalPlaceMoneyKeeps() {
+        Product product = productRepository.save(new Product("Fast", "Desc", new BigDecimal("0.1234"), 1));
+
+        assertEquals(new BigDecimal("0.1234"), jdbcTemplate.queryForObject(
+                "SELECT price FROM products WHERE id = ?", BigDecimal.class, product.getId()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@Import(ProductEventOutboxAdapter.class)
+class ProductEventOutboxAdapterTest {
+
+    @Autowired
+    private ProductEventOutboxAdapter outbox;
+
+    @Test
+    void shouldSequencePendingEventsAfterTheHighestOffset() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 1);
+        outbox.append(List.of(ProductEvent.created(product), ProductEvent.stockDecreased(product, 1)));
+
+        List<ProductEvent> first = outbox.sequencePending(1);
+        outbox.append(List.of(ProductEvent.deleted("1")));
+        List<ProductEvent> rest = outbox.sequencePending(10);
+
+        assertEquals(1, first.size());
+        assertEquals(1L, first.get(0).getOffset());
+        assertEquals(ProductEventType.CREATED, first.get(0).getType());
+        assertEquals(List.of(2L, 3L), rest.stream().map(ProductEvent::getOffset).toList());
+        assertEquals(List.of(ProductEventType.STOCK_DECREASED, ProductEventType.DELETED),
+                rest.stream().map(ProductEvent::getType).toList());
+        assertTrue(outbox.sequencePending(10).isEmpty());
+    }
+
+    @Test
+    void shouldReadOnlySequencedEventsAfterAnOffset() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 5);
+        outbox.append(List.of(ProductEvent.created(product), ProductEvent.priceChanged(product, Money.of("1099.99"))));
+        outbox.sequencePending(10);
+        outbox.append(List.of(ProductEvent.deleted("1")));
+
+        List<ProductEvent> changes = outbox.findAfter(1, 10);
+
+        assertEquals(1, changes.size());
+        assertEquals(2L, changes.get(0).getOffset());
+        assertEquals(Money.of("1099.99"), changes.get(0).getPreviousPrice());
+    }
+
+    @Test
+    void shouldPurgeOnlySequencedEvents() {
+        Product product = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 5);
+        outbox.append(List.of(ProductEvent.created(product)));
+        outbox.sequencePending(10);
+        outbox.append(List.of(ProductEvent.deleted("1")));
+
+        assertEquals(1, outbox.deleteSequencedBefore(Instant.now().plusSeconds(1)));
+        assertEquals(1, outbox.sequencePending(10).size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductLookupCoalescerTest {
+
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<List<String>> queries = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldServeConcurrentLookupsOfOneProductWithOneQuery() throws Exception {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(this::blockingLoad, 200, 100);
+        int callerCount = 50;
+
+        List<Future<Optional<Product>>> results = new ArrayList<>();
+        for (int i = 0; i < callerCount; i++) {
+            results.add(callers.submit(() -> coalescer.findById("sku")));
+        }
+        await(() -> coalescer.joinedLookups() == callerCount - 1);
+        release.countDown();
+
+        for (Future<Optional<Product>> result : results) {
+            assertEquals(7, result.get(5, TimeUnit.SECONDS).orElseThrow().getStock());
+        }
+        assertEquals(List.of(List.of("sku")), queries);
+        assertEquals(callerCount - 1, coalescer.joinedLookups());
+        assertEquals(callerCount, coalescer.coalescingRatio());
+    }
+
+    @Test
+    void shouldGiveEveryCallerItsOwnCopy() throws Exception {
+        release.countDown();
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(this::blockingLoad, 200, 100);
+
+        Product first = coalescer.findById("sku").orElseThrow();
+        first.decreaseStock(1);
+
+        assertEquals(7, coalescer.findById("sku").orElseThrow().getStock());
+        assertEquals(2, coalescer.queries());
+    }
+
+    @Test
+    void shouldBatchLookupsForDifferentProductsWhileAQueryIsRunning() throws Exception {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(this::blockingLoad, 1_000_000, 100);
+
+        Future<Optional<Product>> first = callers.submit(() -> coalescer.findById("a"));
+        await(() -> queries.size() == 1);
+        List<Future<Optional<Product>>> batched = new ArrayList<>();
+        for (String id : List.of("b", "c", "d", "missing")) {
+            batched.add(callers.submit(() -> coalescer.findById(id)));
+        }
+        await(() -> coalescer.lookups() == 5);
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(batched.get(i).get(5, TimeUnit.SECONDS).isPresent());
+        }
+        assertTrue(batched.get(3).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(2, queries.size());
+        assertEquals(List.of("b", "c", "d", "missing"), queries.get(1).stream().sorted().toList());
+    }
+
+    @Test
+    void shouldSendAFullBatchWithoutWaitingForTheWindow() throws Exception {
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(ids -> ids.contains("a")
+                ? blockingLoad(ids)
+                : List.of(product(ids.get(0))), 60_000_000, 1);
+
+        Future<Optional<Product>> running = callers.submit(() -> coalescer.findById("a"));
+        await(() -> queries.size() == 1);
+
+        assertTrue(callers.submit(() -> coalescer.findById("b")).get(5, TimeUnit.SECONDS).isPresent());
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).isPresent());
+    }
+
+    @Test
+    void shouldFailEveryWaitingCallerAndRetryOnTheNextLookup() throws Exception {
+        List<String> attempts = new CopyOnWriteArrayList<>();
+        ProductLookupCoalescer coalescer = new ProductLookupCoalescer(ids -> {
+            attempts.addAll(ids);
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("connection lost");
+            }
+            return List.of(product(ids.get(0)));
+        }, 200, 100);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.findById("sku"));
+        assertTrue(coalescer.findById("sku").isPresent());
+        assertEquals(2, coalescer.queries());
+    }
+
+    private List<Product> blockingLoad(List<String> ids) {
+        queries.add(List.copyOf(ids));
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return ids.stream()
+                .filter(id -> !id.equals("missing"))
+                .map(ProductLookupCoalescerTest::product)
+                .toList();
+    }
+
+    private static Product product(String id) {
+        return new Product(id, "Product " + id, "Desc", new BigDecimal("10.00"), 7);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(1);
+        }
+    }
+}
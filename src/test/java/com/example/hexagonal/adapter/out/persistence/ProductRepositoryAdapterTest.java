@@ -0,0 +1,214 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@Import(ProductRepositoryAdapter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryAdapterTest {
+
+    @Autowired
+    private ProductRepositoryAdapter productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldDecreaseStockAtomically() {
+        Product product = productRepository.save(new Product("Product", "Desc", new BigDecimal("10.00"), 10));
+
+        Product updated = productRepository.decreaseStock(product.getId(), 4).orElseThrow();
+
+        assertEquals(6, updated.getStock());
+        assertEquals(6, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldKeepEveryDecimalPlaceOfThePrice() {
+        Product product = productRepository.save(new Product("Product", "Desc", new BigDecimal("19.9999"), 1));
+
+        assertEquals(Money.of("19.9999"), productRepository.findById(product.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void shouldNotDecreaseStockBelowZero() {
+        Product product = productRepository.save(new Product("Product", "Desc", new BigDecimal("10.00"), 3));
+
+        assertTrue(productRepository.decreaseStock(product.getId(), 4).isEmpty());
+        assertEquals(3, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldAdvanceTheVersionOnEveryWriteAndRejectStaleSaves() {
+        Product product = productRepository.save(new Product("Product", "Desc", new BigDecimal("10.00"), 10));
+        Product first = productRepository.findById(product.getId()).orElseThrow();
+        Product second = productRepository.findById(product.getId()).orElseThrow();
+
+        first.setName("Renamed");
+        assertEquals(first.getVersion() + 1, productRepository.save(first).getVersion());
+
+        second.setName("Lost update");
+        assertThrows(ProductVersionConflictException.class, () -> productRepository.save(second));
+        assertEquals("Renamed", productRepository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldDecreaseStockOnlyAtTheExpectedVersion() {
+        Product product = productRepository.save(new Product("Product", "Desc", new BigDecimal("10.00"), 10));
+        long version = productRepository.findById(product.getId()).orElseThrow().getVersion();
+
+        Product updated = productRepository.decreaseStock(product.getId(), 1, version).orElseThrow();
+
+        assertEquals(version + 1, updated.getVersion());
+        assertTrue(productRepository.decreaseStock(product.getId(), 1, version).isEmpty());
+        assertEquals(9, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldInsertUpdateAndDeleteInBatches() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            products.add(new Product("Bulk " + i, "Desc", new BigDecimal("1.00"), i));
+        }
+        productRepository.insertAll(products);
+
+        Product changed = new Product(products.get(0).getId(), "Renamed", "Desc", new BigDecimal("2.00"), 99);
+        Product added = new Product("Added", "Desc", new BigDecimal("3.00"), 1);
+        productRepository.saveAll(List.of(changed, added));
+
+        assertEquals("Renamed", productRepository.findById(changed.getId()).orElseThrow().getName());
+        assertTrue(productRepository.existsById(added.getId()));
+        assertEquals(2, productRepository.findAllById(List.of(changed.getId(), added.getId(), "missing")).size());
+
+        List<String> ids = products.stream().map(Product::getId).toList();
+        productRepository.deleteAllById(ids);
+        productRepository.deleteById(added.getId());
+
+        assertTrue(productRepository.findAllById(ids).isEmpty());
+    }
+
+    @Test
+    void shouldNotLoseUpdatesWhenManyThreadsDecreaseTheSameProduct() throws Exception {
+        int initialStock = 1000;
+        int threads = 16;
+        int attemptsPerThread = 100;
+        Product product = productRepository.save(new Product("Hot SKU", "Desc", new BigDecimal("10.00"), initialStock));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (productRepository.decreaseStock(product.getId(), 1).isPresent()) {
+                            succeeded.incrementAndGet();
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(initialStock, succeeded.get());
+        assertEquals(threads * attemptsPerThread - initialStock, rejected.get());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldFilterSortAndPageThroughMatchesByKeyset() {
+        String prefix = "Query-" + UUID.randomUUID() + "-";
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Two products per price so pages have to break ties on the id
+            products.add(new Product(prefix + i, "Desc", new BigDecimal(10 + i / 2), i == 3 ? 0 : 5));
+        }
+        products.add(new Product("Other " + prefix, "Desc", new BigDecimal("12"), 5));
+        productRepository.insertAll(products);
+
+        ProductQuery query = new ProductQuery(prefix, Money.of("10"), Money.of("12"), true, ProductSort.PRICE, true);
+        List<Product> seen = new ArrayList<>();
+        ProductCursor after = null;
+        List<Product> page;
+        do {
+            page = productRepository.search(query, after, 2);
+            seen.addAll(page);
+            after = page.isEmpty() ? null : ProductCursor.after(ProductSort.PRICE, page.get(page.size() - 1));
+        } while (page.size() == 2);
+
+        // Prices 10, 10, 11, 11(out of stock), 12, 12, 13(out of range): five matches, highest price first
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().map(Product::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            Product previous = seen.get(i - 1);
+            Product current = seen.get(i);
+            int byPrice = previous.getPrice().compareTo(current.getPrice());
+            assertTrue(byPrice > 0 || (byPrice == 0 && previous.getId().compareTo(current.getId()) > 0));
+        }
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsInNamePrefixLiterally() {
+        String prefix = "Wild-" + UUID.randomUUID();
+        productRepository.insertAll(List.of(
+                new Product(prefix + "%_a", "Desc", new BigDecimal("1.00"), 1),
+                new Product(prefix + "xx", "Desc", new BigDecimal("1.00"), 1)));
+
+        List<Product> found = productRepository.search(
+                new ProductQuery(prefix + "%_", null, null, false, ProductSort.NAME, false), null, 10);
+
+        assertEquals(1, found.size());
+        assertEquals(prefix + "%_a", found.get(0).getName());
+    }
+
+    @Test
+    void shouldAnswerRangeQueriesFromTheSecondaryIndexes() {
+        String byPrice = explain("SELECT * FROM products WHERE price >= 10 AND price <= 20 ORDER BY price, id LIMIT 10");
+        String byName = explain("SELECT * FROM products WHERE name LIKE 'Lap%' ORDER BY name, id LIMIT 10");
+        String byStock = explain("SELECT * FROM products WHERE stock > 0 AND stock >= 5 AND (stock > 5 OR id > 'x') ORDER BY stock, id LIMIT 10");
+
+        assertTrue(byPrice.contains("IDX_PRODUCTS_PRICE"), byPrice);
+        assertTrue(byName.contains("IDX_PRODUCTS_NAME"), byName);
+        assertTrue(byStock.contains("IDX_PRODUCTS_STOCK"), byStock);
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toUpperCase();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("l2cache")
+@Import({ProductRepositoryAdapter.class, SecondLevelCacheConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepositoryAdapter productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsWithoutQueryingTheDatabase() {
+        Product product = productRepository.save(new Product("Cached", "Desc", new BigDecimal("10.00"), 10));
+        productRepository.findById(product.getId());
+        statistics.clear();
+
+        assertEquals("Cached", productRepository.findById(product.getId()).orElseThrow().getName());
+        assertEquals("Cached", productRepository.findById(product.getId()).orElseThrow().getName());
+
+        assertEquals(2, statistics.getDomainDataRegionStatistics(ProductEntity.CACHE_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldNotServeStaleStockAfterABulkDecrement() {
+        Product product = productRepository.save(new Product("Stocked", "Desc", new BigDecimal("10.00"), 10));
+        productRepository.findById(product.getId());
+
+        assertEquals(6, productRepository.decreaseStock(product.getId(), 4).orElseThrow().getStock());
+        assertEquals(6, productRepository.findById(product.getId()).orElseThrow().getStock());
+        assertEquals(9, productRepository.increaseStock(product.getId(), 3).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldAnswerRepeatedListingsFromTheQueryCacheUntilTheTableChanges() {
+        productRepository.save(new Product("Listed", "Desc", new BigDecimal("10.00"), 10));
+        productRepository.findPage(null, 1000);
+        statistics.clear();
+
+        int listed = productRepository.findPage(null, 1000).size();
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        productRepository.save(new Product("Added", "Desc", new BigDecimal("10.00"), 10));
+
+        assertEquals(listed + 1, productRepository.findPage(null, 1000).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
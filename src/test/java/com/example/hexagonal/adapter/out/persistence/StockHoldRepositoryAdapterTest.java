@@ -0,0 +1,43 @@
+package com.example.hexagonal.adapter.out.persistence;
+
+import com.example.hexagonal.domain.model.StockHold;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@Import(StockHoldRepositoryAdapter.class)
+class StockHoldRepositoryAdapterTest {
+
+    @Autowired
+    private StockHoldRepositoryAdapter holds;
+
+    @Test
+    void shouldDeleteAHoldOnlyOnce() {
+        holds.save(new StockHold("h", "1", 2, Instant.parse("2024-01-01T00:10:00Z")));
+
+        assertEquals(2, holds.findById("h").orElseThrow().getQuantity());
+        assertTrue(holds.deleteById("h"));
+        assertFalse(holds.deleteById("h"));
+        assertTrue(holds.findById("h").isEmpty());
+    }
+
+    @Test
+    void shouldVisitEveryOutstandingHold() {
+        holds.save(new StockHold("a", "1", 1, Instant.parse("2024-01-01T00:10:00Z")));
+        holds.save(new StockHold("b", "2", 3, Instant.parse("2024-01-01T00:20:00Z")));
+
+        List<String> visited = new ArrayList<>();
+        holds.forEach(hold -> visited.add(hold.getId()));
+
+        assertEquals(2, visited.size());
+        assertTrue(visited.containsAll(List.of("a", "b")));
+    }
+}
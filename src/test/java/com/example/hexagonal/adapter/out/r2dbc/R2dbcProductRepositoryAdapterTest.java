@@ -0,0 +1,96 @@
+package com.example.hexagonal.adapter.out.r2dbc;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class R2dbcProductRepositoryAdapterTest {
+
+    private R2dbcProductRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///r2dbc-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("CREATE TABLE products (id VARCHAR(255) PRIMARY KEY, name VARCHAR(255), "
+                        + "description VARCHAR(255), price NUMERIC(38, 2), stock INTEGER, version BIGINT NOT NULL)")
+                .then()
+                .block();
+        repository = new R2dbcProductRepositoryAdapter(databaseClient,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)));
+    }
+
+    @Test
+    void shouldInsertAndFindProduct() {
+        StepVerifier.create(repository.save(product("p1", 10, 0)))
+                .assertNext(saved -> assertEquals(0, saved.getVersion()))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findById("p1"))
+                .assertNext(found -> {
+                    assertEquals("Laptop", found.getName());
+                    assertEquals(Money.of("999.99"), found.getPrice());
+                    assertEquals(10, found.getStock());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.existsById("p1")).expectNext(true).verifyComplete();
+        StepVerifier.create(repository.findById("missing")).verifyComplete();
+    }
+
+    @Test
+    void shouldUpdateAtTheExpectedVersionAndRejectStaleSaves() {
+        repository.save(product("p1", 10, 0)).block();
+
+        StepVerifier.create(repository.save(product("p1", 8, 0)))
+                .assertNext(saved -> assertEquals(1, saved.getVersion()))
+                .verifyComplete();
+        StepVerifier.create(repository.save(product("p1", 5, 0)))
+                .verifyError(ProductVersionConflictException.class);
+        StepVerifier.create(repository.findById("p1"))
+                .assertNext(found -> assertEquals(8, found.getStock()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDecreaseStockOnlyWhileEnoughIsLeft() {
+        repository.save(product("p1", 10, 0)).block();
+
+        StepVerifier.create(repository.decreaseStock("p1", 4))
+                .assertNext(updated -> {
+                    assertEquals(6, updated.getStock());
+                    assertEquals(1, updated.getVersion());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.decreaseStock("p1", 7)).verifyComplete();
+        StepVerifier.create(repository.decreaseStock("missing", 1)).verifyComplete();
+        StepVerifier.create(repository.findById("p1"))
+                .assertNext(found -> assertEquals(6, found.getStock()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteProduct() {
+        repository.save(product("p1", 10, 0)).block();
+
+        StepVerifier.create(repository.deleteById("p1")).verifyComplete();
+
+        StepVerifier.create(repository.existsById("p1")).expectNext(false).verifyComplete();
+    }
+
+    private static Product product(String id, int stock, long version) {
+        return new Product(id, "Laptop", "High performance", Money.of("999.99"), stock, version);
+    }
+}
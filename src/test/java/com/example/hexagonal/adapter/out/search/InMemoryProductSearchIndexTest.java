@@ -0,0 +1,106 @@
+package com.example.hexagonal.adapter.out.search;
+
+import com.example.hexagonal.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductSearchIndexTest {
+
+    private InMemoryProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryProductSearchIndex();
+        index.index(product("1", "Gaming Laptop", "Fast laptop with a bright screen"));
+        index.index(product("2", "Laptop Sleeve", "Neoprene sleeve"));
+        index.index(product("3", "Mechanical Keyboard", "Clicky keys, works with any laptop"));
+        index.index(product("4", "Café Crème Mug", "Ceramic"));
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        List<String> ids = index.search("laptop", 10);
+
+        assertEquals(3, ids.size());
+        assertEquals("3", ids.get(2));
+    }
+
+    @Test
+    void shouldRequireEveryQueryTerm() {
+        assertEquals(List.of("2"), index.search("laptop sleeve", 10));
+    }
+
+    @Test
+    void shouldMatchPrefixesAndTyposBelowExactMatches() {
+        assertEquals(List.of("3"), index.search("keyb", 10));
+        assertEquals(List.of("3"), index.search("mechanicl", 10));
+        assertEquals(List.of("2"), index.search("slevee", 10));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldFindTyposAtEitherEndOfATerm() {
+        assertEquals(List.of("2"), index.search("sleeev", 10));
+        assertEquals(List.of("2"), index.search("lseeve", 10));
+        assertEquals(List.of("3"), index.search("ekyboadr", 10));
+        assertEquals(List.of("2"), index.search("eoprene", 10));
+    }
+
+    @Test
+    void shouldFoldCaseAndAccents() {
+        assertEquals(List.of("4"), index.search("CAFE creme", 10));
+    }
+
+    @Test
+    void shouldReplaceAndRemoveDocuments() {
+        index.index(product("2", "Tablet Sleeve", "Neoprene sleeve"));
+        assertEquals(List.of("1", "3"), index.search("laptop", 10));
+
+        index.remove("1");
+        assertEquals(List.of("3"), index.search("laptop", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldKeepWritesMadeDuringRebuildOverOlderStreamedRows() {
+        int indexed = index.rebuild(consumer -> {
+            // A concurrent update lands before the stream reaches the (older) row for the same product
+            index.index(product("1", "Gaming Desktop", "Tower"));
+            consumer.accept(product("1", "Gaming Laptop", "Fast laptop"));
+            consumer.accept(product("5", "Laptop Stand", "Aluminium"));
+        });
+
+        assertEquals(2, indexed);
+        assertEquals(List.of("5"), index.search("laptop", 10));
+        assertEquals(List.of("1"), index.search("desktop", 10));
+    }
+
+    @Test
+    void shouldServeTheLiveIndexAndKeepRemovalsWhileRebuilding() {
+        int indexed = index.rebuild(consumer -> {
+            consumer.accept(product("5", "Laptop Stand", "Aluminium"));
+            assertEquals(List.of("3"), index.search("keyboard", 10));
+            assertTrue(index.search("stand", 10).isEmpty());
+            index.remove("3");
+            consumer.accept(product("3", "Mechanical Keyboard", "Clicky keys"));
+        });
+
+        assertEquals(1, indexed);
+        assertTrue(index.search("keyboard", 10).isEmpty());
+        assertEquals(List.of("5"), index.search("stand", 10));
+    }
+
+    @Test
+    void shouldLimitResults() {
+        assertEquals(2, index.search("laptop", 2).size());
+    }
+
+    private static Product product(String id, String name, String description) {
+        return new Product(id, name, description, new BigDecimal("10.00"), 1);
+    }
+}
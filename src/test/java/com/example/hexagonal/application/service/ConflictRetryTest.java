@@ -0,0 +1,72 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void shouldRetryAConflictingWriteUntilItSucceeds() {
+        ConflictRetry retry = retry(3);
+
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ProductVersionConflictException("sku", attempts.get());
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, retry.retriedConflicts());
+        assertEquals(0, retry.exhaustedConflicts());
+    }
+
+    @Test
+    void shouldRethrowTheLastConflictOnceAttemptsAreUsedUp() {
+        ConflictRetry retry = retry(2);
+
+        assertThrows(ProductVersionConflictException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ProductVersionConflictException("sku", 1);
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, retry.exhaustedConflicts());
+    }
+
+    @Test
+    void shouldNotRetryOtherFailuresOrConditionalWrites() {
+        ConflictRetry retry = retry(3);
+
+        assertThrows(IllegalArgumentException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Product not found with id: sku");
+        }));
+        assertThrows(ProductVersionConflictException.class, () -> retry.executeOnce(() -> {
+            attempts.incrementAndGet();
+            throw new ProductVersionConflictException("sku", 1);
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(0, retry.retriedConflicts());
+    }
+
+    @Test
+    void shouldRejectFewerThanOneAttempt() {
+        assertThrows(IllegalArgumentException.class, () -> retry(0));
+    }
+
+    private static ConflictRetry retry(int maxAttempts) {
+        return new ConflictRetry(TransactionOperations.withoutTransaction(), maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+}
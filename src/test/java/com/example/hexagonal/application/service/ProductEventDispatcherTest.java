@@ -0,0 +1,74 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import com.example.hexagonal.domain.port.out.ProductEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEventDispatcherTest {
+
+    @Mock
+    private ProductEventOutbox outbox;
+
+    @Mock
+    private ProductEventPublisher publisher;
+
+    @Mock
+    private ObjectProvider<ProductEventPublisher> publishers;
+
+    private ProductEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(publishers.orderedStream()).thenAnswer(invocation -> Stream.of(publisher));
+        dispatcher = new ProductEventDispatcher(outbox, publishers, TransactionOperations.withoutTransaction(),
+                2, Duration.ofDays(7));
+    }
+
+    @Test
+    void shouldDrainFullBatchesUntilTheOutboxIsEmpty() {
+        List<ProductEvent> full = List.of(ProductEvent.deleted("1"), ProductEvent.deleted("2"));
+        List<ProductEvent> partial = List.of(ProductEvent.deleted("3"));
+        when(outbox.sequencePending(2)).thenReturn(full, partial);
+
+        assertEquals(3, dispatcher.dispatch());
+
+        verify(publisher).publish(full);
+        verify(publisher).publish(partial);
+        verify(outbox, times(2)).sequencePending(2);
+    }
+
+    @Test
+    void shouldStopAtTheFirstFailedBatch() {
+        List<ProductEvent> batch = List.of(ProductEvent.deleted("1"), ProductEvent.deleted("2"));
+        when(outbox.sequencePending(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("broker down")).when(publisher).publish(batch);
+
+        assertEquals(0, dispatcher.dispatch());
+
+        verify(outbox, times(1)).sequencePending(2);
+    }
+
+    @Test
+    void shouldNotPublishEmptyBatches() {
+        when(outbox.sequencePending(2)).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatch());
+
+        verifyNoInteractions(publisher);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.adapter.out.persistence.ProductEventOutboxAdapter;
+import com.example.hexagonal.adapter.out.persistence.ProductRepositoryAdapter;
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.port.in.ProductService;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reservation use case against the JPA adapter with overlapping baskets submitted in random line order.
+ */
+@DataJpaTest(showSql = false)
+@Import({ProductServiceImpl.class, ProductRepositoryAdapter.class, ProductEventOutboxAdapter.class, ConflictRetry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductReservationConcurrencyTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void shouldRollBackEveryLineWhenOneCannotBeReserved() {
+        Product plenty = productRepository.save(new Product("Plenty", "Desc", new BigDecimal("1.00"), 10));
+        Product scarce = productRepository.save(new Product("Scarce", "Desc", new BigDecimal("1.00"), 1));
+
+        assertThrows(ReservationRejectedException.class, () -> productService.reserveStock(List.of(
+                new ReservationLine(plenty.getId(), 5), new ReservationLine(scarce.getId(), 2))));
+
+        assertEquals(10, productRepository.findById(plenty.getId()).orElseThrow().getStock());
+        assertEquals(1, productRepository.findById(scarce.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldReserveOverlappingBasketsConcurrentlyWithoutDeadlockOrOverselling() throws Exception {
+        int productCount = 6;
+        int initialStock = 300;
+        int threads = 16;
+        int basketsPerThread = 60;
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            ids.add(productRepository.save(new Product("Shared " + i, "Desc", new BigDecimal("1.00"), initialStock)).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicIntegerArray reservedUnits = new AtomicIntegerArray(productCount);
+        AtomicInteger reservedBaskets = new AtomicInteger();
+        AtomicInteger rejectedBaskets = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int b = 0; b < basketsPerThread; b++) {
+                        // Three of the six products, listed in a random order so baskets overlap in conflicting orders
+                        List<Integer> picks = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5));
+                        Collections.shuffle(picks, random);
+                        List<Integer> basket = picks.subList(0, 3);
+                        try {
+                            productService.reserveStock(basket.stream()
+                                    .map(index -> new ReservationLine(ids.get(index), 1 + index % 2))
+                                    .toList());
+                            basket.forEach(index -> reservedUnits.addAndGet(index, 1 + index % 2));
+                            reservedBaskets.incrementAndGet();
+                        } catch (ReservationRejectedException e) {
+                            rejectedBaskets.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * basketsPerThread, reservedBaskets.get() + rejectedBaskets.get());
+        assertTrue(reservedBaskets.get() > 0);
+        assertTrue(rejectedBaskets.get() > 0);
+        for (int i = 0; i < productCount; i++) {
+            int stock = productRepository.findById(ids.get(i)).orElseThrow().getStock();
+            assertEquals(initialStock - reservedUnits.get(i), stock);
+            assertTrue(stock >= 0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    private ProductSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new ProductSearchServiceImpl(productRepository, searchIndex);
+    }
+
+    @Test
+    void shouldReturnProductsInIndexRankOrderSkippingDeletedOnes() {
+        Product laptop = new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), 10);
+        Product sleeve = new Product("2", "Laptop Sleeve", "Desc", new BigDecimal("19.99"), 10);
+        when(searchIndex.search("laptop", 10)).thenReturn(List.of("2", "gone", "1"));
+        when(productRepository.findAllById(List.of("2", "gone", "1"))).thenReturn(List.of(laptop, sleeve));
+
+        List<Product> results = searchService.search("laptop", 10);
+
+        assertEquals(List.of("2", "1"), results.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void shouldRejectBlankSearchText() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("  ", 10));
+        verifyNoInteractions(searchIndex);
+    }
+}
@@ -1,20 +1,42 @@
 package com.example.hexagonal.application.service;
 
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.exception.ProductVersionConflictException;
+import com.example.hexagonal.domain.exception.ReservationRejectedException;
+import com.example.hexagonal.domain.model.Money;
 import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductCursor;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductEventType;
+import com.example.hexagonal.domain.model.ProductPage;
+import com.example.hexagonal.domain.model.ProductQuery;
+import com.example.hexagonal.domain.model.ProductSort;
+import com.example.hexagonal.domain.model.ProductsChangedEvent;
+import com.example.hexagonal.domain.model.ReservationLine;
+import com.example.hexagonal.domain.model.ReservationRejection;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
 import com.example.hexagonal.domain.port.out.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +45,9 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductEventOutbox eventOutbox;
+
     private ProductServiceImpl productService;
 
     @BeforeEach
@@ -67,6 +92,57 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void shouldPageThroughAllProductsInIdOrderAsAnUnfilteredSearch() {
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 10);
+        Product product3 = new Product("3", "Product3", "Desc3", new BigDecimal("300.00"), 15);
+        when(productRepository.search(ProductQuery.all(), null, 3)).thenReturn(Arrays.asList(product1, product2, product3));
+        when(productRepository.search(eq(ProductQuery.all()), argThat(after -> after != null && after.getId().equals("2")), eq(3)))
+                .thenReturn(List.of(product3));
+
+        ProductPage first = productService.getProductPage(null, 2);
+        ProductPage last = productService.getProductPage(first.getNextCursor(), 2);
+
+        assertEquals(List.of("1", "2"), first.getProducts().stream().map(Product::getId).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("3"), last.getProducts().stream().map(Product::getId).toList());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void shouldIssueCursorThatResumesAfterLastProductOfSortedSearch() {
+        ProductQuery query = new ProductQuery(null, null, null, false, ProductSort.PRICE, false);
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 10);
+        Product product3 = new Product("3", "Product3", "Desc3", new BigDecimal("300.00"), 15);
+        when(productRepository.search(query, null, 3)).thenReturn(Arrays.asList(product1, product2, product3));
+
+        ProductPage page = productService.searchProducts(query, null, 2);
+
+        assertEquals(2, page.getProducts().size());
+        ProductCursor cursor = ProductCursor.decode(ProductSort.PRICE, page.getNextCursor());
+        assertEquals("2", cursor.getId());
+        assertEquals(Money.of("200.00"), cursor.getKey());
+    }
+
+    @Test
+    void shouldClampTheLimitToTheMaximumPageSize() {
+        when(productRepository.search(ProductQuery.all(), null, ProductPage.MAX_LIMIT + 1)).thenReturn(List.of());
+
+        assertTrue(productService.searchProducts(ProductQuery.all(), null, Integer.MAX_VALUE).getProducts().isEmpty());
+
+        verify(productRepository).search(ProductQuery.all(), null, ProductPage.MAX_LIMIT + 1);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        ProductQuery query = ProductQuery.all();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.searchProducts(query, "not a cursor", 10));
+        verify(productRepository, never()).search(any(), any(), anyInt());
+    }
+
     @Test
     void shouldUpdateProduct() {
         String productId = "123";
@@ -105,6 +181,24 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).deleteById(productId);
     }
 
+    @Test
+    void shouldPublishCatalogChangesForDerivedData() {
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, null, ConflictRetry.none(),
+                eventPublisher);
+        Product product = new Product("123", "Laptop", "Description", new BigDecimal("999.99"), 10);
+        when(productRepository.save(product)).thenReturn(product);
+        when(productRepository.existsById("123")).thenReturn(true);
+
+        service.createProduct(product);
+        service.deleteProduct("123");
+
+        ArgumentCaptor<ProductsChangedEvent> published = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(published.capture());
+        assertEquals(List.of(product), published.getAllValues().get(0).getSaved());
+        assertEquals(List.of("123"), published.getAllValues().get(1).getDeletedIds());
+    }
+
     @Test
     void shouldThrowExceptionWhenDeletingNonExistentProduct() {
         String productId = "999";
@@ -118,23 +212,214 @@ class ProductServiceImplTest {
     @Test
     void shouldDecreaseStock() {
         String productId = "123";
-        Product product = new Product(productId, "Product", "Desc", new BigDecimal("100.00"), 10);
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        Product product = new Product(productId, "Product", "Desc", new BigDecimal("100.00"), 7);
+        when(productRepository.decreaseStock(productId, 3)).thenReturn(Optional.of(product));
 
         Product result = productService.decreaseStock(productId, 3);
 
         assertEquals(7, result.getStock());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).decreaseStock(productId, 3);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void shouldThrowInsufficientStockWhenConditionalUpdateMatchesNothing() {
+        String productId = "123";
+        when(productRepository.decreaseStock(productId, 50)).thenReturn(Optional.empty());
+        when(productRepository.existsById(productId)).thenReturn(true);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class, () -> {
+            productService.decreaseStock(productId, 50);
+        });
+        assertEquals(productId, exception.getProductId());
     }
 
     @Test
     void shouldThrowExceptionWhenDecreasingStockOfNonExistentProduct() {
         String productId = "999";
-        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        when(productRepository.decreaseStock(productId, 5)).thenReturn(Optional.empty());
+        when(productRepository.existsById(productId)).thenReturn(false);
 
         assertThrows(IllegalArgumentException.class, () -> {
             productService.decreaseStock(productId, 5);
         });
     }
+
+    @Test
+    void shouldRetryUnconditionalUpdateThatLostAVersionRace() {
+        ConflictRetry retry = new ConflictRetry(TransactionOperations.withoutTransaction(), 3, Duration.ZERO, Duration.ZERO);
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, null, retry, null);
+        when(productRepository.findById("1"))
+                .thenReturn(Optional.of(new Product("1", "Laptop", "Description", Money.of("999.99"), 10, 4)))
+                .thenReturn(Optional.of(new Product("1", "Laptop", "Description", Money.of("999.99"), 10, 5)));
+        when(productRepository.save(any(Product.class)))
+                .thenThrow(new ProductVersionConflictException("1", 4))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Product updated = service.updateProduct("1", new Product("Laptop", "Description", new BigDecimal("899.99"), 10));
+
+        assertEquals(Money.of("899.99"), updated.getPrice());
+        assertEquals(5, updated.getVersion());
+        verify(productRepository, times(2)).findById("1");
+        assertEquals(1, retry.retriedConflicts());
+    }
+
+    @Test
+    void shouldRejectConditionalUpdateOfAStaleVersionWithoutSaving() {
+        when(productRepository.findById("1"))
+                .thenReturn(Optional.of(new Product("1", "Laptop", "Description", Money.of("999.99"), 10, 3)));
+
+        ProductVersionConflictException conflict = assertThrows(ProductVersionConflictException.class, () ->
+                productService.updateProduct("1", new Product("Laptop", "Description", BigDecimal.ONE, 10), 2));
+
+        assertEquals(2, conflict.getExpectedVersion());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void shouldDecreaseStockAtTheExpectedVersion() {
+        Product product = new Product("1", "Laptop", "Description", Money.of("999.99"), 7, 3);
+        when(productRepository.decreaseStock("1", 3, 2)).thenReturn(Optional.of(product));
+
+        assertSame(product, productService.decreaseStock("1", 3, 2));
+        verify(productRepository, never()).decreaseStock("1", 3);
+    }
+
+    @Test
+    void shouldTellAVersionConflictFromInsufficientStock() {
+        when(productRepository.decreaseStock(eq("1"), anyInt(), anyLong())).thenReturn(Optional.empty());
+        when(productRepository.findById("1"))
+                .thenReturn(Optional.of(new Product("1", "Laptop", "Description", Money.of("999.99"), 2, 3)));
+
+        assertThrows(ProductVersionConflictException.class, () -> productService.decreaseStock("1", 1, 2));
+        assertThrows(InsufficientStockException.class, () -> productService.decreaseStock("1", 5, 3));
+    }
+
+    @Test
+    void shouldRecordOutOfStockWhenDecreaseSellsOut() {
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, eventOutbox);
+        Product soldOut = new Product("1", "Laptop", "Description", new BigDecimal("999.99"), 0);
+        when(productRepository.decreaseStock("1", 3)).thenReturn(Optional.of(soldOut));
+
+        service.decreaseStock("1", 3);
+
+        List<ProductEvent> events = captureAppended();
+        assertEquals(List.of(ProductEventType.STOCK_DECREASED, ProductEventType.OUT_OF_STOCK),
+                events.stream().map(ProductEvent::getType).toList());
+        assertEquals(3, events.get(0).getQuantity());
+    }
+
+    @Test
+    void shouldRecordPriceChangeOnUpdate() {
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, eventOutbox);
+        Product existing = new Product("1", "Laptop", "Description", new BigDecimal("999.99"), 10);
+        when(productRepository.findById("1")).thenReturn(Optional.of(existing));
+        when(productRepository.save(existing)).thenReturn(existing);
+
+        service.updateProduct("1", new Product("Laptop", "Description", new BigDecimal("899.99"), 10));
+
+        List<ProductEvent> events = captureAppended();
+        assertEquals(1, events.size());
+        assertEquals(ProductEventType.PRICE_CHANGED, events.get(0).getType());
+        assertEquals(Money.of("999.99"), events.get(0).getPreviousPrice());
+    }
+
+    @Test
+    void shouldNotRecordEventsWhenDecreaseFails() {
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, eventOutbox);
+        when(productRepository.decreaseStock("1", 5)).thenReturn(Optional.empty());
+        when(productRepository.existsById("1")).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> service.decreaseStock("1", 5));
+
+        verifyNoInteractions(eventOutbox);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProductEvent> captureAppended() {
+        ArgumentCaptor<List<ProductEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventOutbox).append(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void shouldReserveLinesInProductIdOrderAndCombineDuplicates() {
+        when(productRepository.decreaseStock("a", 3)).thenReturn(Optional.of(new Product("a", "A", "Desc", BigDecimal.ONE, 7)));
+        when(productRepository.decreaseStock("b", 1)).thenReturn(Optional.of(new Product("b", "B", "Desc", BigDecimal.ONE, 0)));
+
+        List<Product> reserved = productService.reserveStock(List.of(
+                new ReservationLine("b", 1), new ReservationLine("a", 1), new ReservationLine("a", 2)));
+
+        assertEquals(List.of("a", "b"), reserved.stream().map(Product::getId).toList());
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decreaseStock("a", 3);
+        inOrder.verify(productRepository).decreaseStock("b", 1);
+    }
+
+    @Test
+    void shouldUndoAppliedLinesAndReportEveryFailingLine() {
+        when(productRepository.decreaseStock("a", 1)).thenReturn(Optional.of(new Product("a", "A", "Desc", BigDecimal.ONE, 4)));
+        when(productRepository.decreaseStock("b", 5)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(any())).thenReturn(List.of(
+                new Product("a", "A", "Desc", BigDecimal.ONE, 5), new Product("b", "B", "Desc", BigDecimal.ONE, 2)));
+
+        ReservationRejectedException rejected = assertThrows(ReservationRejectedException.class,
+                () -> productService.reserveStock(List.of(
+                        new ReservationLine("a", 1), new ReservationLine("b", 5), new ReservationLine("c", 1))));
+
+        verify(productRepository).increaseStock("a", 1);
+        verify(productRepository, never()).decreaseStock(eq("c"), anyInt());
+        assertEquals(2, rejected.getRejections().size());
+        ReservationRejection insufficient = rejected.getRejections().get(0);
+        assertEquals("b", insufficient.getProductId());
+        assertEquals(ReservationRejection.Reason.INSUFFICIENT_STOCK, insufficient.getReason());
+        assertEquals(2, insufficient.getAvailable());
+        assertEquals(ReservationRejection.Reason.NOT_FOUND, rejected.getRejections().get(1).getReason());
+    }
+
+    @Test
+    void shouldRecordStockEventsForEveryReservedLine() {
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, eventOutbox);
+        when(productRepository.decreaseStock("a", 2)).thenReturn(Optional.of(new Product("a", "A", "Desc", BigDecimal.ONE, 0)));
+        when(productRepository.decreaseStock("b", 1)).thenReturn(Optional.of(new Product("b", "B", "Desc", BigDecimal.ONE, 9)));
+
+        service.reserveStock(List.of(new ReservationLine("a", 2), new ReservationLine("b", 1)));
+
+        assertEquals(List.of(ProductEventType.STOCK_DECREASED, ProductEventType.OUT_OF_STOCK, ProductEventType.STOCK_DECREASED),
+                captureAppended().stream().map(ProductEvent::getType).toList());
+    }
+
+    @Test
+    void shouldUndoReservedLinesWhenRecordingTheirEventsFails() {
+        ProductServiceImpl service = new ProductServiceImpl(productRepository, null, eventOutbox);
+        when(productRepository.decreaseStock("a", 2)).thenReturn(Optional.of(new Product("a", "A", "Desc", BigDecimal.ONE, 3)));
+        when(productRepository.decreaseStock("b", 1)).thenReturn(Optional.of(new Product("b", "B", "Desc", BigDecimal.ONE, 9)));
+        IllegalStateException outboxFailure = new IllegalStateException("outbox unavailable");
+        doThrow(outboxFailure).when(eventOutbox).append(anyList());
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> service.reserveStock(List.of(new ReservationLine("a", 2), new ReservationLine("b", 1))));
+
+        assertSame(outboxFailure, thrown);
+        verify(productRepository).increaseStock("a", 2);
+        verify(productRepository).increaseStock("b", 1);
+    }
+
+    @Test
+    void shouldUndoReservedLinesWhenALaterLineFails() {
+        when(productRepository.decreaseStock("a", 1)).thenReturn(Optional.of(new Product("a", "A", "Desc", BigDecimal.ONE, 4)));
+        when(productRepository.decreaseStock("b", 1)).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> productService.reserveStock(List.of(
+                new ReservationLine("a", 1), new ReservationLine("b", 1))));
+
+        verify(productRepository).increaseStock("a", 1);
+        verify(productRepository, never()).increaseStock(eq("b"), anyInt());
+    }
+
+    @Test
+    void shouldRejectEmptyReservation() {
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(List.of()));
+        verifyNoInteractions(productRepository);
+    }
 }
@@ -0,0 +1,205 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductEventType;
+import com.example.hexagonal.domain.model.ProductUpdate;
+import com.example.hexagonal.domain.port.in.ProductUpdateStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductUpdateBroadcasterTest {
+
+    private QueuedExecutor executor;
+    private ProductUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        executor = new QueuedExecutor();
+        broadcaster = new ProductUpdateBroadcaster(100, 2, executor);
+    }
+
+    @Test
+    void shouldCoalesceBurstsIntoTheLatestStatePerProduct() {
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(Set.of("1"), listener);
+
+        broadcaster.publish(List.of(event(1, ProductEventType.CREATED, "1", Money.of("9.99"), 10)));
+        broadcaster.publish(List.of(event(2, ProductEventType.STOCK_DECREASED, "1", null, 7),
+                event(3, ProductEventType.STOCK_DECREASED, "2", null, 4)));
+        broadcaster.publish(List.of(event(4, ProductEventType.STOCK_DECREASED, "1", null, 5)));
+        broadcaster.flush();
+        executor.runAll();
+
+        assertEquals(1, listener.batches.size());
+        ProductUpdate update = listener.batches.get(0).get(0);
+        assertEquals(List.of("1"), listener.batches.get(0).stream().map(ProductUpdate::getProductId).toList());
+        assertEquals(4, update.getOffset());
+        assertEquals(5, update.getStock());
+        assertEquals(Money.of("9.99"), update.getPrice());
+    }
+
+    @Test
+    void shouldKeepCoalescingWhileADeliveryIsInFlight() {
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(Set.of(), listener);
+
+        broadcaster.publish(List.of(event(1, ProductEventType.STOCK_DECREASED, "1", null, 9)));
+        broadcaster.flush();
+        broadcaster.publish(List.of(event(2, ProductEventType.STOCK_DECREASED, "1", null, 8)));
+        broadcaster.flush();
+
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        broadcaster.flush();
+        executor.runAll();
+
+        assertEquals(1, listener.batches.size());
+        assertEquals(8, listener.batches.get(0).get(0).getStock());
+    }
+
+    @Test
+    void shouldIgnoreRedeliveredOlderEvents() {
+        RecordingListener listener = new RecordingListener();
+        broadcaster.subscribe(Set.of("1"), listener);
+
+        broadcaster.publish(List.of(event(5, ProductEventType.STOCK_DECREASED, "1", null, 3)));
+        broadcaster.publish(List.of(event(4, ProductEventType.STOCK_DECREASED, "1", null, 4)));
+        broadcaster.flush();
+        executor.runAll();
+
+        assertEquals(3, listener.batches.get(0).get(0).getStock());
+    }
+
+    @Test
+    void shouldDropSubscribersThatFallTooFarBehind() {
+        RecordingListener slow = new RecordingListener();
+        broadcaster.subscribe(Set.of(), slow);
+
+        broadcaster.publish(List.of(event(1, ProductEventType.DELETED, "1", null, null),
+                event(2, ProductEventType.DELETED, "2", null, null),
+                event(3, ProductEventType.DELETED, "3", null, null)));
+
+        assertTrue(slow.closed);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void shouldEndTheSubscriptionWhenDeliveryFails() {
+        RecordingListener failing = new RecordingListener();
+        failing.failure = new IllegalStateException("connection reset");
+        broadcaster.subscribe(Set.of("1"), failing);
+
+        broadcaster.publish(List.of(event(1, ProductEventType.STOCK_DECREASED, "1", null, 1)));
+        broadcaster.flush();
+        executor.runAll();
+
+        assertTrue(failing.closed);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void shouldReleaseDisconnectedSubscribersOnHeartbeat() {
+        RecordingListener idle = new RecordingListener();
+        broadcaster.subscribe(Set.of("1"), idle);
+
+        broadcaster.heartbeat();
+        executor.runAll();
+        idle.failure = new IllegalStateException("broken pipe");
+        broadcaster.heartbeat();
+        executor.runAll();
+
+        assertEquals(List.of(List.of()), idle.batches);
+        assertTrue(idle.closed);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void shouldStopDeliveringAfterCancel() {
+        RecordingListener listener = new RecordingListener();
+        ProductUpdateStream.Subscription subscription = broadcaster.subscribe(Set.of("1"), listener);
+
+        subscription.cancel();
+        broadcaster.publish(List.of(event(1, ProductEventType.STOCK_DECREASED, "1", null, 1)));
+        broadcaster.flush();
+
+        assertTrue(executor.tasks.isEmpty());
+        assertFalse(listener.closed);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    private static ProductEvent event(long offset, ProductEventType type, String productId, Money price,
+                                      Integer stock) {
+        return new ProductEvent(offset, type, productId, "Product " + productId, price, null, stock, null, Instant.now());
+    }
+
+    private static final class RecordingListener implements ProductUpdateStream.Listener {
+        private final List<List<ProductUpdate>> batches = new ArrayList<>();
+        private RuntimeException failure;
+        private boolean closed;
+
+        @Override
+        public void onUpdates(List<ProductUpdate> updates) {
+            if (failure != null) {
+                throw failure;
+            }
+            batches.add(updates);
+        }
+
+        @Override
+        public void onClose() {
+            closed = true;
+        }
+    }
+
+    private static final class QueuedExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.copyOf(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.port.out.ReactiveProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProductServiceImplTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+
+    private ReactiveProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ReactiveProductServiceImpl(productRepository);
+    }
+
+    @Test
+    void shouldStreamAllProducts() {
+        Product product1 = new Product("1", "Product1", "Desc1", new BigDecimal("100.00"), 5);
+        Product product2 = new Product("2", "Product2", "Desc2", new BigDecimal("200.00"), 10);
+        when(productRepository.findAll()).thenReturn(Flux.just(product1, product2));
+
+        StepVerifier.create(productService.getAllProducts(), 1)
+                .expectNext(product1)
+                .thenRequest(1)
+                .expectNext(product2)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldUpdateProduct() {
+        String productId = "123";
+        Product existingProduct = new Product(productId, "Old Name", "Old Desc", new BigDecimal("100.00"), 5);
+        Product updatedData = new Product(productId, "New Name", "New Desc", new BigDecimal("150.00"), 10);
+        when(productRepository.findById(productId)).thenReturn(Mono.just(existingProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(productService.updateProduct(productId, updatedData))
+                .expectNextMatches(product -> product.getName().equals("New Name") && product.getStock() == 10)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailUpdatingNonExistentProduct() {
+        when(productRepository.findById("999")).thenReturn(Mono.empty());
+
+        StepVerifier.create(productService.updateProduct("999", new Product("Product", "Desc", new BigDecimal("1.00"), 1)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldFailDeletingNonExistentProduct() {
+        when(productRepository.existsById("999")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(productService.deleteProduct("999"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(productRepository, never()).deleteById("999");
+    }
+
+    @Test
+    void shouldReportInsufficientStockWhenConditionalUpdateMatchesNothing() {
+        when(productRepository.decreaseStock("123", 50)).thenReturn(Mono.empty());
+        when(productRepository.existsById("123")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(productService.decreaseStock("123", 50))
+                .expectError(InsufficientStockException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.StockHold;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.StockHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockHoldServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockHoldRepository stockHoldRepository;
+
+    private MutableClock clock;
+    private StockHoldServiceImpl stockHoldService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        stockHoldService = new StockHoldServiceImpl(productRepository, stockHoldRepository, null, null,
+                TransactionOperations.withoutTransaction(), 100, Duration.ofMinutes(15), Duration.ofHours(24), clock);
+    }
+
+    @Test
+    void shouldTakeTheQuantityOutOfStockAndPersistTheHold() {
+        when(productRepository.decreaseStock("1", 2)).thenReturn(Optional.of(product(8)));
+
+        StockHold hold = stockHoldService.hold("1", 2, null);
+
+        assertEquals(clock.instant().plus(Duration.ofMinutes(15)), hold.getExpiresAt());
+        verify(stockHoldRepository).save(hold);
+        assertEquals(1, stockHoldService.outstandingHolds());
+    }
+
+    @Test
+    void shouldRejectHoldsBeyondTheStockWithoutPersistingThem() {
+        when(productRepository.decreaseStock("1", 20)).thenReturn(Optional.empty());
+        when(productRepository.existsById("1")).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> stockHoldService.hold("1", 20, Duration.ofMinutes(1)));
+
+        verify(stockHoldRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectHoldTimesAboveTheMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> stockHoldService.hold("1", 1, Duration.ofDays(2)));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void shouldGiveStockBackWhenAHoldExpires() {
+        when(productRepository.decreaseStock("1", 2)).thenReturn(Optional.of(product(8)));
+        StockHold hold = stockHoldService.hold("1", 2, Duration.ofSeconds(30));
+        when(stockHoldRepository.deleteById(hold.getId())).thenReturn(true);
+
+        clock.advance(Duration.ofSeconds(29));
+        stockHoldService.expireDueHolds();
+        verify(productRepository, never()).increaseStock(anyString(), anyInt());
+
+        clock.advance(Duration.ofSeconds(1));
+        stockHoldService.expireDueHolds();
+        verify(productRepository).increaseStock("1", 2);
+        assertEquals(0, stockHoldService.outstandingHolds());
+    }
+
+    @Test
+    void shouldNotTouchConfirmedHoldsWhenTheirDeadlinePasses() {
+        when(productRepository.decreaseStock("1", 2)).thenReturn(Optional.of(product(8)));
+        StockHold hold = stockHoldService.hold("1", 2, Duration.ofSeconds(30));
+        when(stockHoldRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        when(stockHoldRepository.deleteById(hold.getId())).thenReturn(true);
+
+        stockHoldService.confirm(hold.getId());
+        clock.advance(Duration.ofMinutes(1));
+        stockHoldService.expireDueHolds();
+
+        verify(stockHoldRepository, times(1)).deleteById(hold.getId());
+        verify(productRepository, never()).increaseStock(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldRefuseToConfirmAnExpiredHold() {
+        StockHold hold = new StockHold("h", "1", 2, clock.instant().minusSeconds(1));
+        when(stockHoldRepository.findById("h")).thenReturn(Optional.of(hold));
+
+        assertThrows(IllegalArgumentException.class, () -> stockHoldService.confirm("h"));
+        verify(stockHoldRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void shouldGiveStockBackOnRelease() {
+        StockHold hold = new StockHold("h", "1", 2, clock.instant().plusSeconds(60));
+        when(stockHoldRepository.findById("h")).thenReturn(Optional.of(hold));
+        when(stockHoldRepository.deleteById("h")).thenReturn(true);
+
+        stockHoldService.release("h");
+
+        verify(productRepository).increaseStock("1", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExpireHoldsRecoveredPastTheirDeadlineOnTheFirstTick() {
+        StockHold stale = new StockHold("h", "1", 2, clock.instant().minusSeconds(60));
+        doAnswer(invocation -> {
+            ((Consumer<StockHold>) invocation.getArgument(0)).accept(stale);
+            return null;
+        }).when(stockHoldRepository).forEach(any());
+        when(stockHoldRepository.deleteById("h")).thenReturn(true);
+
+        stockHoldService.recover();
+        clock.advance(Duration.ofMillis(100));
+        stockHoldService.expireDueHolds();
+
+        verify(productRepository).increaseStock("1", 2);
+    }
+
+    private static Product product(int stock) {
+        return new Product("1", "Laptop", "Desc", new BigDecimal("999.99"), stock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
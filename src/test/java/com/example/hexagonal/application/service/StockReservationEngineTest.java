@@ -0,0 +1,310 @@
+package com.example.hexagonal.application.service;
+
+import com.example.hexagonal.domain.exception.InsufficientStockException;
+import com.example.hexagonal.domain.model.Money;
+import com.example.hexagonal.domain.model.Product;
+import com.example.hexagonal.domain.model.ProductEvent;
+import com.example.hexagonal.domain.model.ProductEventType;
+import com.example.hexagonal.domain.port.out.ProductEventOutbox;
+import com.example.hexagonal.domain.port.out.ProductRepository;
+import com.example.hexagonal.domain.port.out.StockJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationEngineTest {
+
+    private static final String PRODUCT_ID = "hot";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockJournal stockJournal;
+
+    @Mock
+    private ProductEventOutbox eventOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StockReservationEngine engine;
+
+    private final AtomicInteger repositoryDecrements = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        engine = new StockReservationEngine(productRepository, stockJournal, 3, 10, 30);
+    }
+
+    @Test
+    void shouldLeaveColdProductsToTheRepository() {
+        assertTrue(decrease(1).isEmpty());
+        assertTrue(decrease(1).isEmpty());
+
+        assertEquals(2, repositoryDecrements.get());
+        assertEquals(0, engine.hotProductCount());
+        verifyNoInteractions(productRepository, stockJournal);
+    }
+
+    @Test
+    void shouldPromoteAndReserveInMemoryOnceThresholdIsReached() {
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product(100)));
+        decrease(1);
+        decrease(1);
+
+        Product reserved = decrease(5).orElseThrow();
+
+        assertEquals(95, reserved.getStock());
+        assertEquals(95, engine.findHot(PRODUCT_ID).orElseThrow().getStock());
+        verify(stockJournal).recordReservation(PRODUCT_ID, 5);
+        verify(productRepository, never()).decreaseStock(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldRejectReservationBeyondInMemoryStock() {
+        promote(2);
+
+        assertThrows(InsufficientStockException.class, () -> decrease(3));
+    }
+
+    @Test
+    void shouldFlushCoalescedDeltaAndJournalIt() {
+        promote(100);
+        decrease(2);
+        decrease(3);
+        when(productRepository.decreaseStock(PRODUCT_ID, 5)).thenReturn(Optional.of(product(95)));
+
+        engine.flush();
+        engine.flush();
+
+        verify(productRepository, times(1)).decreaseStock(PRODUCT_ID, 5);
+        verify(stockJournal).recordFlush(PRODUCT_ID, 5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordOneCoalescedEventPerWriteBehindAndNoneForHotReservations() {
+        engine = new StockReservationEngine(productRepository, stockJournal, eventOutbox, null, 3, 10, 30);
+        promote(100);
+        decrease(2);
+        decrease(3);
+        verifyNoInteractions(eventOutbox);
+        when(productRepository.decreaseStock(PRODUCT_ID, 5)).thenReturn(Optional.of(product(95)));
+
+        engine.flush();
+
+        ArgumentCaptor<List<ProductEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventOutbox).append(events.capture());
+        assertEquals(1, events.getValue().size());
+        assertEquals(ProductEventType.STOCK_DECREASED, events.getValue().get(0).getType());
+        assertEquals(5, events.getValue().get(0).getQuantity());
+        assertEquals(95, events.getValue().get(0).getStock());
+    }
+
+    @Test
+    void shouldCommitTheWriteBehindOfADemotionOnItsOwnBeforeJournalingIt() {
+        engine = new StockReservationEngine(productRepository, stockJournal, null, transactionManager, 3, 10, 30);
+        SimpleTransactionStatus writeBehind = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(writeBehind);
+        promote(10);
+        decrease(4);
+        when(productRepository.decreaseStock(PRODUCT_ID, 4)).thenReturn(Optional.of(product(6)));
+
+        engine.demote(PRODUCT_ID);
+
+        InOrder inOrder = inOrder(transactionManager, productRepository, stockJournal);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        inOrder.verify(productRepository).decreaseStock(PRODUCT_ID, 4);
+        inOrder.verify(transactionManager).commit(writeBehind);
+        inOrder.verify(stockJournal).recordFlush(PRODUCT_ID, 4);
+    }
+
+    @Test
+    void shouldReportTheVersionTheRepositoryHoldsOnceReservationsAreFlushed() {
+        promote(100);
+
+        assertEquals(1, decrease(5).orElseThrow().getVersion());
+        assertEquals(1, engine.findHot(PRODUCT_ID).orElseThrow().getVersion());
+
+        when(productRepository.decreaseStock(PRODUCT_ID, 5)).thenReturn(Optional.of(product(95, 1)));
+        engine.flush();
+
+        assertEquals(1, engine.findHot(PRODUCT_ID).orElseThrow().getVersion());
+        assertEquals(2, decrease(2).orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldFlushPendingDeltaAndStopServingFromMemoryWhenDemoted() {
+        promote(10);
+        decrease(4);
+        when(productRepository.decreaseStock(PRODUCT_ID, 4)).thenReturn(Optional.of(product(6)));
+
+        engine.demote(PRODUCT_ID);
+
+        verify(productRepository).decreaseStock(PRODUCT_ID, 4);
+        assertTrue(engine.findHot(PRODUCT_ID).isEmpty());
+        assertEquals(0, engine.hotProductCount());
+    }
+
+    @Test
+    void shouldRecordTheShortfallAsOversoldWhenTheRepositoryRejectsAWriteBehind() {
+        promote(10);
+        decrease(4);
+        when(productRepository.decreaseStock(PRODUCT_ID, 4)).thenReturn(Optional.empty());
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product(1)));
+
+        engine.flush();
+
+        verify(productRepository).decreaseStock(PRODUCT_ID, 1);
+        verify(stockJournal).recordFlush(PRODUCT_ID, 1);
+        verify(stockJournal).recordOversell(PRODUCT_ID, 3);
+        verify(stockJournal, never()).recordFlush(PRODUCT_ID, 4);
+        assertEquals(1, engine.rejectedWriteBehinds());
+        assertEquals(0, engine.hotProductCount());
+    }
+
+    @Test
+    void shouldReplayOutstandingJournalEntriesOnRecovery() {
+        when(stockJournal.outstandingReservations()).thenReturn(Map.of(PRODUCT_ID, 7));
+        when(productRepository.decreaseStock(PRODUCT_ID, 7)).thenReturn(Optional.of(product(3)));
+
+        engine.recover();
+
+        verify(productRepository).decreaseStock(PRODUCT_ID, 7);
+        verify(stockJournal).recordFlush(PRODUCT_ID, 7);
+    }
+
+    @Test
+    void shouldNotRecordAReplayTheRepositoryRejectedAsFlushed() {
+        when(stockJournal.outstandingReservations()).thenReturn(Map.of(PRODUCT_ID, 7));
+
+        engine.recover();
+
+        verify(stockJournal).recordOversell(PRODUCT_ID, 7);
+        verify(stockJournal, never()).recordFlush(anyString(), anyInt());
+    }
+
+    @Test
+    void shouldNeverOversellUnderContention() throws Exception {
+        int initialStock = 1000;
+        promote(initialStock);
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1600; i++) {
+            executor.submit(() -> {
+                try {
+                    decrease(1);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // sold out
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(initialStock, succeeded.get());
+        assertEquals(0, engine.findHot(PRODUCT_ID).orElseThrow().getStock());
+    }
+
+    @Test
+    void shouldNotPromoteWhileARepositoryDecrementIsUncommitted() {
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product(100)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            decrease(1);
+            decrease(1);
+            decrease(1);
+
+            assertEquals(0, engine.hotProductCount());
+            assertEquals(3, repositoryDecrements.get());
+            completeTransaction();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        decrease(1);
+
+        assertEquals(1, engine.hotProductCount());
+        verify(stockJournal).recordReservation(PRODUCT_ID, 1);
+    }
+
+    @Test
+    void shouldNotPromoteAgainUntilTheTransactionThatDemotedTheProductCompletes() {
+        promote(10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.demote(PRODUCT_ID);
+            decrease(1);
+
+            assertEquals(0, engine.hotProductCount());
+            assertEquals(1, repositoryDecrements.get());
+            completeTransaction();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        decrease(1);
+
+        assertEquals(1, engine.hotProductCount());
+    }
+
+    private Optional<Product> decrease(int quantity) {
+        return engine.decreaseStock(PRODUCT_ID, quantity, () -> {
+            repositoryDecrements.incrementAndGet();
+            return Optional.empty();
+        });
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private void promote(int stock) {
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product(stock + 1)));
+        decrease(1);
+        decrease(1);
+        // The third decrement crosses the threshold and is the first one served from memory; flush it away
+        decrease(1);
+        when(productRepository.decreaseStock(PRODUCT_ID, 1)).thenReturn(Optional.of(product(stock)));
+        engine.flush();
+        clearInvocations(productRepository, stockJournal, eventOutbox, transactionManager);
+        repositoryDecrements.set(0);
+    }
+
+    private static Product product(int stock) {
+        return product(stock, 0);
+    }
+
+    private static Product product(int stock, long version) {
+        return new Product(PRODUCT_ID, "Hot SKU", "Desc", Money.of(new BigDecimal("10.00")), stock, version);
+    }
+}
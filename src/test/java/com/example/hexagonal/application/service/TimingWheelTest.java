@@ -0,0 +1,71 @@
+package com.example.hexagonal.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldReturnEntriesExactlyOnTheirDeadlineAtEveryLevel() {
+        long start = 1_000_003;
+        TimingWheel<Long> wheel = new TimingWheel<>(start);
+        long[] deltas = {1, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 300_000, TimingWheel.RANGE - 1};
+        for (long delta : deltas) {
+            wheel.schedule(delta, start + delta);
+        }
+
+        for (long delta : deltas) {
+            assertEquals(List.of(), wheel.advanceTo(start + delta - 1), "early for " + delta);
+            assertEquals(List.of(delta), wheel.advanceTo(start + delta), "due for " + delta);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldMakePastDeadlinesDueOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule("late", 50);
+
+        assertEquals(List.of("late"), wheel.advanceTo(101));
+    }
+
+    @Test
+    void shouldRejectDeadlinesBeyondItsRange() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule("too far", TimingWheel.RANGE));
+    }
+
+    @Test
+    void shouldMatchABruteForceScheduleUnderRandomInsertsAndJumps() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        long now = 0;
+        for (int id = 0; id < 20_000; id++) {
+            long deadline = now + 1 + (long) Math.pow(random.nextDouble(), 3) * 2_000_000;
+            wheel.schedule(id, deadline);
+            deadlines.put(id, deadline);
+            if (id % 100 == 0) {
+                long to = now + random.nextInt(50_000);
+                for (int due : wheel.advanceTo(to)) {
+                    long deadlineOfDue = deadlines.remove(due);
+                    assertTrue(deadlineOfDue > now && deadlineOfDue <= to);
+                }
+                now = to;
+                long current = now;
+                assertTrue(deadlines.values().stream().allMatch(d -> d > current));
+            }
+        }
+        List<Integer> rest = new ArrayList<>(wheel.advanceTo(now + TimingWheel.RANGE));
+        assertEquals(deadlines.size(), rest.size());
+        assertEquals(0, wheel.size());
+    }
+}
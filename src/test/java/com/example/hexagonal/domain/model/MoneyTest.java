@@ -0,0 +1,55 @@
+package com.example.hexagonal.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldHoldAmountAsScaledLong() {
+        Money money = Money.of(new BigDecimal("999.99"));
+
+        assertEquals(9_999_900, money.scaledAmount());
+        assertEquals(Money.DEFAULT_CURRENCY, money.currency());
+    }
+
+    @Test
+    void shouldBeEqualRegardlessOfDecimalScale() {
+        assertEquals(Money.of("999.99"), Money.of("999.9900"));
+        assertEquals(0, Money.of("10").compareTo(Money.of("10.00")));
+        assertTrue(Money.of("10.01").compareTo(Money.of("10")) > 0);
+    }
+
+    @Test
+    void shouldConvertBackToDecimalWithCurrencyFractionDigits() {
+        assertEquals(new BigDecimal("999.99"), Money.of("999.9900").toBigDecimal());
+        assertEquals(new BigDecimal("10.00"), Money.of("10").toBigDecimal());
+        assertEquals(new BigDecimal("1.2345"), Money.of("1.2345").toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+        assertEquals(new BigDecimal("-5.50"), Money.of("-5.5").toBigDecimal());
+    }
+
+    @Test
+    void shouldRejectAmountsThatDoNotFitTheScaledLong() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("0.00001"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1e20"));
+    }
+
+    @Test
+    void shouldNotCompareAmountsInDifferentCurrencies() {
+        Money euros = Money.of(BigDecimal.ONE, Currency.getInstance("EUR"));
+
+        assertNotEquals(Money.of("1"), euros);
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1").compareTo(euros));
+    }
+
+    @Test
+    void shouldDetectNegativeAmounts() {
+        assertTrue(Money.of("-0.01").isNegative());
+        assertFalse(Money.ZERO.isNegative());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.hexagonal.domain.model;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,7 +16,7 @@ class ProductTest {
         assertNotNull(product.getId());
         assertEquals("Laptop", product.getName());
         assertEquals("High performance laptop", product.getDescription());
-        assertEquals(new BigDecimal("999.99"), product.getPrice());
+        assertEquals(Money.of("999.99"), product.getPrice());
         assertEquals(10, product.getStock());
         assertTrue(product.isAvailable());
     }
@@ -41,6 +42,17 @@ class ProductTest {
         });
     }
 
+    @Test
+    void shouldRejectBlankNameWithoutChangingTheProduct() {
+        Product product = new Product("Product", "Description", new BigDecimal("100.00"), 5);
+
+        assertThrows(IllegalArgumentException.class, () -> product.setName(" \t"));
+        assertThrows(IllegalArgumentException.class, () -> product.setPrice(Money.of("-1")));
+
+        assertEquals("Product", product.getName());
+        assertEquals(Money.of("100"), product.getPrice());
+    }
+
     @Test
     void shouldDecreaseStockCorrectly() {
         Product product = new Product("Product", "Description", new BigDecimal("100.00"), 10);
@@ -74,4 +86,33 @@ class ProductTest {
         
         assertFalse(product.isAvailable());
     }
+
+    @Test
+    void shouldRecordEventsForStockAndPriceChanges() {
+        Product product = new Product("Laptop", "Desc", new BigDecimal("999.99"), 5);
+
+        product.setPrice(Money.of("999.990"));
+        product.setPrice(Money.of("899.99"));
+        product.decreaseStock(2);
+        product.updateStock(0);
+
+        List<ProductEvent> events = product.pullEvents();
+        assertEquals(List.of(ProductEventType.PRICE_CHANGED, ProductEventType.STOCK_DECREASED,
+                        ProductEventType.STOCK_CHANGED, ProductEventType.OUT_OF_STOCK),
+                events.stream().map(ProductEvent::getType).toList());
+        assertEquals(Money.of("999.99"), events.get(0).getPreviousPrice());
+        assertEquals(2, events.get(1).getQuantity());
+        assertTrue(product.pullEvents().isEmpty());
+    }
+
+    @Test
+    void shouldRecordOutOfStockWhenDecreasingToZero() {
+        Product product = new Product("Laptop", "Desc", new BigDecimal("999.99"), 2);
+
+        product.decreaseStock(2);
+        product.updateStock(0);
+
+        assertEquals(List.of(ProductEventType.STOCK_DECREASED, ProductEventType.OUT_OF_STOCK),
+                product.pullEvents().stream().map(ProductEvent::getType).toList());
+    }
 }
@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# Startup Benchmark Script: default start vs. fast start
+# Launches the application once per mode and reports the time from launch to the first successful
+# GET /api/products/{id}, which needs both a working POST and a working GET. Fast start runs the AOT-processed
+# build with the fast-start profile and the CDS archive recorded by ./gradlew fastStartArchive.
+#
+# Usage: ./startup-benchmark.sh [runs]
+
+set -e
+
+RUNS=${1:-3}
+BASE_URL="http://localhost:8080/api/products"
+
+if [ -z "$SKIP_BUILD" ]; then
+    ./gradlew bootJar fastStartArchive -q
+fi
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+time_to_first_get() {
+    local mode=$1
+    local dir=$2
+    shift 2
+
+    local start
+    start=$(date +%s%N)
+    (cd "$dir" && exec "$@") > "build/startup-benchmark-$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    local id=""
+    until [ -n "$id" ]; do
+        sleep 0.05
+        id=$(curl -s -X POST "$BASE_URL" -H "Content-Type: application/json" \
+            -d "{\"name\": \"Startup\", \"description\": \"Startup benchmark\", \"price\": 9.99, \"stock\": 1}" \
+            | grep -o '"id":"[^"]*"' | cut -d'"' -f4) || true
+    done
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/$id")" = "200" ]; do sleep 0.05; done
+    local end
+    end=$(date +%s%N)
+
+    echo "$mode: first GET after $(( (end - start) / 1000000 )) ms ($(grep -o 'Started .* in [0-9.]* seconds' \
+        "build/startup-benchmark-$mode.log" | sed 's/Started .* in/context/'))"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+for run in $(seq "$RUNS"); do
+    echo "-- Run $run"
+    time_to_first_get "default" . java -jar "$JAR"
+    time_to_first_get "fast-start" build/fast-start java -XX:SharedArchiveFile=application.jsa \
+        -Dspring.aot.enabled=true -jar application.jar --spring.profiles.active=fast-start
+done